@@ -0,0 +1,38 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import ru.practicum.shareit.booking.enums.BookingState;
+import ru.practicum.shareit.booking.model.dto.BookingOutDto;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The owner's bookings for every {@link BookingState}, through the service bean and the real data access stack.
+ * {@code queriesPerOp} is the number of SQL statements one call executed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingServiceBenchmark {
+    @Param
+    private BookingState state;
+
+    private BookingService bookingService;
+
+    @Setup
+    public void setUp(ShareItContext context) {
+        bookingService = context.getBean(BookingService.class);
+    }
+
+    @Benchmark
+    public List<BookingOutDto> getBookingsByOwnerId(ShareItContext context, QueryCounters counters) {
+        long owner = counters.nextUser(context);
+        return counters.count(() -> bookingService.getBookingsByOwnerId(owner, state, 0, ShareItContext.PAGE_SIZE));
+    }
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fills the schema through plain JDBC batches: every user owns {@code itemsPerOwner} items and has two requests,
+ * every item gets {@code bookingsPerItem} bookings from other users spread around now, and one comment.
+ * The data is derived from a fixed seed, so every run sees the same dataset.
+ */
+public class DatasetSeeder {
+    private static final int BATCH_SIZE = 1000;
+    private static final String[] STATUSES = {"WAITING", "APPROVED", "APPROVED", "REJECTED", "APPROVED"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random = new Random(42);
+
+    public DatasetSeeder(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void seed(int users, int itemsPerOwner, int bookingsPerItem) {
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int user = 1; user <= users; user++) {
+            rows.add(new Object[]{user, "user" + user, "user" + user + "@shareit.ru"});
+        }
+        insert("INSERT INTO users (user_id, user_name, email) VALUES (?, ?, ?)", rows);
+
+        rows.clear();
+        for (int user = 1; user <= users; user++) {
+            for (int request = 0; request < 2; request++) {
+                int id = (user - 1) * 2 + request + 1;
+                rows.add(new Object[]{id, user, "need a tool number " + id, timestamp(now.minusDays(id % 60))});
+            }
+        }
+        insert("INSERT INTO item_request (request_id, user_id, request_description, creation_time) " +
+                "VALUES (?, ?, ?, ?)", rows);
+
+        rows.clear();
+        int items = users * itemsPerOwner;
+        for (int item = 1; item <= items; item++) {
+            int owner = (item - 1) / itemsPerOwner + 1;
+            Integer request = item % 3 == 0 ? random.nextInt(users * 2) + 1 : null;
+            rows.add(new Object[]{item, owner, "tool " + item, "a useful tool number " + item, true, request});
+        }
+        insert("INSERT INTO item (item_id, owner_id, item_name, item_description, is_available, request_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", rows);
+
+        rows.clear();
+        List<Object[]> comments = new ArrayList<>();
+        int booking = 1;
+        for (int item = 1; item <= items; item++) {
+            int owner = (item - 1) / itemsPerOwner + 1;
+            for (int i = 0; i < bookingsPerItem; i++) {
+                int booker = anotherUser(owner, users);
+                LocalDateTime start = now.plusHours(random.nextInt(24 * 60) - 24 * 30);
+                LocalDateTime end = start.plusHours(random.nextInt(24 * 5) + 1);
+                rows.add(new Object[]{booking++, timestamp(start), timestamp(end), item, booker,
+                        STATUSES[random.nextInt(STATUSES.length)]});
+            }
+            comments.add(new Object[]{item, "worked fine, item " + item, item, anotherUser(owner, users),
+                    timestamp(now.minusDays(1))});
+        }
+        insert("INSERT INTO booking (booking_id, start_date, end_date, item_id, booker_id, status) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", rows);
+        insert("INSERT INTO comments (comment_id, text, item_id, author_id, created) VALUES (?, ?, ?, ?, ?)",
+                comments);
+
+        restartIdentity("users", "user_id", users);
+        restartIdentity("item_request", "request_id", users * 2);
+        restartIdentity("item", "item_id", items);
+        restartIdentity("booking", "booking_id", booking - 1);
+        restartIdentity("comments", "comment_id", items);
+    }
+
+    private int anotherUser(int user, int users) {
+        int another = random.nextInt(users - 1) + 1;
+        return another >= user ? another + 1 : another;
+    }
+
+    private void insert(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + BATCH_SIZE)));
+        }
+    }
+
+    private void restartIdentity(String table, String column, int lastId) {
+        jdbcTemplate.execute(String.format("ALTER TABLE %s ALTER COLUMN %s RESTART WITH %d", table, column,
+                lastId + 1));
+    }
+
+    private static Timestamp timestamp(LocalDateTime dateTime) {
+        return Timestamp.valueOf(dateTime);
+    }
+}
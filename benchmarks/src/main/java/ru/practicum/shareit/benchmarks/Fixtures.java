@@ -0,0 +1,90 @@
+package ru.practicum.shareit.benchmarks;
+
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.dto.BookingInDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.Request;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Entities shaped like the ones Hibernate hands to the mappers: every association populated.
+ */
+public final class Fixtures {
+    public static final LocalDateTime NOW = LocalDateTime.of(2022, 10, 1, 12, 30, 15);
+
+    private Fixtures() {
+    }
+
+    public static User user(long id) {
+        return User.builder()
+                .id(id)
+                .name("user" + id)
+                .email("user" + id + "@shareit.ru")
+                .build();
+    }
+
+    public static Request request(long id) {
+        return Request.builder()
+                .id(id)
+                .user(user(id + 1000))
+                .description("looking for a drill able to get through concrete, request " + id)
+                .creationTime(NOW.minusDays(id))
+                .build();
+    }
+
+    public static Item item(long id) {
+        return Item.builder()
+                .id(id)
+                .owner(user(id))
+                .name("drill " + id)
+                .description("cordless hammer drill with two batteries and a case, item " + id)
+                .available(true)
+                .request(request(id))
+                .build();
+    }
+
+    public static List<Item> items(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(Fixtures::item)
+                .collect(Collectors.toList());
+    }
+
+    public static Booking booking(long id) {
+        return Booking.builder()
+                .id(id)
+                .start(NOW.plusDays(id))
+                .end(NOW.plusDays(id + 2))
+                .item(item(id))
+                .booker(user(id + 2000))
+                .status(Status.APPROVED)
+                .version(0L)
+                .build();
+    }
+
+    public static BookingInDto bookingInDto(long id) {
+        return BookingInDto.builder()
+                .start(NOW.plusDays(id))
+                .end(NOW.plusDays(id + 2))
+                .itemId(id)
+                .bookerId(id + 2000)
+                .status(Status.WAITING.getStatus())
+                .build();
+    }
+
+    public static Comment comment(long id) {
+        return Comment.builder()
+                .id(id)
+                .text("worked fine, returned on time, comment " + id)
+                .item(item(id))
+                .author(user(id + 2000))
+                .created(NOW.minusHours(id))
+                .build();
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.benchmarks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import ru.practicum.shareit.booking.lock.StripedItemLocks;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Eight threads book items under the item locks, each holding the lock for as long as a quick database round trip,
+ * which is what the validation and the insert spend their time on. With one stripe
+ * every booking waits for every other one, which is the global lock the striping replaces; with {@code hotItems=1}
+ * all threads want the same item, as during a launch, and only that item is serialized.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class ItemLockBenchmark {
+    private static final long CRITICAL_SECTION_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    @Param({"1", "1024"})
+    private int stripes;
+
+    @Param({"1", "1000"})
+    private int hotItems;
+
+    private StripedItemLocks itemLocks;
+
+    @Setup
+    public void setUp() {
+        itemLocks = new StripedItemLocks(new SimpleMeterRegistry(), stripes, Duration.ofMinutes(1));
+    }
+
+    @Benchmark
+    public void addNewBooking() {
+        long itemId = ThreadLocalRandom.current().nextInt(hotItems) + 1;
+
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            itemLocks.lockForTransaction(itemId);
+            LockSupport.parkNanos(CRITICAL_SECTION_NANOS);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(
+                            TransactionSynchronization.STATUS_COMMITTED));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import ru.practicum.shareit.item.model.dto.ItemDtoWithBookings;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The owner's items with their last and next bookings and comments, through the service bean and the real data
+ * access stack. {@code queriesPerOp} is the number of SQL statements one call executed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemServiceBenchmark {
+    private ItemService itemService;
+
+    @Setup
+    public void setUp(ShareItContext context) {
+        itemService = context.getBean(ItemService.class);
+    }
+
+    @Benchmark
+    public List<ItemDtoWithBookings> getItemsByOwnerId(ShareItContext context, QueryCounters counters) {
+        long owner = counters.nextUser(context);
+        return counters.count(() -> itemService.getItemsByOwnerId(owner, 0, ShareItContext.PAGE_SIZE));
+    }
+}
@@ -0,0 +1,114 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.dto.BookingInDto;
+import ru.practicum.shareit.booking.model.dto.BookingOutDto;
+import ru.practicum.shareit.booking.model.dto.BookingShortDto;
+import ru.practicum.shareit.booking.model.mapper.BookingMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.dto.CommentDto;
+import ru.practicum.shareit.item.model.dto.ItemDto;
+import ru.practicum.shareit.item.model.dto.ItemDtoFull;
+import ru.practicum.shareit.item.model.dto.ItemDtoWithBookings;
+import ru.practicum.shareit.item.model.mapper.CommentMapper;
+import ru.practicum.shareit.item.model.mapper.ItemMapper;
+import ru.practicum.shareit.request.model.Request;
+import ru.practicum.shareit.request.model.RequestMapper;
+import ru.practicum.shareit.request.model.dto.RequestDto;
+import ru.practicum.shareit.request.model.dto.RequestDtoWithItems;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    @Param({"1", "10"})
+    private int itemsPerRequest;
+
+    private Item item;
+    private Booking booking;
+    private BookingInDto bookingInDto;
+    private BookingShortDto lastBooking;
+    private BookingShortDto nextBooking;
+    private List<CommentDto> comments;
+    private Request request;
+    private List<Item> requestItems;
+    private Comment comment;
+    private CommentDto commentDto;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        item = Fixtures.item(1);
+        booking = Fixtures.booking(1);
+        bookingInDto = Fixtures.bookingInDto(1);
+        lastBooking = BookingMapper.toBookingShortDto(Fixtures.booking(2));
+        nextBooking = BookingMapper.toBookingShortDto(Fixtures.booking(3));
+        comments = List.of(CommentMapper.toCommentDto(Fixtures.comment(1)),
+                CommentMapper.toCommentDto(Fixtures.comment(2)));
+        request = Fixtures.request(1);
+        requestItems = Fixtures.items(itemsPerRequest);
+        comment = Fixtures.comment(1);
+        commentDto = CommentMapper.toCommentDto(comment);
+        user = Fixtures.user(1);
+    }
+
+    @Benchmark
+    public ItemDto itemToItemDto() {
+        return ItemMapper.toItemDto(item);
+    }
+
+    @Benchmark
+    public ItemDtoFull itemToItemDtoFull() {
+        return ItemMapper.toItemDtoFull(item, lastBooking, nextBooking, comments);
+    }
+
+    @Benchmark
+    public ItemDtoWithBookings itemToItemDtoWithBookings() {
+        return ItemMapper.toItemDtoWithBookings(item, lastBooking, nextBooking);
+    }
+
+    @Benchmark
+    public BookingOutDto bookingToBookingDto() {
+        return BookingMapper.toBookingDto(booking);
+    }
+
+    @Benchmark
+    public BookingShortDto bookingToBookingShortDto() {
+        return BookingMapper.toBookingShortDto(booking);
+    }
+
+    @Benchmark
+    public Booking bookingInDtoToBooking() {
+        return BookingMapper.toBooking(bookingInDto, user, item);
+    }
+
+    @Benchmark
+    public RequestDto requestToRequestDto() {
+        return RequestMapper.toRequestDto(request);
+    }
+
+    @Benchmark
+    public RequestDtoWithItems requestToRequestDtoWithItems() {
+        return RequestMapper.toRequestDtoWithItems(request, requestItems);
+    }
+
+    @Benchmark
+    public CommentDto commentToCommentDto() {
+        return CommentMapper.toCommentDto(comment);
+    }
+
+    @Benchmark
+    public Comment commentDtoToComment() {
+        return CommentMapper.toComment(commentDto, item, user);
+    }
+}
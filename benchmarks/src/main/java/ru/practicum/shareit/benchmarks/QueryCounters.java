@@ -0,0 +1,49 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import ru.practicum.shareit.sql.SqlStatistics;
+import ru.practicum.shareit.sql.SqlStatisticsHolder;
+
+import java.util.function.Supplier;
+
+/**
+ * Reports the SQL statements executed per benchmark operation next to the primary score, and walks through the
+ * seeded users so consecutive operations do not hit the same rows.
+ */
+@AuxCounters(AuxCounters.Type.EVENTS)
+@State(Scope.Thread)
+public class QueryCounters {
+    private long statements;
+    private long operations;
+    private int user;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        statements = 0;
+        operations = 0;
+    }
+
+    public double queriesPerOp() {
+        return operations == 0 ? 0 : (double) statements / operations;
+    }
+
+    long nextUser(ShareItContext context) {
+        user = user % context.getUsers() + 1;
+        return user;
+    }
+
+    <T> T count(Supplier<T> operation) {
+        try (SqlStatisticsHolder.Scope scope = SqlStatisticsHolder.open()) {
+            T result = operation.get();
+            SqlStatistics statistics = scope.getStatistics();
+            statements += statistics.getStatementCount();
+            operations++;
+            return result;
+        }
+    }
+}
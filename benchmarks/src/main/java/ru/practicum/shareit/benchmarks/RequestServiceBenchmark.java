@@ -0,0 +1,34 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import ru.practicum.shareit.request.model.dto.RequestDtoWithItems;
+import ru.practicum.shareit.request.service.RequestService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Other users' requests with the items offered for them, through the service bean and the real data access stack.
+ * {@code queriesPerOp} is the number of SQL statements one call executed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestServiceBenchmark {
+    private RequestService requestService;
+
+    @Setup
+    public void setUp(ShareItContext context) {
+        requestService = context.getBean(RequestService.class);
+    }
+
+    @Benchmark
+    public List<RequestDtoWithItems> findAllAnotherUsersRequests(ShareItContext context, QueryCounters counters) {
+        long user = counters.nextUser(context);
+        return counters.count(() -> requestService.findAllAnotherUsersRequests(user, 0, ShareItContext.PAGE_SIZE));
+    }
+}
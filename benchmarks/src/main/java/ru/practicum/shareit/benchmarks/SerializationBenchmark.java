@@ -0,0 +1,79 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.openjdk.jmh.annotations.*;
+
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import ru.practicum.shareit.booking.model.dto.BookingOutDto;
+import ru.practicum.shareit.booking.model.mapper.BookingMapper;
+import ru.practicum.shareit.item.model.dto.CommentDto;
+import ru.practicum.shareit.item.model.dto.ItemDtoFull;
+import ru.practicum.shareit.item.model.mapper.CommentMapper;
+import ru.practicum.shareit.item.model.mapper.ItemMapper;
+import ru.practicum.shareit.request.model.RequestMapper;
+import ru.practicum.shareit.request.model.dto.RequestDtoWithItems;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Serializes response lists the way the server's message converter does. {@link BookingOutDto} embeds the item and
+ * its request entity, so the {@code @JsonFormat} patterns of the entities are exercised too.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+    @Param({"1", "10", "100"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<ItemDtoFull> items;
+    private List<BookingOutDto> bookings;
+    private List<RequestDtoWithItems> requests;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        items = LongStream.rangeClosed(1, size)
+                .mapToObj(id -> {
+                    List<CommentDto> comments = LongStream.rangeClosed(1, 3)
+                            .mapToObj(commentId -> CommentMapper.toCommentDto(Fixtures.comment(commentId)))
+                            .collect(Collectors.toList());
+                    return ItemMapper.toItemDtoFull(Fixtures.item(id),
+                            BookingMapper.toBookingShortDto(Fixtures.booking(id)),
+                            BookingMapper.toBookingShortDto(Fixtures.booking(id + 1)), comments);
+                })
+                .collect(Collectors.toList());
+        bookings = LongStream.rangeClosed(1, size)
+                .mapToObj(id -> BookingMapper.toBookingDto(Fixtures.booking(id)))
+                .collect(Collectors.toList());
+        requests = LongStream.rangeClosed(1, size)
+                .mapToObj(id -> RequestMapper.toRequestDtoWithItems(Fixtures.request(id), Fixtures.items(5)))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public byte[] itemDtoFullList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public byte[] bookingOutDtoList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookings);
+    }
+
+    @Benchmark
+    public byte[] requestDtoWithItemsList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(requests);
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import ru.practicum.shareit.ShareItServer;
+
+/**
+ * The server's Spring context on an in-memory H2 database, seeded once per trial with the configured volumes.
+ */
+@State(Scope.Benchmark)
+public class ShareItContext {
+    public static final int PAGE_SIZE = 20;
+
+    @Param({"100"})
+    private int users;
+
+    @Param({"5", "20"})
+    private int itemsPerOwner;
+
+    @Param({"10"})
+    private int bookingsPerItem;
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--logging.level.ru.practicum.shareit=WARN",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmarks;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database=h2",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.sleuth.sampler.probability=0",
+                        "--shareit.booking.partitioning.enabled=false",
+                        "--shareit.archive.enabled=false",
+                        "--shareit.sql.statistics.warn-threshold=" + Integer.MAX_VALUE,
+                        "--shareit.sql.statistics.repeat-threshold=" + Integer.MAX_VALUE);
+
+        new DatasetSeeder(context.getBean(JdbcTemplate.class)).seed(users, itemsPerOwner, bookingsPerItem);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public int getUsers() {
+        return users;
+    }
+}
@@ -1,5 +1,7 @@
 package ru.practicum.shareit.booking;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
@@ -9,21 +11,26 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingStatusUpdateDto;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.exception.InvalidRequestException;
 
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         MeterRegistry meterRegistry) {
         super(builder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
                 .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
+                .build(),
+                meterRegistry
         );
     }
 
@@ -42,10 +49,30 @@ public class BookingClient extends BaseClient {
         return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
     }
 
+    public ResponseEntity<Object> updateStatuses(long userId, List<BookingStatusUpdateDto> updates) {
+        return patch("", userId, updates);
+    }
+
     public ResponseEntity<Object> getById(long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
+    public ResponseEntity<Object> getByIds(long userId, List<Long> ids) {
+        Map<String, Object> parameters = Map.of(
+                "ids", ids.stream().map(String::valueOf).collect(Collectors.joining(","))
+        );
+
+        return get("?ids={ids}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> getUserSummary(long userId) {
+        return get("/summary", userId);
+    }
+
+    public ResponseEntity<Object> getOwnerSummary(long userId) {
+        return get("/owner/summary", userId);
+    }
+
     public ResponseEntity<Object> getUserBookings(long userId, String stateParam, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "state", stateParam,
@@ -3,19 +3,26 @@ package ru.practicum.shareit.booking;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.BookingStatusUpdateDto;
 import ru.practicum.shareit.booking.validator.ValueOfEnum;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 @Controller
 @RequestMapping(path = "/bookings")
@@ -23,7 +30,11 @@ import javax.validation.constraints.PositiveOrZero;
 @Slf4j
 @Validated
 public class BookingController {
+    public static final int MAX_STATUS_UPDATES = 100;
+    public static final int MAX_IDS = 100;
+
     private final BookingClient bookingClient;
+    private final BookingStreamClient bookingStreamClient;
 
     @PostMapping
     public ResponseEntity<Object> addNewBooking(@RequestHeader("X-Sharer-User-Id") long userId,
@@ -40,6 +51,35 @@ public class BookingController {
         return bookingClient.updateStatus(userId, bookingId, isApproved);
     }
 
+    @PatchMapping
+    public ResponseEntity<Object> updateStatuses(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                 @RequestBody @NotEmpty @Size(max = MAX_STATUS_UPDATES)
+                                                 List<@Valid BookingStatusUpdateDto> updates) {
+        log.info("Updating {} bookings, userId={}", updates.size(), userId);
+        return bookingClient.updateStatuses(userId, updates);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> stream(@RequestHeader("X-Sharer-User-Id") long userId) {
+        log.info("Streaming booking changes, userId={}", userId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .cacheControl(CacheControl.noCache())
+                .body(bookingStreamClient.stream(userId));
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<Object> getUserSummary(@RequestHeader("X-Sharer-User-Id") long userId) {
+        log.info("Getting booking counts per state, userId={}", userId);
+        return bookingClient.getUserSummary(userId);
+    }
+
+    @GetMapping("/owner/summary")
+    public ResponseEntity<Object> getOwnerSummary(@RequestHeader("X-Sharer-User-Id") long ownerId) {
+        log.info("Getting booking counts per state by ownerId={}", ownerId);
+        return bookingClient.getOwnerSummary(ownerId);
+    }
+
     @GetMapping("/{bookingId}")
     public ResponseEntity<Object> getById(@RequestHeader("X-Sharer-User-Id") long userId,
                                           @PathVariable @Positive Long bookingId) {
@@ -47,6 +87,14 @@ public class BookingController {
         return bookingClient.getById(userId, bookingId);
     }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<Object> getByIds(@RequestHeader("X-Sharer-User-Id") long userId,
+                                           @RequestParam(value = "ids") @NotEmpty @Size(max = MAX_IDS)
+                                           List<@Positive Long> ids) {
+        log.info("Getting bookings {}, userId={}", ids, userId);
+        return bookingClient.getByIds(userId, ids);
+    }
+
     @GetMapping
     public ResponseEntity<Object> getUserBookings(@RequestHeader("X-Sharer-User-Id") long userId,
                                                   @RequestParam(value = "state", required = false, defaultValue = "ALL")
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Relays the booking stream of the server byte for byte, flushing after every read so each event reaches the client
+ * as soon as the server sends it. The streams stay open for minutes, so they do not go through the pooled
+ * connections of {@link BookingClient}; the read timeout is a few missed heartbeats of the server.
+ */
+@Service
+public class BookingStreamClient {
+    private static final String API_PREFIX = "/bookings";
+    private static final int BUFFER_SIZE = 4096;
+
+    private final RestTemplate rest;
+
+    @Autowired
+    public BookingStreamClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                               @Value("${shareit.booking.stream.read-timeout:60s}") Duration readTimeout) {
+        this.rest = builder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                .requestFactory(SimpleClientHttpRequestFactory::new)
+                .setReadTimeout(readTimeout)
+                .build();
+    }
+
+    public StreamingResponseBody stream(long userId) {
+        return out -> rest.execute("/stream", HttpMethod.GET,
+                request -> {
+                    request.getHeaders().set("X-Sharer-User-Id", String.valueOf(userId));
+                    request.getHeaders().setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+                },
+                response -> {
+                    InputStream in = response.getBody();
+                    byte[] buffer = new byte[BUFFER_SIZE];
+                    for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+                        out.write(buffer, 0, read);
+                        out.flush();
+                    }
+                    return null;
+                });
+    }
+}
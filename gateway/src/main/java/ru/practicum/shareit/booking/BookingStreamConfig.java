@@ -0,0 +1,50 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class BookingStreamConfig implements WebMvcConfigurer {
+    private final ThreadPoolTaskExecutor relayExecutor;
+    private final Duration relayTimeout;
+
+    public BookingStreamConfig(@Value("${shareit.booking.stream.max-relays:200}") int maxRelays,
+                               @Value("${shareit.booking.stream.relay-timeout:35m}") Duration relayTimeout) {
+        this.relayExecutor = relayExecutor(maxRelays);
+        this.relayTimeout = relayTimeout;
+    }
+
+    /**
+     * Every relayed booking stream holds a thread for as long as it is open, so the streams get their own pool
+     * instead of the shared task executor; past the limit a new stream is rejected with 503. The relay timeout
+     * outlives the stream timeout of the server, which ends the streams itself.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor relayExecutor() {
+        return relayExecutor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(relayExecutor);
+        configurer.setDefaultTimeout(relayTimeout.toMillis());
+    }
+
+    private static ThreadPoolTaskExecutor relayExecutor(int maxRelays) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxRelays);
+        executor.setMaxPoolSize(maxRelays);
+        executor.setQueueCapacity(0);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setThreadNamePrefix("relay-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+}
@@ -1,19 +1,32 @@
 package ru.practicum.shareit.client;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 import org.springframework.http.*;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
+import ru.practicum.shareit.jfr.ServerCallEvent;
+
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 public class BaseClient {
+    public static final String TIMER_NAME = "shareit.gateway.client";
+    private static final Pattern ID_SEGMENT = Pattern.compile("/\\d+");
+    private static final List<String> HOP_BY_HOP_HEADERS = List.of(HttpHeaders.CONNECTION, "Keep-Alive",
+            HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONTENT_LENGTH, HttpHeaders.TE, HttpHeaders.TRAILER,
+            HttpHeaders.UPGRADE, HttpHeaders.PROXY_AUTHENTICATE, HttpHeaders.PROXY_AUTHORIZATION);
 
     protected final RestTemplate rest;
+    private final MeterRegistry meterRegistry;
 
-    public BaseClient(RestTemplate rest) {
+    public BaseClient(RestTemplate rest, MeterRegistry meterRegistry) {
         this.rest = rest;
+        this.meterRegistry = meterRegistry;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -68,17 +81,40 @@ public class BaseClient {
                                                           @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
-        ResponseEntity<Object> shareItServerResponse;
+        ServerCallEvent event = ServerCallEvent.start(getClass().getSimpleName(), method.name(), path, userId);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        HttpStatus status = null;
         try {
+            ResponseEntity<Object> shareItServerResponse;
             if (parameters != null) {
                 shareItServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
             } else {
                 shareItServerResponse = rest.exchange(path, method, requestEntity, Object.class);
             }
+            status = shareItServerResponse.getStatusCode();
+            return prepareGatewayResponse(shareItServerResponse);
         } catch (HttpStatusCodeException e) {
+            status = e.getStatusCode();
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+        } finally {
+            event.setStatus(status == null ? 0 : status.value());
+            event.commit();
+            sample.stop(Timer.builder(TIMER_NAME)
+                    .description("Round trip time of the requests to the ShareIt server")
+                    .tag("client", getClass().getSimpleName())
+                    .tag("method", method.name())
+                    .tag("uri", uriTemplate(path))
+                    .tag("status", status == null ? "IO_ERROR" : String.valueOf(status.value()))
+                    .tag("outcome", status == null ? "IO_ERROR" : status.series().name())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
         }
-        return prepareGatewayResponse(shareItServerResponse);
+    }
+
+    private static String uriTemplate(String path) {
+        int query = path.indexOf('?');
+        String withoutQuery = query < 0 ? path : path.substring(0, query);
+        return ID_SEGMENT.matcher(withoutQuery).replaceAll("/{id}");
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -93,7 +129,12 @@ public class BaseClient {
 
     private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
         if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+            // the body is serialized again, so the framing headers of the server's response must not be relayed
+            HttpHeaders headers = new HttpHeaders();
+            response.getHeaders().forEach((name, values) -> {
+                if (HOP_BY_HOP_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) headers.addAll(name, values);
+            });
+            return new ResponseEntity<>(response.getBody(), headers, response.getStatusCode());
         }
 
         ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
@@ -13,8 +13,11 @@ import ru.practicum.shareit.item.dto.ItemDto;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 @Controller
 @RequestMapping(path = "/items")
@@ -22,6 +25,8 @@ import javax.validation.constraints.PositiveOrZero;
 @Slf4j
 @Validated
 public class ItemController {
+    public static final int MAX_IDS = 100;
+
     private final ItemClient itemClient;
 
     @PostMapping
@@ -54,6 +59,13 @@ public class ItemController {
         return itemClient.getByItemId(userId, itemId);
     }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<Object> getByIds(@RequestParam(value = "ids") @NotEmpty @Size(max = MAX_IDS)
+                                           List<@Positive Long> ids) {
+        log.info("Getting items {}", ids);
+        return itemClient.getByIds(ids);
+    }
+
     @GetMapping
     public ResponseEntity<Object> getByUserId(@RequestHeader("X-Sharer-User-Id") long userId,
                                               @RequestParam(value = "from", required = false, defaultValue = "0")
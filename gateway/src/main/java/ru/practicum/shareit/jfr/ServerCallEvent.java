@@ -0,0 +1,43 @@
+package ru.practicum.shareit.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import lombok.Setter;
+
+@Name("ru.practicum.shareit.ServerCall")
+@Label("Server Call")
+@Category({"ShareIt", "Gateway"})
+@Description("Request forwarded by the gateway to the ShareIt server")
+@StackTrace(false)
+@Setter
+public class ServerCallEvent extends Event {
+    @Label("Client")
+    private String client;
+
+    @Label("Method")
+    private String method;
+
+    @Label("URI")
+    private String uri;
+
+    @Label("User Id")
+    private long userId;
+
+    @Label("Status")
+    private int status;
+
+    public static ServerCallEvent start(String client, String method, String uri, Long userId) {
+        ServerCallEvent event = new ServerCallEvent();
+        event.client = client;
+        event.method = method;
+        event.uri = uri;
+        event.userId = userId == null ? 0 : userId;
+        event.begin();
+        return event;
+    }
+}
@@ -11,7 +11,10 @@ import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 @Controller
 @RequestMapping(path = "/users")
@@ -19,6 +22,8 @@ import javax.validation.constraints.Positive;
 @Slf4j
 @Validated
 public class UserController {
+    public static final int MAX_IDS = 100;
+
     private final UserClient userClient;
 
     @PostMapping
@@ -46,6 +51,13 @@ public class UserController {
         return userClient.findAll();
     }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<Object> findAllById(@RequestParam(value = "ids") @NotEmpty @Size(max = MAX_IDS)
+                                              List<@Positive Long> ids) {
+        log.info("Getting users {}", ids);
+        return userClient.findAllById(ids);
+    }
+
     @DeleteMapping("/{userId}")
     public ResponseEntity<Object> deleteById(@PathVariable @Positive long userId) {
         log.info("Deleting user {}", userId);
@@ -17,22 +17,30 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingStatusUpdateDto;
 import ru.practicum.shareit.exception.ErrorHandler;
 import ru.practicum.shareit.exception.InvalidRequestException;
 
 import javax.validation.ConstraintViolationException;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(BookingController.class)
@@ -42,6 +50,8 @@ class BookingControllerTest {
     private BookingController bookingController;
     @MockBean
     private BookingClient bookingClient;
+    @MockBean
+    private BookingStreamClient bookingStreamClient;
     private MockMvc mockMvc;
     private final ObjectMapper mapper = new ObjectMapper();
     private static BookingDto bookingDto;
@@ -188,6 +198,135 @@ class BookingControllerTest {
                 .updateStatus(1L, 1L, true);
     }
 
+    @Test
+    void whenUpdateValidStatusesThenStatusIsOk() throws Exception {
+        List<BookingStatusUpdateDto> updates = List.of(new BookingStatusUpdateDto(1L, true),
+                new BookingStatusUpdateDto(2L, false));
+        Mockito
+                .when(bookingClient.updateStatuses(1L, updates))
+                .thenReturn(responseIsOk);
+
+        mockMvc.perform(patch("/bookings")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1L)
+                        .content(mapper.writeValueAsString(updates)))
+                .andExpect(status().isOk());
+
+        Mockito.verify(bookingClient, Mockito.times(1))
+                .updateStatuses(1L, updates);
+    }
+
+    @Test
+    void whenUpdateStatusesWithInvalidEntryThenStatusIsBadRequest() throws Exception {
+        List<BookingStatusUpdateDto> updates = List.of(new BookingStatusUpdateDto(1L, true),
+                new BookingStatusUpdateDto(-2L, null));
+
+        mockMvc.perform(patch("/bookings")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1L)
+                        .content(mapper.writeValueAsString(updates)))
+                .andExpect(result -> assertTrue(result.getResolvedException() instanceof ConstraintViolationException))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verify(bookingClient, Mockito.never())
+                .updateStatuses(Mockito.anyLong(), Mockito.anyList());
+    }
+
+    @Test
+    void whenUpdateStatusesEmptyOrTooManyThenStatusIsBadRequest() throws Exception {
+        List<BookingStatusUpdateDto> tooMany = LongStream.rangeClosed(1, BookingController.MAX_STATUS_UPDATES + 1)
+                .mapToObj(id -> new BookingStatusUpdateDto(id, true))
+                .collect(Collectors.toList());
+
+        for (List<BookingStatusUpdateDto> updates : List.of(List.<BookingStatusUpdateDto>of(), tooMany)) {
+            mockMvc.perform(patch("/bookings")
+                            .characterEncoding(StandardCharsets.UTF_8)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .header("X-Sharer-User-Id", 1L)
+                            .content(mapper.writeValueAsString(updates)))
+                    .andExpect(status().isBadRequest());
+        }
+
+        Mockito.verify(bookingClient, Mockito.never())
+                .updateStatuses(Mockito.anyLong(), Mockito.anyList());
+    }
+
+    @Test
+    void whenGetValidByIdsThenStatusIsOk() throws Exception {
+        Mockito
+                .when(bookingClient.getByIds(1L, List.of(4L, 2L)))
+                .thenReturn(responseIsOk);
+
+        mockMvc.perform(get("/bookings?ids=4,2")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk());
+
+        Mockito.verify(bookingClient, Mockito.times(1))
+                .getByIds(1L, List.of(4L, 2L));
+    }
+
+    @Test
+    void whenGetByEmptyOrTooManyIdsThenStatusIsBadRequest() throws Exception {
+        String tooMany = LongStream.rangeClosed(1, BookingController.MAX_IDS + 1)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(","));
+
+        for (String ids : List.of("", tooMany)) {
+            mockMvc.perform(get("/bookings?ids=" + ids)
+                            .header("X-Sharer-User-Id", 1L))
+                    .andExpect(status().isBadRequest());
+        }
+
+        Mockito.verify(bookingClient, Mockito.never())
+                .getByIds(Mockito.anyLong(), Mockito.anyList());
+    }
+
+    @Test
+    void whenGetSummariesThenStatusIsOk() throws Exception {
+        Mockito
+                .when(bookingClient.getUserSummary(1L))
+                .thenReturn(responseIsOk);
+        Mockito
+                .when(bookingClient.getOwnerSummary(1L))
+                .thenReturn(responseIsOk);
+
+        mockMvc.perform(get("/bookings/summary")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/bookings/owner/summary")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk());
+
+        Mockito.verify(bookingClient, Mockito.times(1))
+                .getUserSummary(1L);
+        Mockito.verify(bookingClient, Mockito.times(1))
+                .getOwnerSummary(1L);
+        Mockito.verify(bookingClient, Mockito.never())
+                .getById(Mockito.anyLong(), Mockito.anyLong());
+    }
+
+    @Test
+    void whenStreamThenServerEventsRelayed() throws Exception {
+        String events = "event:booking\ndata:{\"bookingId\":1}\n\n";
+        Mockito
+                .when(bookingStreamClient.stream(1L))
+                .thenReturn(out -> out.write(events.getBytes(StandardCharsets.UTF_8)));
+
+        MvcResult started = mockMvc.perform(get("/bookings/stream")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(content().string(events));
+    }
+
     @Test
     void whenGetValidByIdThenStatusIsOk() throws Exception {
         Mockito
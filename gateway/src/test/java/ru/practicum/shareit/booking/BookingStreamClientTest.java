@@ -0,0 +1,41 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.boot.test.web.client.MockServerRestTemplateCustomizer;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class BookingStreamClientTest {
+    private final MockServerRestTemplateCustomizer mockServer = new MockServerRestTemplateCustomizer();
+    private final BookingStreamClient bookingStreamClient = new BookingStreamClient("http://localhost:9090",
+            new RestTemplateBuilder(mockServer), Duration.ofSeconds(60));
+
+    @Test
+    void whenStreamWrittenThenServerEventsRelayedAsTheyAre() throws Exception {
+        String events = ":subscribed\n\nevent:booking\ndata:{\"bookingId\":1,\"status\":\"WAITING\"}\n\n";
+        MockRestServiceServer server = mockServer.getServer();
+        server.expect(requestTo("http://localhost:9090/bookings/stream"))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andExpect(header("Accept", MediaType.TEXT_EVENT_STREAM_VALUE))
+                .andRespond(withSuccess(events, MediaType.TEXT_EVENT_STREAM));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bookingStreamClient.stream(1L).writeTo(out);
+
+        server.verify();
+        assertThat(out.toString(StandardCharsets.UTF_8), equalTo(events));
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+
+import ru.practicum.shareit.user.UserClient;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.not;
+
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@SpringBootTest(properties = "shareit-server.url=http://localhost:9090",
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BaseClientTest {
+    private final UserClient userClient;
+    private final MeterRegistry meterRegistry;
+
+    @Test
+    void whenServerRespondsChunkedThenFramingHeadersAreNotRelayed() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.TRANSFER_ENCODING, "chunked");
+        headers.set(HttpHeaders.CONNECTION, "keep-alive");
+        headers.set("Server-Timing", "db;dur=0.2");
+        MockRestServiceServer server = MockRestServiceServer.bindTo(userClient.rest).build();
+        server.expect(requestTo("http://localhost:9090/users/1"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON).headers(headers));
+
+        ResponseEntity<Object> response = userClient.findById(1L);
+
+        assertThat(response.getHeaders(), not(hasKey(HttpHeaders.TRANSFER_ENCODING)));
+        assertThat(response.getHeaders(), not(hasKey(HttpHeaders.CONNECTION)));
+        assertThat(response.getHeaders().getFirst("Server-Timing"), equalTo("db;dur=0.2"));
+    }
+
+    @Test
+    void whenClientCallsServerThenRoundTripTimedInContextRegistryPerUriTemplateAndStatus() {
+        MockRestServiceServer server = MockRestServiceServer.bindTo(userClient.rest).build();
+        server.expect(requestTo("http://localhost:9090/users/7"))
+                .andRespond(withSuccess("{\"id\":7}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo("http://localhost:9090/users/8"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+        long ok = count("200");
+        long notFound = count("404");
+
+        userClient.findById(7L);
+        userClient.findById(8L);
+
+        server.verify();
+        assertThat(count("200"), equalTo(ok + 1));
+        assertThat(count("404"), equalTo(notFound + 1));
+        assertThat(meterRegistry.get(BaseClient.TIMER_NAME).tag("status", "404").timer().getId().getTag("outcome"),
+                equalTo("CLIENT_ERROR"));
+    }
+
+    private long count(String status) {
+        Timer timer = meterRegistry.find(BaseClient.TIMER_NAME)
+                .tags("client", "UserClient", "method", "GET", "uri", "/{id}", "status", status)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.client;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+
+import ru.practicum.shareit.tracing.RingBufferSpanHandler;
+import ru.practicum.shareit.tracing.SpanRecord;
+import ru.practicum.shareit.user.UserClient;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.matchesPattern;
+
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@SpringBootTest(
+        properties = {"shareit-server.url=http://localhost:9090", "spring.sleuth.propagation.type=w3c",
+                "spring.sleuth.sampler.probability=1.0"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BaseClientTracingTest {
+    private final UserClient userClient;
+    private final RingBufferSpanHandler spans;
+
+    @Test
+    void whenClientCallsServerThenTraceparentSentAndClientSpanRecorded() {
+        MockRestServiceServer server = MockRestServiceServer.bindTo(userClient.rest).build();
+        server.expect(requestTo("http://localhost:9090/users/1"))
+                .andExpect(header("traceparent", matchesPattern("00-[0-9a-f]{32}-[0-9a-f]{16}-01")))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+
+        userClient.findById(1L);
+
+        server.verify();
+        List<SpanRecord> recent = spans.getRecent(1);
+        assertThat(recent.size(), equalTo(1));
+        assertThat(recent.get(0).getKind(), equalTo("CLIENT"));
+    }
+}
@@ -22,6 +22,7 @@ import ru.practicum.shareit.item.dto.ItemDto;
 
 import javax.validation.ConstraintViolationException;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -320,6 +321,29 @@ class ItemControllerTest {
                 .getByItemId(1L, -2L);
     }
 
+    @Test
+    void whenGetValidItemsByIdsThenStatusIsOk() throws Exception {
+        Mockito
+                .when(itemClient.getByIds(List.of(2L, 3L)))
+                .thenReturn(responseIsOk);
+
+        mockMvc.perform(get("/items?ids=2,3"))
+                .andExpect(status().isOk());
+
+        Mockito.verify(itemClient, Mockito.times(1))
+                .getByIds(List.of(2L, 3L));
+    }
+
+    @Test
+    void whenTryToGetItemsByNegativeIdThenStatusIsBadRequest() throws Exception {
+        mockMvc.perform(get("/items?ids=2,-3"))
+                .andExpect(result -> assertTrue(result.getResolvedException() instanceof ConstraintViolationException))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verify(itemClient, Mockito.never())
+                .getByIds(Mockito.anyList());
+    }
+
     @Test
     void whenGetValidItemByUserIdThenStatusIsOk() throws Exception {
         Mockito
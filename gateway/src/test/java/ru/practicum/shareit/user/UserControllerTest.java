@@ -25,6 +25,9 @@ import ru.practicum.shareit.user.dto.UserDto;
 import javax.validation.ConstraintViolationException;
 
 import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -198,6 +201,31 @@ class UserControllerTest {
                 .findAll();
     }
 
+    @Test
+    void whenFindAllByIdThenStatusIsOk() throws Exception {
+        mockMvc.perform(get("/users?ids=1,2"))
+                .andExpect(status().isOk());
+
+        Mockito.verify(userClient, Mockito.times(1))
+                .findAllById(List.of(1L, 2L));
+        Mockito.verify(userClient, Mockito.never())
+                .findAll();
+    }
+
+    @Test
+    void whenFindAllByTooManyIdsThenStatusIsBadRequest() throws Exception {
+        String ids = LongStream.rangeClosed(1, UserController.MAX_IDS + 1)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(","));
+
+        mockMvc.perform(get("/users?ids=" + ids))
+                .andExpect(result -> assertTrue(result.getResolvedException() instanceof ConstraintViolationException))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verify(userClient, Mockito.never())
+                .findAllById(Mockito.anyList());
+    }
+
     @Test
     void whenDeleteByValidIdThenStatusIsOk() throws Exception {
         Mockito
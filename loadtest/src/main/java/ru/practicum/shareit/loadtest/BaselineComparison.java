@@ -0,0 +1,43 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares a run with a stored baseline: an endpoint regresses when its median or 99th percentile grew by more
+ * than the latency tolerance, or its error rate grew by more than the error tolerance.
+ */
+public final class BaselineComparison {
+    /** Percentiles of endpoints called fewer times than this are too noisy to compare. */
+    static final long MIN_REQUESTS = 20;
+
+    private BaselineComparison() {
+    }
+
+    public static List<String> regressions(Report baseline, Report current, double latencyTolerance,
+                                           double errorTolerance) {
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, Report.Endpoint> entry : current.getEndpoints().entrySet()) {
+            Report.Endpoint before = baseline.getEndpoints().get(entry.getKey());
+            Report.Endpoint after = entry.getValue();
+            if (before == null) continue;
+
+            if (after.getErrorRate() - before.getErrorRate() > errorTolerance) {
+                regressions.add(String.format("%s: error rate %.2f%% -> %.2f%%", entry.getKey(),
+                        before.getErrorRate() * 100, after.getErrorRate() * 100));
+            }
+            if (before.getRequests() < MIN_REQUESTS || after.getRequests() < MIN_REQUESTS) continue;
+
+            if (after.getP50() > before.getP50() * (1 + latencyTolerance)) {
+                regressions.add(String.format("%s: p50 %.2f ms -> %.2f ms", entry.getKey(), before.getP50(),
+                        after.getP50()));
+            }
+            if (after.getP99() > before.getP99() * (1 + latencyTolerance)) {
+                regressions.add(String.format("%s: p99 %.2f ms -> %.2f ms", entry.getKey(), before.getP99(),
+                        after.getP99()));
+            }
+        }
+        return regressions;
+    }
+}
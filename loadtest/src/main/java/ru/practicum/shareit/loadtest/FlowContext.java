@@ -0,0 +1,70 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The state of one pass through the collection. The collection was written for a single user on an empty database,
+ * so it refers to resources by the ids they got there: every pass binds those ids to the ids its own resources got,
+ * and gives its emails a suffix unique to the run and the pass, so concurrent passes never meet.
+ */
+public class FlowContext {
+    /** Ids the pass never created are shifted out of the range a test database reaches, so they stay unknown. */
+    static final long MISSING_ID_OFFSET = 1_000_000_000L;
+
+    private static final Map<String, String> RESOURCE_BY_VARIABLE = Map.of(
+            "userId", "users",
+            "itemId", "items",
+            "bookingId", "bookings",
+            "requestId", "requests");
+
+    private final String emailSuffix;
+    private final Map<String, String> environment = new HashMap<>();
+    private final Map<String, Map<Long, Long>> bindings = new HashMap<>();
+
+    public FlowContext(String runId, long sequence) {
+        this.emailSuffix = "." + runId + Long.toString(sequence, Character.MAX_RADIX);
+    }
+
+    public Map<String, String> getEnvironment() {
+        return environment;
+    }
+
+    public void bind(String resource, long collectionId, long actualId) {
+        bindings.computeIfAbsent(resource, key -> new HashMap<>()).put(collectionId, actualId);
+    }
+
+    public long resolve(String resource, long collectionId) {
+        return bindings.getOrDefault(resource, Map.of()).getOrDefault(collectionId, MISSING_ID_OFFSET + collectionId);
+    }
+
+    /**
+     * Resolves a value the collection stores under a variable or field name such as {@code itemId}; values of other
+     * names and values that are not ids are returned as they are.
+     */
+    public String resolveVariable(String name, String value) {
+        String resource = RESOURCE_BY_VARIABLE.get(name);
+        if (resource == null) return value;
+
+        try {
+            return String.valueOf(resolve(resource, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            return value;
+        }
+    }
+
+    public String uniqueEmail(String email) {
+        int at = email.indexOf('@');
+        return at < 0 ? email : email.substring(0, at) + emailSuffix + email.substring(at);
+    }
+
+    public String substitute(String text) {
+        if (text == null || !text.contains("{{")) return text;
+
+        String result = text;
+        for (Map.Entry<String, String> variable : environment.entrySet()) {
+            result = result.replace("{{" + variable.getKey() + "}}", variable.getValue());
+        }
+        return result;
+    }
+}
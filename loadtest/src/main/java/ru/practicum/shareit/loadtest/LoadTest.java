@@ -0,0 +1,141 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * Replays the Postman collection against a running gateway as concurrent passes ("flows"), either with a fixed
+ * number of virtual users that start the next pass as soon as the previous one ends (closed model), or with passes
+ * arriving at a fixed rate no matter how long the running ones take (open model). Prints the latency percentiles and
+ * error rates per endpoint, stores them as JSON and optionally compares them with a baseline.
+ */
+public class LoadTest {
+    private static final long RUN_ID_RANGE = (long) Math.pow(Character.MAX_RADIX, 5);
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = new LoadTestOptions(args);
+        List<RequestTemplate> templates = PostmanCollection.load(Path.of(options.getCollection())).stream()
+                .filter(template -> options.getFolders().isEmpty() || options.getFolders().contains(template.getFolder()))
+                .collect(Collectors.toList());
+
+        Stats stats = new Stats();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(options.getTimeout())
+                .build();
+        Scenario scenario = new Scenario(client, options.getBaseUrl(), templates, stats, runId(),
+                options.getTimeout(), options.getThinkTimeMillis());
+
+        String startedAt = Instant.now().toString();
+        long started = System.nanoTime();
+        if (LoadTestOptions.OPEN.equals(options.getModel())) {
+            runOpen(scenario, stats, options);
+        } else {
+            runClosed(scenario, options);
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        Report report = Report.of(options, startedAt, seconds, stats);
+        System.out.println(report.toTable());
+
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        Path out = Path.of(options.getOut());
+        if (out.getParent() != null) Files.createDirectories(out.getParent());
+        mapper.writeValue(out.toFile(), report);
+        System.out.println("Report written to " + out);
+
+        if (options.getBaseline() != null) {
+            Report baseline = mapper.readValue(Path.of(options.getBaseline()).toFile(), Report.class);
+            List<String> regressions = BaselineComparison.regressions(baseline, report,
+                    options.getLatencyTolerance(), options.getErrorTolerance());
+            if (!regressions.isEmpty()) {
+                System.out.println("Regressions against " + options.getBaseline() + ":");
+                regressions.forEach(regression -> System.out.println("  " + regression));
+                System.exit(1);
+            }
+            System.out.println("No regressions against " + options.getBaseline());
+        }
+    }
+
+    /**
+     * Every virtual user starts its next pass right after the previous one; the users start evenly over the ramp-up.
+     * The passes running when the duration is over are completed.
+     */
+    private static void runClosed(Scenario scenario, LoadTestOptions options) throws InterruptedException {
+        ExecutorService users = Executors.newFixedThreadPool(options.getUsers());
+        AtomicLong sequence = new AtomicLong();
+        long deadline = System.nanoTime() + options.getDuration().toNanos();
+        long rampUpStep = options.getRampUp().toNanos() / options.getUsers();
+
+        for (int user = 0; user < options.getUsers(); user++) {
+            long start = System.nanoTime() + user * rampUpStep;
+            users.execute(() -> {
+                try {
+                    LockSupport.parkNanos(start - System.nanoTime());
+                    while (System.nanoTime() < deadline) {
+                        scenario.run(sequence.incrementAndGet(), System.nanoTime());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        users.shutdown();
+        users.awaitTermination(1, TimeUnit.DAYS);
+    }
+
+    /**
+     * A new pass is due every {@code 1 / rate} seconds. A pass that finds all {@code maxInFlight} workers busy is
+     * dropped and counted, instead of delaying the passes behind it.
+     */
+    private static void runOpen(Scenario scenario, Stats stats, LoadTestOptions options) throws InterruptedException {
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(0, options.getMaxInFlight(), 1, TimeUnit.MINUTES,
+                new SynchronousQueue<>());
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / options.getRate());
+        long started = System.nanoTime();
+        long deadline = started + options.getDuration().toNanos();
+
+        for (long arrival = 0; ; arrival++) {
+            long due = started + arrival * interval;
+            if (due >= deadline) break;
+
+            LockSupport.parkNanos(due - System.nanoTime());
+            long sequence = arrival + 1;
+            try {
+                workers.execute(() -> {
+                    try {
+                        scenario.run(sequence, due);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                stats.recordDroppedArrival();
+            }
+        }
+
+        workers.shutdown();
+        workers.awaitTermination(1, TimeUnit.DAYS);
+    }
+
+    private static String runId() {
+        String id = Long.toString(Instant.now().getEpochSecond() % RUN_ID_RANGE, Character.MAX_RADIX);
+        return "0".repeat(5 - id.length()) + id;
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Command line options, {@code --name=value}.
+ */
+@Getter
+public class LoadTestOptions {
+    static final String CLOSED = "closed";
+    static final String OPEN = "open";
+
+    private final String baseUrl;
+    private final String collection;
+    private final List<String> folders;
+    private final String model;
+    private final int users;
+    private final double rate;
+    private final int maxInFlight;
+    private final Duration duration;
+    private final Duration rampUp;
+    private final long thinkTimeMillis;
+    private final Duration timeout;
+    private final String out;
+    private final String baseline;
+    private final double latencyTolerance;
+    private final double errorTolerance;
+
+    public LoadTestOptions(String... args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+
+        baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        collection = options.getOrDefault("collection", "postman/sprint.json");
+        folders = options.containsKey("folders")
+                ? Arrays.stream(options.get("folders").split(",")).map(String::trim).collect(Collectors.toList())
+                : List.of();
+        model = options.getOrDefault("model", CLOSED);
+        users = Integer.parseInt(options.getOrDefault("users", "10"));
+        rate = Double.parseDouble(options.getOrDefault("rate", "1"));
+        maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "200"));
+        duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60")));
+        rampUp = Duration.ofSeconds(Long.parseLong(options.getOrDefault("ramp-up", "0")));
+        thinkTimeMillis = Long.parseLong(options.getOrDefault("think-time", "0"));
+        timeout = Duration.ofSeconds(Long.parseLong(options.getOrDefault("timeout", "10")));
+        out = options.getOrDefault("out", "loadtest/target/loadtest-result.json");
+        baseline = options.get("baseline");
+        latencyTolerance = Double.parseDouble(options.getOrDefault("latency-tolerance", "0.2"));
+        errorTolerance = Double.parseDouble(options.getOrDefault("error-tolerance", "0.01"));
+
+        if (!CLOSED.equals(model) && !OPEN.equals(model)) {
+            throw new IllegalArgumentException("The model is either closed or open, got " + model);
+        }
+    }
+}
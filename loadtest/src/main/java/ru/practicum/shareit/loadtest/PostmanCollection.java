@@ -0,0 +1,135 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Reads a Postman v2.1 collection into request templates, in the order the collection runner would send them.
+ * The expected status codes and created ids are taken from the {@code pm.expect} lines of the test scripts.
+ */
+public final class PostmanCollection {
+    private static final Pattern STATUSES = Pattern.compile("pm\\.response\\.code\\)\\.to\\.be\\.oneOf\\(\\[([^]]*)]");
+    private static final Pattern CREATED_ID = Pattern.compile("jsonData\\.id, '\"id\" field'\\)\\.to\\.eql\\((\\d+)\\)");
+    private static final Pattern LITERAL_ID = Pattern.compile("/(users|items|bookings|requests)/(\\d+)(?=/|$)");
+    private static final Map<String, String> ID_VARIABLES = Map.of(
+            "users", "userId",
+            "items", "itemId",
+            "bookings", "bookingId",
+            "requests", "requestId");
+    private static final String BASE_URL = "{{baseUrl}}";
+    private static final String CONTENT_TYPE = "Content-Type";
+
+    private PostmanCollection() {
+    }
+
+    public static List<RequestTemplate> load(Path path) throws IOException {
+        JsonNode collection = new ObjectMapper().readTree(path.toFile());
+        List<RequestTemplate> templates = new ArrayList<>();
+        collect(collection.path("item"), "", templates);
+        return templates;
+    }
+
+    private static void collect(JsonNode items, String folder, List<RequestTemplate> templates) {
+        for (JsonNode item : items) {
+            if (item.has("item")) {
+                collect(item.get("item"), item.path("name").asText(), templates);
+            } else {
+                templates.add(toTemplate(item, folder));
+            }
+        }
+    }
+
+    private static RequestTemplate toTemplate(JsonNode item, String folder) {
+        JsonNode request = item.get("request");
+        JsonNode url = request.get("url");
+        String raw = url.path("raw").asText().replace(BASE_URL, "");
+        int queryStart = raw.indexOf('?');
+
+        Map<String, String> pathVariables = new LinkedHashMap<>();
+        url.path("variable").forEach(variable ->
+                pathVariables.put(variable.path("key").asText(), variable.path("value").asText()));
+
+        // ids written straight into the path, like /requests/1, become path variables so they are bound too
+        String path = queryStart < 0 ? raw : raw.substring(0, queryStart);
+        Matcher literalId = LITERAL_ID.matcher(path);
+        StringBuilder variablePath = new StringBuilder();
+        while (literalId.find()) {
+            String variable = ID_VARIABLES.get(literalId.group(1));
+            pathVariables.put(variable, literalId.group(2));
+            literalId.appendReplacement(variablePath, "/" + literalId.group(1) + "/:" + variable);
+        }
+        literalId.appendTail(variablePath);
+
+        List<Map.Entry<String, String>> headers = new ArrayList<>();
+        request.path("header").forEach(header -> {
+            if (!header.path("disabled").asBoolean()) {
+                headers.add(new AbstractMap.SimpleImmutableEntry<>(header.path("key").asText(),
+                        header.path("value").asText()));
+            }
+        });
+
+        String body = request.path("body").path("raw").asText(null);
+        boolean json = "json".equals(request.path("body").path("options").path("raw").path("language").asText());
+        if (json && headers.stream().noneMatch(header -> CONTENT_TYPE.equalsIgnoreCase(header.getKey()))) {
+            // the Postman app sends the content type of a raw JSON body on its own
+            headers.add(new AbstractMap.SimpleImmutableEntry<>(CONTENT_TYPE, "application/json"));
+        }
+
+        String tests = script(item, "test");
+
+        return RequestTemplate.builder()
+                .folder(folder)
+                .name(item.path("name").asText())
+                .method(request.path("method").asText())
+                .path(variablePath.toString())
+                .query(queryStart < 0 ? "" : raw.substring(queryStart + 1))
+                .pathVariables(pathVariables)
+                .headers(headers)
+                .body(body == null || body.isBlank() ? null : body)
+                .expectedStatuses(expectedStatuses(tests))
+                .createdId(createdId(request.path("method").asText(), tests))
+                .preRequestScript(PreRequestScript.parse(script(item, "prerequest")))
+                .build();
+    }
+
+    private static String script(JsonNode item, String listen) {
+        List<String> lines = new ArrayList<>();
+        for (JsonNode event : item.path("event")) {
+            if (listen.equals(event.path("listen").asText())) {
+                event.path("script").path("exec").forEach(line -> lines.add(line.asText().replace("\r", "")));
+            }
+        }
+        return String.join("\n", lines);
+    }
+
+    private static Set<Integer> expectedStatuses(String tests) {
+        Matcher matcher = STATUSES.matcher(tests);
+        if (!matcher.find()) return Set.of();
+
+        return Arrays.stream(matcher.group(1).split(","))
+                .map(String::trim)
+                .map(Integer::valueOf)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private static Integer createdId(String method, String tests) {
+        if (!"POST".equals(method)) return null;
+
+        Matcher matcher = CREATED_ID.matcher(tests);
+        return matcher.find() ? Integer.valueOf(matcher.group(1)) : null;
+    }
+}
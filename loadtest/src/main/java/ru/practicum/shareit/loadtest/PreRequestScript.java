@@ -0,0 +1,106 @@
+package ru.practicum.shareit.loadtest;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The part of the collection's pre-request scripts a replay needs: {@code moment()} dates shifted with
+ * {@code add(n, unit)} and stored with {@code pm.environment.set}, and {@code setTimeout} pauses.
+ */
+public class PreRequestScript {
+    private static final Pattern MOMENT = Pattern.compile("var (\\w+) = moment\\(\\)((?:\\.add\\(-?\\d+, '\\w'\\))*)");
+    private static final Pattern ADD = Pattern.compile("\\.add\\((-?\\d+), '(\\w)'\\)");
+    private static final Pattern SET = Pattern.compile(
+            "pm\\.environment\\.set\\('(\\w+)', (\\w+)\\.format\\('([^']+)'\\)\\)");
+    private static final Pattern TIMEOUT = Pattern.compile("setTimeout\\(function\\(\\)\\{}, (\\d+)\\)");
+
+    static final PreRequestScript EMPTY = new PreRequestScript(Map.of(), 0);
+
+    private final Map<String, Shift> variables;
+    private final long pauseMillis;
+
+    private PreRequestScript(Map<String, Shift> variables, long pauseMillis) {
+        this.variables = variables;
+        this.pauseMillis = pauseMillis;
+    }
+
+    public static PreRequestScript parse(String script) {
+        if (script == null || script.isBlank()) return EMPTY;
+
+        Map<String, Long> moments = new LinkedHashMap<>();
+        Matcher moment = MOMENT.matcher(script);
+        while (moment.find()) {
+            long seconds = 0;
+            Matcher add = ADD.matcher(moment.group(2));
+            while (add.find()) {
+                seconds += Long.parseLong(add.group(1)) * unitSeconds(add.group(2));
+            }
+            moments.put(moment.group(1), seconds);
+        }
+
+        Map<String, Shift> variables = new LinkedHashMap<>();
+        Matcher set = SET.matcher(script);
+        while (set.find()) {
+            Long seconds = moments.get(set.group(2));
+            if (seconds != null) variables.put(set.group(1), new Shift(seconds, formatter(set.group(3))));
+        }
+
+        Matcher timeout = TIMEOUT.matcher(script);
+        long pause = timeout.find() ? Long.parseLong(timeout.group(1)) : 0;
+
+        return new PreRequestScript(variables, pause);
+    }
+
+    public long getPauseMillis() {
+        return pauseMillis;
+    }
+
+    public void apply(Map<String, String> environment, LocalDateTime now) {
+        variables.forEach((name, shift) -> environment.put(name,
+                now.plusSeconds(shift.seconds).format(shift.formatter)));
+    }
+
+    Map<String, String> evaluate(LocalDateTime now) {
+        Map<String, String> environment = new LinkedHashMap<>();
+        apply(environment, now);
+        return environment;
+    }
+
+    private static long unitSeconds(String unit) {
+        switch (unit) {
+            case "s":
+                return 1;
+            case "m":
+                return ChronoUnit.MINUTES.getDuration().getSeconds();
+            case "h":
+                return ChronoUnit.HOURS.getDuration().getSeconds();
+            case "d":
+                return ChronoUnit.DAYS.getDuration().getSeconds();
+            default:
+                throw new IllegalArgumentException("Unsupported moment unit: " + unit);
+        }
+    }
+
+    private static DateTimeFormatter formatter(String momentFormat) {
+        return DateTimeFormatter.ofPattern(momentFormat
+                .replace("YYYY", "yyyy")
+                .replace("DD", "dd")
+                .replace("T", "'T'")
+                .replace(".sss", ".SSS"));
+    }
+
+    private static class Shift {
+        private final long seconds;
+        private final DateTimeFormatter formatter;
+
+        Shift(long seconds, DateTimeFormatter formatter) {
+            this.seconds = seconds;
+            this.formatter = formatter;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The result of a run as it is printed and stored: latencies in milliseconds, per endpoint and for whole passes.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class Report {
+    private String model;
+    private String startedAt;
+    private int users;
+    private double rate;
+    private double durationSeconds;
+    private long droppedArrivals;
+    private double requestsPerSecond;
+    private double flowsPerSecond;
+    private Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+    public static Report of(LoadTestOptions options, String startedAt, double durationSeconds, Stats stats) {
+        Report report = new Report();
+        report.model = options.getModel();
+        report.startedAt = startedAt;
+        report.users = options.getUsers();
+        report.rate = options.getRate();
+        report.durationSeconds = round(durationSeconds);
+        report.droppedArrivals = stats.getDroppedArrivals();
+
+        long requests = 0;
+        for (Map.Entry<String, Stats.Endpoint> entry : stats.getEndpoints().entrySet()) {
+            Endpoint endpoint = Endpoint.of(entry.getValue(), Stats.FLOW.equals(entry.getKey()));
+            report.endpoints.put(entry.getKey(), endpoint);
+            if (!Stats.FLOW.equals(entry.getKey())) requests += endpoint.requests;
+        }
+        Endpoint flows = report.endpoints.get(Stats.FLOW);
+        report.requestsPerSecond = round(requests / durationSeconds);
+        report.flowsPerSecond = flows == null ? 0 : round(flows.requests / durationSeconds);
+        return report;
+    }
+
+    public String toTable() {
+        StringBuilder table = new StringBuilder(String.format("%-48s %8s %7s %9s %9s %9s %9s %9s%n", "endpoint",
+                "count", "err%", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        endpoints.forEach((name, endpoint) -> table.append(String.format("%-48s %8d %7.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, endpoint.requests, endpoint.errorRate * 100, endpoint.p50, endpoint.p90, endpoint.p99,
+                endpoint.p999, endpoint.max)));
+        table.append(String.format("%.1f requests/s, %.2f flows/s over %.1f s", requestsPerSecond, flowsPerSecond,
+                durationSeconds));
+        if (droppedArrivals > 0) table.append(String.format(", %d arrivals dropped", droppedArrivals));
+        return table.toString();
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class Endpoint {
+        private long requests;
+        private long errors;
+        private double errorRate;
+        private double mean;
+        private double p50;
+        private double p90;
+        private double p99;
+        private double p999;
+        private double max;
+        private Map<String, Long> statuses = new LinkedHashMap<>();
+
+        static Endpoint of(Stats.Endpoint stats, boolean flow) {
+            Histogram latencies = stats.getLatencies();
+            Endpoint endpoint = new Endpoint();
+            endpoint.requests = latencies.getTotalCount();
+            endpoint.errors = stats.getErrors();
+            endpoint.errorRate = endpoint.requests == 0 ? 0 : round((double) endpoint.errors / endpoint.requests);
+            endpoint.mean = millis(latencies.getMean());
+            endpoint.p50 = millis(latencies.getValueAtPercentile(50));
+            endpoint.p90 = millis(latencies.getValueAtPercentile(90));
+            endpoint.p99 = millis(latencies.getValueAtPercentile(99));
+            endpoint.p999 = millis(latencies.getValueAtPercentile(99.9));
+            endpoint.max = millis(latencies.getMaxValue());
+            stats.getStatuses().forEach((status, count) -> endpoint.statuses.put(label(status, flow), count));
+            return endpoint;
+        }
+
+        private static String label(int status, boolean flow) {
+            if (flow) return status == Stats.FLOW_PASSED ? "passed" : "failed";
+            return status == Stats.NO_RESPONSE ? "no response" : String.valueOf(status);
+        }
+
+        private static double millis(double micros) {
+            return round(micros / 1000);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One request of the Postman collection: the path still holds its {@code :variables}, the headers and the body still
+ * hold the ids and {@code {{variables}}} of the original single-user run.
+ */
+@Getter
+@Builder
+public class RequestTemplate {
+    private final String folder;
+    private final String name;
+    private final String method;
+    private final String path;
+    private final String query;
+    private final Map<String, String> pathVariables;
+    private final List<Map.Entry<String, String>> headers;
+    private final String body;
+    private final Set<Integer> expectedStatuses;
+    /** The id the collection expects the created resource to get, if the request creates one. */
+    private final Integer createdId;
+    private final PreRequestScript preRequestScript;
+
+    /**
+     * The name the latencies are reported under, e.g. {@code GET /bookings/{bookingId}?approved}.
+     */
+    public String getEndpoint() {
+        StringBuilder endpoint = new StringBuilder(method).append(' ')
+                .append(path.replaceAll(":(\\w+)", "{$1}"));
+        if (query != null && !query.isEmpty()) {
+            endpoint.append('?').append(query.replaceAll("=[^&]*", ""));
+        }
+        return endpoint.toString();
+    }
+
+    /**
+     * The collection of resources the created id belongs to: {@code users}, {@code items}, ... .
+     */
+    public String getResource() {
+        String[] segments = path.split("/");
+        return segments[segments.length - 1].equals("comment") ? "comments" : segments[1];
+    }
+}
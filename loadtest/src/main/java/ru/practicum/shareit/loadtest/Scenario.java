@@ -0,0 +1,152 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Sends the collection's requests in order, one pass at a time, with the ids, emails and dates of the pass.
+ * Every response whose status the collection does not expect counts as an error.
+ */
+public class Scenario {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final List<String> RESTRICTED_HEADERS = List.of("connection", "content-length", "host");
+
+    private final HttpClient client;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final String baseUrl;
+    private final List<RequestTemplate> templates;
+    private final Stats stats;
+    private final String runId;
+    private final Duration timeout;
+    private final long thinkTimeMillis;
+
+    public Scenario(HttpClient client, String baseUrl, List<RequestTemplate> templates, Stats stats, String runId,
+                    Duration timeout, long thinkTimeMillis) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.templates = templates;
+        this.stats = stats;
+        this.runId = runId;
+        this.timeout = timeout;
+        this.thinkTimeMillis = thinkTimeMillis;
+    }
+
+    /**
+     * Runs one pass and records its latency from {@code intendedStartNanos}, which in the open model is the moment
+     * the pass was due to arrive, so time spent waiting for a free worker is not hidden.
+     */
+    public void run(long sequence, long intendedStartNanos) throws InterruptedException {
+        FlowContext context = new FlowContext(runId, sequence);
+        boolean succeeded = true;
+
+        for (RequestTemplate template : templates) {
+            PreRequestScript script = template.getPreRequestScript();
+            if (script.getPauseMillis() > 0) Thread.sleep(script.getPauseMillis());
+            script.apply(context.getEnvironment(), LocalDateTime.now());
+
+            succeeded &= send(template, context);
+
+            if (thinkTimeMillis > 0) Thread.sleep(thinkTimeMillis);
+        }
+
+        stats.recordFlow(System.nanoTime() - intendedStartNanos, succeeded);
+    }
+
+    private boolean send(RequestTemplate template, FlowContext context) throws InterruptedException {
+        HttpRequest request = toRequest(template, context);
+        long started = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            long latency = System.nanoTime() - started;
+            boolean expected = template.getExpectedStatuses().isEmpty()
+                    || template.getExpectedStatuses().contains(response.statusCode());
+            stats.record(template.getEndpoint(), latency, response.statusCode(), expected);
+
+            if (template.getCreatedId() != null && response.statusCode() / 100 == 2) {
+                bindCreatedId(template, context, response.body());
+            }
+            return expected;
+        } catch (IOException e) {
+            stats.record(template.getEndpoint(), System.nanoTime() - started, Stats.NO_RESPONSE, false);
+            return false;
+        }
+    }
+
+    HttpRequest toRequest(RequestTemplate template, FlowContext context) {
+        String path = template.getPath();
+        for (Map.Entry<String, String> variable : template.getPathVariables().entrySet()) {
+            path = path.replace(":" + variable.getKey(),
+                    context.resolveVariable(variable.getKey(), context.substitute(variable.getValue())));
+        }
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path + query(template, context)))
+                .timeout(timeout)
+                .method(template.getMethod(), template.getBody() == null ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body(template, context), StandardCharsets.UTF_8));
+
+        for (Map.Entry<String, String> header : template.getHeaders()) {
+            if (RESTRICTED_HEADERS.contains(header.getKey().toLowerCase())) continue;
+
+            String value = context.substitute(header.getValue());
+            builder.header(header.getKey(), USER_HEADER.equalsIgnoreCase(header.getKey())
+                    ? context.resolveVariable("userId", value) : value);
+        }
+        return builder.build();
+    }
+
+    private static String query(RequestTemplate template, FlowContext context) {
+        if (template.getQuery().isEmpty()) return "";
+
+        return Stream.of(template.getQuery().split("&"))
+                .map(parameter -> {
+                    int eq = parameter.indexOf('=');
+                    String name = eq < 0 ? parameter : parameter.substring(0, eq);
+                    String value = eq < 0 ? "" : context.substitute(parameter.substring(eq + 1));
+                    return name + "=" + URLEncoder.encode(value, StandardCharsets.UTF_8);
+                })
+                .collect(Collectors.joining("&", "?", ""));
+    }
+
+    private String body(RequestTemplate template, FlowContext context) {
+        String body = context.substitute(template.getBody());
+        try {
+            JsonNode json = mapper.readTree(body);
+            if (!(json instanceof ObjectNode)) return body;
+
+            ObjectNode object = (ObjectNode) json;
+            for (String field : List.of("itemId", "requestId")) {
+                if (object.hasNonNull(field)) {
+                    object.put(field, Long.parseLong(context.resolveVariable(field, object.get(field).asText())));
+                }
+            }
+            if (object.hasNonNull("email")) object.put("email", context.uniqueEmail(object.get("email").asText()));
+            return mapper.writeValueAsString(object);
+        } catch (IOException | NumberFormatException e) {
+            return body;
+        }
+    }
+
+    private void bindCreatedId(RequestTemplate template, FlowContext context, String body) {
+        try {
+            JsonNode id = mapper.readTree(body).path("id");
+            if (id.canConvertToLong()) context.bind(template.getResource(), template.getCreatedId(), id.asLong());
+        } catch (IOException ignored) {
+            // the status check has already recorded the response, a body without an id only leaves the id unbound
+        }
+    }
+}
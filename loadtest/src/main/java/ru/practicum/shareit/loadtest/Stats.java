@@ -0,0 +1,71 @@
+package ru.practicum.shareit.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies in microseconds and outcomes, per endpoint and for whole passes through the collection.
+ */
+public class Stats {
+    static final String FLOW = "FLOW";
+    static final int NO_RESPONSE = -1;
+    static final int FLOW_PASSED = 0;
+    static final int FLOW_FAILED = 1;
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final LongAdder droppedArrivals = new LongAdder();
+
+    public void record(String endpoint, long latencyNanos, int status, boolean expected) {
+        endpoints.computeIfAbsent(endpoint, key -> new Endpoint()).record(latencyNanos, status, expected);
+    }
+
+    public void recordFlow(long latencyNanos, boolean succeeded) {
+        record(FLOW, latencyNanos, succeeded ? FLOW_PASSED : FLOW_FAILED, succeeded);
+    }
+
+    public void recordDroppedArrival() {
+        droppedArrivals.increment();
+    }
+
+    public long getDroppedArrivals() {
+        return droppedArrivals.sum();
+    }
+
+    public Map<String, Endpoint> getEndpoints() {
+        return new TreeMap<>(endpoints);
+    }
+
+    public static class Endpoint {
+        private final Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        void record(long latencyNanos, int status, boolean expected) {
+            latencies.recordValue(Math.min(MAX_LATENCY_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+            statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+            if (!expected) errors.increment();
+        }
+
+        public Histogram getLatencies() {
+            return latencies;
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        public Map<Integer, Long> getStatuses() {
+            Map<Integer, Long> counts = new TreeMap<>();
+            statuses.forEach((status, count) -> counts.put(status, count.sum()));
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+
+class FlowContextTest {
+
+    @Test
+    void whenIdBoundThenResolvedAndUnknownIdsStayMissing() {
+        FlowContext context = new FlowContext("abcde", 1);
+        context.bind("items", 2, 742);
+
+        assertThat(context.resolveVariable("itemId", "2"), equalTo("742"));
+        assertThat(context.resolveVariable("itemId", "200"),
+                equalTo(String.valueOf(FlowContext.MISSING_ID_OFFSET + 200)));
+        assertThat(context.resolveVariable("state", "ALL"), equalTo("ALL"));
+    }
+
+    @Test
+    void whenEmailThenSuffixUniqueForRunAndPass() {
+        FlowContext first = new FlowContext("abcde", 1);
+        FlowContext second = new FlowContext("abcde", 2);
+
+        assertThat(first.uniqueEmail("user@user.com"), equalTo("user.abcde1@user.com"));
+        assertThat(second.uniqueEmail("user@user.com"), not(equalTo(first.uniqueEmail("user@user.com"))));
+        assertThat(first.uniqueEmail("user.com"), equalTo("user.com"));
+    }
+
+    @Test
+    void whenEnvironmentVariableThenSubstituted() {
+        FlowContext context = new FlowContext("abcde", 1);
+        context.getEnvironment().put("start", "2022-08-02T12:00:00");
+
+        assertThat(context.substitute("{\"start\": \"{{start}}\"}"), equalTo("{\"start\": \"2022-08-02T12:00:00\"}"));
+    }
+
+    @Test
+    void whenLatencyOrErrorRateGrowsBeyondToleranceThenRegression() {
+        Report baseline = report(10.0, 0.0);
+
+        assertThat(BaselineComparison.regressions(baseline, report(11.0, 0.0), 0.2, 0.01), empty());
+        assertThat(BaselineComparison.regressions(baseline, report(13.0, 0.05), 0.2, 0.01), contains(
+                "GET /users: error rate 0.00% -> 5.00%",
+                "GET /users: p50 10.00 ms -> 13.00 ms",
+                "GET /users: p99 10.00 ms -> 13.00 ms"));
+    }
+
+    private static Report report(double latency, double errorRate) {
+        Report.Endpoint endpoint = new Report.Endpoint();
+        endpoint.setRequests(BaselineComparison.MIN_REQUESTS);
+        endpoint.setErrorRate(errorRate);
+        endpoint.setP50(latency);
+        endpoint.setP99(latency);
+        Report report = new Report();
+        report.setEndpoints(Map.of("GET /users", endpoint));
+        return report;
+    }
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.loadtest;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.nullValue;
+
+class PostmanCollectionTest {
+    private static List<RequestTemplate> templates;
+
+    @BeforeAll
+    static void load() throws IOException {
+        templates = PostmanCollection.load(Path.of("../postman/sprint.json"));
+    }
+
+    @Test
+    void whenLoadedThenEveryRequestInCollectionOrder() {
+        assertThat(templates.size(), equalTo(123));
+        assertThat(templates.get(0).getName(), equalTo("User create"));
+        assertThat(templates.get(0).getFolder(), equalTo("users"));
+    }
+
+    @Test
+    void whenCreateRequestThenExpectedStatusesAndCreatedIdFromTests() {
+        RequestTemplate create = find("Item 2 create");
+
+        assertThat(create.getEndpoint(), equalTo("POST /items"));
+        assertThat(create.getResource(), equalTo("items"));
+        assertThat(create.getExpectedStatuses(), equalTo(Set.of(200, 201)));
+        assertThat(create.getCreatedId(), equalTo(2));
+        assertThat(find("User get").getCreatedId(), nullValue());
+    }
+
+    @Test
+    void whenIdWrittenIntoPathThenItBecomesPathVariable() {
+        RequestTemplate template = templates.stream()
+                .filter(request -> request.getPath().startsWith("/requests/:"))
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(template.getEndpoint(), equalTo("GET /requests/{requestId}"));
+        assertThat(template.getPathVariables().containsKey("requestId"), equalTo(true));
+    }
+
+    @Test
+    void whenRawJsonBodyWithoutContentTypeThenJsonContentTypeAdded() {
+        RequestTemplate template = find("Add item request");
+
+        assertThat(template.getHeaders(), hasItem(Map.entry("Content-Type", "application/json")));
+    }
+
+    @Test
+    void whenPreRequestScriptThenDatesShiftedAndPauseParsed() {
+        RequestTemplate template = find("Booking create from user1 to item2");
+        LocalDateTime now = LocalDateTime.of(2022, 8, 1, 12, 0, 0);
+
+        Map<String, String> environment = template.getPreRequestScript().evaluate(now);
+
+        assertThat(environment.get("start"), equalTo("2022-08-02T12:00:00"));
+        assertThat(environment.get("end"), equalTo("2022-08-03T12:00:00"));
+        assertThat(PreRequestScript.parse("var time = setTimeout(function(){}, 3000);").getPauseMillis(),
+                equalTo(3000L));
+    }
+
+    private static RequestTemplate find(String name) {
+        return templates.stream()
+                .filter(template -> template.getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+}
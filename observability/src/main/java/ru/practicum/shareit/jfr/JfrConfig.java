@@ -0,0 +1,19 @@
+package ru.practicum.shareit.jfr;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Configuration
+public class JfrConfig {
+
+    @Bean
+    public JfrRecordingEndpoint jfrRecordingEndpoint(@Value("${shareit.jfr.max-duration:5m}") Duration maxDuration,
+                                                     @Value("${shareit.jfr.max-size:50MB}") DataSize maxSize,
+                                                     @Value("${shareit.jfr.settings:profile}") String settings) {
+        return new JfrRecordingEndpoint(maxDuration, maxSize, settings);
+    }
+}
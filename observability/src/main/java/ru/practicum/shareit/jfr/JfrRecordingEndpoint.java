@@ -0,0 +1,106 @@
+package ru.practicum.shareit.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Starts a JFR recording bounded in time and size ({@code POST}), reports on it ({@code GET}) and stops it,
+ * returning the recording file ({@code DELETE}). The file is deleted once its response has been streamed.
+ */
+@Slf4j
+@WebEndpoint(id = "jfr")
+public class JfrRecordingEndpoint {
+    public static final int STATUS_CONFLICT = 409;
+
+    private final Duration maxDuration;
+    private final DataSize maxSize;
+    private final String settings;
+    private Recording recording;
+
+    public JfrRecordingEndpoint(Duration maxDuration, DataSize maxSize, String settings) {
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+        this.settings = settings;
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> start(@Nullable Long durationSeconds)
+            throws IOException, ParseException {
+        if (recording != null && recording.getState() == RecordingState.RUNNING)
+            return new WebEndpointResponse<>(status(), STATUS_CONFLICT);
+        if (recording != null) recording.close();
+
+        Duration duration = durationSeconds == null || Duration.ofSeconds(durationSeconds).compareTo(maxDuration) > 0
+                ? maxDuration : Duration.ofSeconds(durationSeconds);
+
+        recording = new Recording(Configuration.getConfiguration(settings));
+        recording.setName("shareit");
+        recording.setToDisk(true);
+        recording.setDuration(duration);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.start();
+        log.info("JFR recording {} started for at most {}", recording.getId(), duration);
+
+        return new WebEndpointResponse<>(status(), WebEndpointResponse.STATUS_OK);
+    }
+
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        if (recording == null) return Map.of("state", "NONE");
+
+        return Map.of(
+                "id", recording.getId(),
+                "state", recording.getState().name(),
+                "duration", String.valueOf(recording.getDuration()),
+                "maxSize", recording.getMaxSize());
+    }
+
+    @DeleteOperation
+    public synchronized WebEndpointResponse<Resource> stop() throws IOException {
+        if (recording == null || recording.getState() == RecordingState.CLOSED)
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+
+        if (recording.getState() == RecordingState.RUNNING) recording.stop();
+        Path file = Files.createTempFile("shareit-", ".jfr");
+        file.toFile().deleteOnExit();
+        recording.dump(file);
+        recording.close();
+        log.info("JFR recording {} dumped to {}", recording.getId(), file);
+
+        return new WebEndpointResponse<>(new DeletedOnCloseResource(file), WebEndpointResponse.STATUS_OK);
+    }
+
+    private static class DeletedOnCloseResource extends FileSystemResource {
+
+        DeletedOnCloseResource(Path file) {
+            super(file);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(getFile().toPath(), StandardOpenOption.DELETE_ON_CLOSE);
+        }
+    }
+}
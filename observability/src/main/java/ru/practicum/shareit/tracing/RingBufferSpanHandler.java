@@ -0,0 +1,57 @@
+package ru.practicum.shareit.tracing;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the most recently finished spans in memory so they can be inspected through the {@code tracing} endpoint.
+ */
+public class RingBufferSpanHandler extends SpanHandler {
+    private final int capacity;
+    private final Deque<SpanRecord> spans;
+
+    public RingBufferSpanHandler(int capacity) {
+        this.capacity = capacity;
+        this.spans = new ArrayDeque<>(capacity);
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause != Cause.FINISHED) return true;
+
+        SpanRecord record = SpanRecordMapper.toSpanRecord(span);
+        synchronized (spans) {
+            if (spans.size() == capacity) spans.removeFirst();
+            spans.addLast(record);
+        }
+        return true;
+    }
+
+    /**
+     * Spans of the most recent traces, newest first.
+     */
+    public List<SpanRecord> getRecent(int limit) {
+        List<SpanRecord> recent = new ArrayList<>(limit);
+        synchronized (spans) {
+            Iterator<SpanRecord> iterator = spans.descendingIterator();
+            while (iterator.hasNext() && recent.size() < limit) recent.add(iterator.next());
+        }
+        return recent;
+    }
+
+    public List<SpanRecord> getTrace(String traceId) {
+        synchronized (spans) {
+            return spans.stream()
+                    .filter(span -> span.getTraceId().equals(traceId))
+                    .collect(Collectors.toList());
+        }
+    }
+}
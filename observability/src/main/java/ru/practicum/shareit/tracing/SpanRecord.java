@@ -0,0 +1,26 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpanRecord {
+    private String traceId;
+    private String spanId;
+    private String parentId;
+    private String name;
+    private String kind;
+    private String service;
+    private String remoteService;
+    private long timestampMicros;
+    private long durationMicros;
+    private Map<String, String> tags;
+    private String error;
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.tracing;
+
+import brave.handler.MutableSpan;
+
+import java.util.Map;
+
+public class SpanRecordMapper {
+
+    public static SpanRecord toSpanRecord(MutableSpan span) {
+        return SpanRecord.builder()
+                .traceId(span.traceId())
+                .spanId(span.id())
+                .parentId(span.parentId())
+                .name(span.name())
+                .kind(span.kind() == null ? null : span.kind().name())
+                .service(span.localServiceName())
+                .remoteService(span.remoteServiceName())
+                .timestampMicros(span.startTimestamp())
+                .durationMicros(Math.max(0, span.finishTimestamp() - span.startTimestamp()))
+                .tags(Map.copyOf(span.tags()))
+                .error(span.error() == null ? null : span.error().toString())
+                .build();
+    }
+}
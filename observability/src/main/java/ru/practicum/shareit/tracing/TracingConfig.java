@@ -0,0 +1,32 @@
+package ru.practicum.shareit.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public RingBufferSpanHandler ringBufferSpanHandler(@Value("${shareit.tracing.ring-buffer-size:2000}") int size) {
+        return new RingBufferSpanHandler(size);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit.tracing.file.enabled", havingValue = "true")
+    public FileSpanHandler fileSpanHandler(@Value("${shareit.tracing.file.path:traces.jsonl}") Path path,
+                                           ObjectMapper objectMapper) throws IOException {
+        return new FileSpanHandler(path, objectMapper);
+    }
+
+    @Bean
+    public TracingEndpoint tracingEndpoint(RingBufferSpanHandler ringBufferSpanHandler) {
+        return new TracingEndpoint(ringBufferSpanHandler);
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.tracing;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Endpoint(id = "tracing")
+public class TracingEndpoint {
+    private static final int DEFAULT_LIMIT = 100;
+
+    private final RingBufferSpanHandler spans;
+
+    public TracingEndpoint(RingBufferSpanHandler spans) {
+        this.spans = spans;
+    }
+
+    /**
+     * The most recent spans grouped by trace, newest trace first.
+     */
+    @ReadOperation
+    public Map<String, List<SpanRecord>> traces(@Nullable Integer limit) {
+        return spans.getRecent(limit == null ? DEFAULT_LIMIT : limit).stream()
+                .collect(Collectors.groupingBy(SpanRecord::getTraceId, LinkedHashMap::new, Collectors.toList()));
+    }
+
+    @ReadOperation
+    public List<SpanRecord> trace(@Selector String traceId) {
+        return spans.getTrace(traceId);
+    }
+}
@@ -2,12 +2,21 @@ package ru.practicum.shareit;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import ru.practicum.shareit.datagen.DatasetProperties;
 
 @SpringBootApplication
+@EnableScheduling
 public class ShareItServer {
 
 	public static void main(String[] args) {
-		SpringApplication.run(ShareItServer.class, args);
+		ConfigurableApplicationContext context = SpringApplication.run(ShareItServer.class, args);
+
+		// the datagen profile writes its dataset while starting, closing the context lets main return
+		DatasetProperties datagen = context.getBeanProvider(DatasetProperties.class).getIfAvailable();
+		if (datagen != null && datagen.isExit()) SpringApplication.exit(context);
 	}
 
 }
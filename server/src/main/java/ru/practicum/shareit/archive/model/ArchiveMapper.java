@@ -0,0 +1,37 @@
+package ru.practicum.shareit.archive.model;
+
+import ru.practicum.shareit.booking.model.dto.BookingOutDto;
+import ru.practicum.shareit.booking.model.dto.BookingShortDto;
+import ru.practicum.shareit.item.model.dto.CommentDto;
+
+public class ArchiveMapper {
+
+    public static BookingOutDto toBookingDto(ArchivedBooking booking) {
+        return BookingOutDto.builder()
+                .id(booking.getId())
+                .booker(booking.getBooker())
+                .item(booking.getItem())
+                .start(booking.getStart())
+                .end(booking.getEnd())
+                .status(booking.getStatus().getStatus())
+                .build();
+    }
+
+    public static BookingShortDto toBookingShortDto(ArchivedBooking booking) {
+        return BookingShortDto.builder()
+                .id(booking.getId())
+                .bookerId(booking.getBooker().getId())
+                .start(booking.getStart())
+                .end(booking.getEnd())
+                .build();
+    }
+
+    public static CommentDto toCommentDto(ArchivedComment comment) {
+        return CommentDto.builder()
+                .id(comment.getId())
+                .text(comment.getText())
+                .authorName(comment.getAuthor().getName())
+                .created(comment.getCreated())
+                .build();
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.archive.model;
+
+import lombok.*;
+
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "comments_archive")
+public class ArchivedComment {
+    @Id
+    @Column(name = "comment_id")
+    private Long id;
+
+    @Column(length = 560, nullable = false)
+    private String text;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "item_id")
+    private Item item;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "author_id")
+    private User author;
+
+    private LocalDateTime created;
+}
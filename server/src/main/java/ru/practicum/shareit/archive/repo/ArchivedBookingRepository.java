@@ -0,0 +1,36 @@
+package ru.practicum.shareit.archive.repo;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import ru.practicum.shareit.archive.model.ArchivedBooking;
+
+public interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, Long> {
+
+    @Query(value = "select a from ArchivedBooking a join fetch a.booker join fetch a.item i join fetch i.owner " +
+            "left join fetch i.request r left join fetch r.user where a.id in :bookingIds")
+    List<ArchivedBooking> getAllByIdIn(@Param("bookingIds") Collection<Long> bookingIds);
+
+    Optional<ArchivedBooking> getTopByItem_IdAndEndBeforeOrderByStartDesc(long itemId, LocalDateTime dateTime);
+
+    @Query(value = "select a from ArchivedBooking a join fetch a.booker join fetch a.item i join fetch i.owner " +
+            "left join fetch i.request r left join fetch r.user where a.booker.id = :bookerId")
+    Slice<ArchivedBooking> getAllByBookerId(@Param("bookerId") long bookerId, Pageable pageable);
+
+    @Query(value = "select a from ArchivedBooking a join fetch a.booker join fetch a.item i join fetch i.owner " +
+            "left join fetch i.request r left join fetch r.user where i.owner.id = :ownerId")
+    Slice<ArchivedBooking> getAllByOwnerId(@Param("ownerId") long ownerId, Pageable pageable);
+
+    long countByBookerId(long bookerId);
+
+    @Query(value = "select count(a) from ArchivedBooking a where a.item.owner.id = :ownerId")
+    long countByOwnerId(@Param("ownerId") long ownerId);
+}
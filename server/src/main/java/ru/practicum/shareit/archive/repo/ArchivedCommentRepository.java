@@ -0,0 +1,15 @@
+package ru.practicum.shareit.archive.repo;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import ru.practicum.shareit.archive.model.ArchivedComment;
+
+import java.util.List;
+
+public interface ArchivedCommentRepository extends JpaRepository<ArchivedComment, Long> {
+
+    @Query(value = "select c from ArchivedComment c join fetch c.author where c.item.id = :itemId")
+    List<ArchivedComment> findCommentsByItemId(@Param("itemId") long itemId);
+}
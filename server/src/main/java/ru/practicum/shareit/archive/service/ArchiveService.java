@@ -0,0 +1,31 @@
+package ru.practicum.shareit.archive.service;
+
+import ru.practicum.shareit.booking.model.dto.BookingOutDto;
+import ru.practicum.shareit.booking.model.dto.BookingShortDto;
+import ru.practicum.shareit.item.model.dto.CommentDto;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ArchiveService {
+
+    boolean isEnabled();
+
+    int archiveCompletedBookings();
+
+    List<BookingOutDto> getBookingsByIds(Collection<Long> bookingIds);
+
+    Optional<BookingShortDto> getLastBookingOfItem(long itemId, LocalDateTime dateTime);
+
+    List<BookingOutDto> getBookingsByBookerId(long bookerId, int from, int size);
+
+    List<BookingOutDto> getBookingsByOwnerId(long ownerId, int from, int size);
+
+    long countBookingsByBookerId(long bookerId);
+
+    long countBookingsByOwnerId(long ownerId);
+
+    List<CommentDto> getCommentsByItemId(long itemId);
+}
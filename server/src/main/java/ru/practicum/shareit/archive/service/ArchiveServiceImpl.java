@@ -0,0 +1,201 @@
+package ru.practicum.shareit.archive.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ru.practicum.shareit.archive.model.ArchiveMapper;
+import ru.practicum.shareit.archive.repo.ArchivedBookingRepository;
+import ru.practicum.shareit.archive.repo.ArchivedCommentRepository;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.model.dto.BookingOutDto;
+import ru.practicum.shareit.booking.model.dto.BookingShortDto;
+import ru.practicum.shareit.item.model.dto.CommentDto;
+import ru.practicum.shareit.utils.Pagination;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class ArchiveServiceImpl implements ArchiveService {
+    private static final String STATUS_ORDINAL = Arrays.stream(Status.values())
+            .map(status -> String.format("WHEN '%s' THEN %d", status.name(), status.ordinal()))
+            .collect(Collectors.joining(" ", "CASE status ", " END"));
+
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final ArchivedCommentRepository archivedCommentRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int afterMonths;
+    private final int batchSize;
+    private final Clock clock;
+
+    @Autowired
+    public ArchiveServiceImpl(ArchivedBookingRepository archivedBookingRepository,
+                              ArchivedCommentRepository archivedCommentRepository,
+                              NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                              @Value("${shareit.archive.enabled:false}") boolean enabled,
+                              @Value("${shareit.archive.after-months:24}") int afterMonths,
+                              @Value("${shareit.archive.batch-size:1000}") int batchSize) {
+        this(archivedBookingRepository, archivedCommentRepository, jdbcTemplate, transactionManager, enabled,
+                afterMonths, batchSize, Clock.systemDefaultZone());
+    }
+
+    ArchiveServiceImpl(ArchivedBookingRepository archivedBookingRepository,
+                       ArchivedCommentRepository archivedCommentRepository, NamedParameterJdbcTemplate jdbcTemplate,
+                       PlatformTransactionManager transactionManager, boolean enabled, int afterMonths, int batchSize,
+                       Clock clock) {
+        this.archivedBookingRepository = archivedBookingRepository;
+        this.archivedCommentRepository = archivedCommentRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.afterMonths = afterMonths;
+        this.batchSize = batchSize;
+        this.clock = clock;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    @Scheduled(cron = "${shareit.archive.cron:0 30 3 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int archiveCompletedBookings() {
+        if (!enabled) return 0;
+
+        LocalDateTime cutoff = LocalDateTime.now(clock).minusMonths(afterMonths);
+        int archived = 0;
+        int moved;
+        do {
+            moved = inTransaction(() -> moveBookingsBatch(cutoff));
+            archived += moved;
+        } while (moved == batchSize);
+
+        int comments = 0;
+        do {
+            moved = inTransaction(() -> moveCommentsBatch(cutoff));
+            comments += moved;
+        } while (moved == batchSize);
+
+        log.info("{} bookings ended before {} and {} of their comments have been archived", archived, cutoff, comments);
+
+        return archived;
+    }
+
+    @Override
+    public List<BookingOutDto> getBookingsByIds(Collection<Long> bookingIds) {
+        if (!enabled || bookingIds.isEmpty()) return List.of();
+
+        return archivedBookingRepository.getAllByIdIn(bookingIds).stream()
+                .map(ArchiveMapper::toBookingDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Optional<BookingShortDto> getLastBookingOfItem(long itemId, LocalDateTime dateTime) {
+        if (!enabled) return Optional.empty();
+
+        return archivedBookingRepository.getTopByItem_IdAndEndBeforeOrderByStartDesc(itemId, dateTime)
+                .map(ArchiveMapper::toBookingShortDto);
+    }
+
+    @Override
+    public List<BookingOutDto> getBookingsByBookerId(long bookerId, int from, int size) {
+        if (!enabled) return List.of();
+
+        return archivedBookingRepository.getAllByBookerId(bookerId, Pagination.of(from, size,
+                        Sort.by("start").descending())).get()
+                .map(ArchiveMapper::toBookingDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<BookingOutDto> getBookingsByOwnerId(long ownerId, int from, int size) {
+        if (!enabled) return List.of();
+
+        return archivedBookingRepository.getAllByOwnerId(ownerId, Pagination.of(from, size,
+                        Sort.by("start").descending())).get()
+                .map(ArchiveMapper::toBookingDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public long countBookingsByBookerId(long bookerId) {
+        if (!enabled) return 0;
+
+        return archivedBookingRepository.countByBookerId(bookerId);
+    }
+
+    @Override
+    public long countBookingsByOwnerId(long ownerId) {
+        if (!enabled) return 0;
+
+        return archivedBookingRepository.countByOwnerId(ownerId);
+    }
+
+    @Override
+    public List<CommentDto> getCommentsByItemId(long itemId) {
+        if (!enabled) return List.of();
+
+        return archivedCommentRepository.findCommentsByItemId(itemId).stream()
+                .map(ArchiveMapper::toCommentDto)
+                .collect(Collectors.toList());
+    }
+
+    private int moveBookingsBatch(LocalDateTime cutoff) {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT booking_id FROM booking WHERE end_date < :cutoff " +
+                        "ORDER BY booking_id LIMIT :limit",
+                new MapSqlParameterSource("cutoff", cutoff).addValue("limit", batchSize), Long.class);
+        if (ids.isEmpty()) return 0;
+
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+        jdbcTemplate.update("INSERT INTO booking_archive (booking_id, start_date, end_date, item_id, booker_id, status) " +
+                "SELECT booking_id, start_date, end_date, item_id, booker_id, " + STATUS_ORDINAL + " " +
+                "FROM booking WHERE booking_id IN (:ids)", params);
+        jdbcTemplate.update("DELETE FROM booking WHERE booking_id IN (:ids)", params);
+
+        return ids.size();
+    }
+
+    private int moveCommentsBatch(LocalDateTime cutoff) {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT c.comment_id FROM comments c WHERE c.created < :cutoff " +
+                        "AND EXISTS (SELECT 1 FROM booking_archive a WHERE a.item_id = c.item_id " +
+                        "AND a.booker_id = c.author_id) ORDER BY c.comment_id LIMIT :limit",
+                new MapSqlParameterSource("cutoff", cutoff).addValue("limit", batchSize), Long.class);
+        if (ids.isEmpty()) return 0;
+
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+        jdbcTemplate.update("INSERT INTO comments_archive (comment_id, text, item_id, author_id, created) " +
+                "SELECT comment_id, text, item_id, author_id, created FROM comments WHERE comment_id IN (:ids)", params);
+        jdbcTemplate.update("DELETE FROM comments WHERE comment_id IN (:ids)", params);
+
+        return ids.size();
+    }
+
+    private int inTransaction(IntSupplier batch) {
+        Integer moved = transactionTemplate.execute(status -> batch.getAsInt());
+        return moved == null ? 0 : moved;
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.async;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.sleuth.CurrentTraceContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * Runs the heavy reads of the controllers off the Tomcat threads, so a burst of them cannot take the threads the
+     * fast endpoints need. Every running query holds a connection, so the pool is the Hikari pool minus the
+     * connections reserved for the requests served on Tomcat threads and, when the lookups run in parallel, minus
+     * the lookup pool; together the two executors then leave the reserved connections free. A configuration that
+     * leaves no connection for this pool fails the startup. When the queue is full the request is rejected with 503
+     * instead of waiting for a connection; its queue depth is exported as {@code executor.queued{name=queryExecutor}}.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor queryExecutor(CurrentTraceContext currentTraceContext,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize,
+            @Value("${shareit.async.reserved-connections:2}") int reservedConnections,
+            @Value("${shareit.async.queue-capacity:100}") int queueCapacity,
+            @Value("${shareit.lookup.parallel.enabled:false}") boolean parallelLookups,
+            @Value("${shareit.lookup.pool-size:4}") int lookupPoolSize) {
+        int poolSize = connectionPoolSize - reservedConnections - (parallelLookups ? lookupPoolSize : 0);
+        if (poolSize < 1)
+            throw new IllegalStateException(String.format("%d connections cannot cover %d reserved ones and %d " +
+                    "lookups with a query executor left", connectionPoolSize, reservedConnections,
+                    parallelLookups ? lookupPoolSize : 0));
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("query-");
+        executor.setTaskDecorator(new RequestContextDecorator(currentTraceContext));
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+}
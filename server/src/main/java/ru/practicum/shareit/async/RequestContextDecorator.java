@@ -0,0 +1,38 @@
+package ru.practicum.shareit.async;
+
+import org.springframework.cloud.sleuth.CurrentTraceContext;
+import org.springframework.core.task.TaskDecorator;
+
+import ru.practicum.shareit.datasource.RequestUserContext;
+import ru.practicum.shareit.sql.SqlStatistics;
+import ru.practicum.shareit.sql.SqlStatisticsHolder;
+
+/**
+ * Carries the context of the request that submitted a task over to the executor thread: the trace, the SQL statistics
+ * scope, so the statements are counted for the request, and the user the read-your-writes routing decides by.
+ */
+public class RequestContextDecorator implements TaskDecorator {
+    private final CurrentTraceContext currentTraceContext;
+
+    public RequestContextDecorator(CurrentTraceContext currentTraceContext) {
+        this.currentTraceContext = currentTraceContext;
+    }
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Runnable traced = currentTraceContext.wrap(runnable);
+        SqlStatistics statistics = SqlStatisticsHolder.current();
+        Long userId = RequestUserContext.get();
+
+        return () -> {
+            Long previousUser = RequestUserContext.get();
+            RequestUserContext.set(userId);
+            try (SqlStatisticsHolder.Scope ignored =
+                         statistics == null ? null : SqlStatisticsHolder.attach(statistics)) {
+                traced.run();
+            } finally {
+                RequestUserContext.set(previousUser);
+            }
+        };
+    }
+}
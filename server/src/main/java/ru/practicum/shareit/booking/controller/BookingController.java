@@ -1,22 +1,36 @@
 package ru.practicum.shareit.booking.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.booking.enums.BookingState;
 import ru.practicum.shareit.booking.model.dto.BookingInDto;
 import ru.practicum.shareit.booking.model.dto.BookingOutDto;
+import ru.practicum.shareit.booking.model.dto.BookingStatusResultDto;
+import ru.practicum.shareit.booking.model.dto.BookingStatusUpdateDto;
+import ru.practicum.shareit.booking.model.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.stream.BookingStream;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @RestController
 @RequestMapping(path = "/bookings")
 public class BookingController {
     private final BookingService bookingService;
+    private final Executor queryExecutor;
+    private final BookingStream bookingStream;
 
     @Autowired
-    public BookingController(BookingService bookingService) {
+    public BookingController(BookingService bookingService, @Qualifier("queryExecutor") Executor queryExecutor,
+                             BookingStream bookingStream) {
         this.bookingService = bookingService;
+        this.queryExecutor = queryExecutor;
+        this.bookingStream = bookingStream;
     }
 
     @PostMapping
@@ -31,24 +45,52 @@ public class BookingController {
         return bookingService.updateStatus(userId, bookingId, isApproved);
     }
 
+    @PatchMapping
+    public List<BookingStatusResultDto> updateStatuses(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                       @RequestBody List<BookingStatusUpdateDto> updates) {
+        return bookingService.updateStatuses(userId, updates);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader("X-Sharer-User-Id") long userId) {
+        return bookingStream.subscribe(userId);
+    }
+
+    @GetMapping("/summary")
+    public CompletableFuture<BookingSummaryDto> getUserSummary(@RequestHeader("X-Sharer-User-Id") long userId) {
+        return CompletableFuture.supplyAsync(() -> bookingService.getUserSummary(userId), queryExecutor);
+    }
+
+    @GetMapping("/owner/summary")
+    public CompletableFuture<BookingSummaryDto> getOwnerSummary(@RequestHeader("X-Sharer-User-Id") long userId) {
+        return CompletableFuture.supplyAsync(() -> bookingService.getOwnerSummary(userId), queryExecutor);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingOutDto getById(@RequestHeader("X-Sharer-User-Id") long userId, @PathVariable long bookingId) {
         return bookingService.getById(userId, bookingId);
     }
 
+    @GetMapping(params = "ids")
+    public List<BookingOutDto> getByIds(@RequestHeader("X-Sharer-User-Id") long userId,
+                                        @RequestParam(value = "ids") List<Long> ids) {
+        return bookingService.getByIds(userId, ids);
+    }
+
     @GetMapping
-    public List<BookingOutDto> getUserBookings(@RequestHeader("X-Sharer-User-Id") long userId,
-                                               @RequestParam(value = "state") BookingState state,
-                                               @RequestParam(value = "from") int from,
-                                               @RequestParam(value = "size") int size) {
-        return bookingService.getUserBookings(userId, state, from, size);
+    public CompletableFuture<List<BookingOutDto>> getUserBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                  @RequestParam(value = "state") BookingState state,
+                                                                  @RequestParam(value = "from") int from,
+                                                                  @RequestParam(value = "size") int size) {
+        return CompletableFuture.supplyAsync(() -> bookingService.getUserBookings(userId, state, from, size),
+                queryExecutor);
     }
 
     @GetMapping("/owner")
-    public List<BookingOutDto> getBookingsByOwnerId(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                    @RequestParam(value = "state") BookingState state,
-                                                    @RequestParam (value = "from") int from,
-                                                    @RequestParam (value = "size") int size) {
-        return bookingService.getBookingsByOwnerId(userId, state, from, size);
+    public CompletableFuture<List<BookingOutDto>> getBookingsByOwnerId(
+            @RequestHeader("X-Sharer-User-Id") long userId, @RequestParam(value = "state") BookingState state,
+            @RequestParam (value = "from") int from, @RequestParam (value = "size") int size) {
+        return CompletableFuture.supplyAsync(() -> bookingService.getBookingsByOwnerId(userId, state, from, size),
+                queryExecutor);
     }
 }
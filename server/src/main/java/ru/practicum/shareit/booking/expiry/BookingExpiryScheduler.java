@@ -0,0 +1,140 @@
+package ru.practicum.shareit.booking.expiry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import ru.practicum.shareit.booking.model.WaitingBookingView;
+import ru.practicum.shareit.booking.repo.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingExpiryService;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Keeps the start of every waiting booking in a timing wheel and hands the started ones to
+ * {@link BookingExpiryService} to be rejected. The wheel is rebuilt from the waiting bookings on startup; new bookings
+ * reach it through a queue drained on every tick, so request threads never wait for the scheduler. A tick with
+ * nothing due touches neither the database nor the service; bookings whose rejection fails go back into the wheel
+ * and are retried after {@code shareit.booking.expiry.retry-delay}.
+ */
+@Slf4j
+@Component
+public class BookingExpiryScheduler {
+    private static final int WHEEL_SIZE = 64;
+
+    private final BookingRepository bookingRepository;
+    private final BookingExpiryService bookingExpiryService;
+    private final boolean enabled;
+    private final long tickMillis;
+    private final long retryDelayMillis;
+    private final Clock clock;
+    private final Queue<Deadline> pending = new ConcurrentLinkedQueue<>();
+    private TimingWheel wheel;
+
+    @Autowired
+    public BookingExpiryScheduler(BookingRepository bookingRepository, BookingExpiryService bookingExpiryService,
+                                  @Value("${shareit.booking.expiry.enabled:false}") boolean enabled,
+                                  @Value("${shareit.booking.expiry.tick:PT1S}") Duration tick,
+                                  @Value("${shareit.booking.expiry.retry-delay:PT10S}") Duration retryDelay) {
+        this(bookingRepository, bookingExpiryService, enabled, tick, retryDelay, Clock.systemDefaultZone());
+    }
+
+    BookingExpiryScheduler(BookingRepository bookingRepository, BookingExpiryService bookingExpiryService,
+                           boolean enabled, Duration tick, Duration retryDelay, Clock clock) {
+        this.bookingRepository = bookingRepository;
+        this.bookingExpiryService = bookingExpiryService;
+        this.enabled = enabled;
+        this.tickMillis = tick.toMillis();
+        this.retryDelayMillis = retryDelay.toMillis();
+        this.clock = clock;
+        this.wheel = new TimingWheel(tickMillis, WHEEL_SIZE, clock.millis());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void trackAfterCommit(long bookingId, LocalDateTime start) {
+        if (!enabled) return;
+
+        Deadline deadline = new Deadline(bookingId, toMillis(start));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            pending.add(deadline);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pending.add(deadline);
+            }
+        });
+    }
+
+    /**
+     * Replaces the wheel with the starts of all waiting bookings. Bookings tracked while the query runs stay in the
+     * queue and are added once more on the next tick, which is harmless.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized int rebuild() {
+        if (!enabled) return 0;
+
+        List<WaitingBookingView> waiting = bookingRepository.findAllWaiting();
+        TimingWheel rebuilt = new TimingWheel(tickMillis, WHEEL_SIZE, clock.millis());
+        waiting.forEach(booking -> rebuilt.add(booking.getId(), toMillis(booking.getStart())));
+        wheel = rebuilt;
+
+        log.info("the expiry wheel has been rebuilt with {} waiting bookings", waiting.size());
+
+        return waiting.size();
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.expiry.tick:PT1S}")
+    public synchronized int expireStarted() {
+        if (!enabled) return 0;
+
+        Deadline deadline;
+        while ((deadline = pending.poll()) != null) {
+            wheel.add(deadline.bookingId, deadline.millis);
+        }
+
+        long now = clock.millis();
+        List<Long> due = wheel.advanceTo(now);
+        if (due.isEmpty()) return 0;
+
+        try {
+            return bookingExpiryService.rejectStarted(due);
+        } catch (RuntimeException e) {
+            // the rejection skips the bookings decided in the meantime, so retrying the whole lot is safe
+            log.warn("{} started bookings could not be rejected, retrying in {} ms", due.size(), retryDelayMillis, e);
+            due.forEach(bookingId -> wheel.add(bookingId, now + retryDelayMillis));
+            return 0;
+        }
+    }
+
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(clock.getZone()).toInstant().toEpochMilli();
+    }
+
+    private static class Deadline {
+        private final long bookingId;
+        private final long millis;
+
+        Deadline(long bookingId, long millis) {
+            this.bookingId = bookingId;
+            this.millis = millis;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package ru.practicum.shareit.booking.expiry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel of ids with deadlines. The first level has one slot per tick; every next level has one
+ * slot per revolution of the level below and is added only when a deadline reaches past the levels there are. An id
+ * sits in the lowest level whose revolution still holds its deadline and moves down a level each time the cursor
+ * reaches its slot, so adding an id and advancing by a tick cost the same whatever the number of ids. Deadlines are
+ * rounded up to the next tick: an id is never due early and at most a tick late. Not thread-safe.
+ */
+public class TimingWheel {
+    private final long tickMillis;
+    private final int wheelSize;
+    private final List<List<List<Entry>>> levels = new ArrayList<>();
+    private final List<Long> due = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    public TimingWheel(long tickMillis, int wheelSize, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.currentTick = Math.floorDiv(nowMillis, tickMillis);
+    }
+
+    public void add(long id, long deadlineMillis) {
+        long deadlineTick = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis);
+        if (deadlineTick <= currentTick) {
+            due.add(id);
+            return;
+        }
+        place(new Entry(id, deadlineTick));
+        size++;
+    }
+
+    /**
+     * Moves the cursor to the given time and returns the ids whose deadlines it passed.
+     */
+    public List<Long> advanceTo(long nowMillis) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        while (currentTick < targetTick) {
+            if (size == 0) {
+                currentTick = targetTick;
+                break;
+            }
+            currentTick++;
+            cascade();
+        }
+
+        List<Long> expired = new ArrayList<>(due);
+        due.clear();
+        return expired;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void cascade() {
+        for (int level = levels.size() - 1; level > 0; level--) {
+            if (currentTick % span(level) != 0) continue;
+
+            List<Entry> bucket = takeBucket(level, currentTick / span(level));
+            for (Entry entry : bucket) {
+                if (entry.deadlineTick <= currentTick) {
+                    due.add(entry.id);
+                    size--;
+                } else {
+                    place(entry);
+                }
+            }
+        }
+
+        for (Entry entry : takeBucket(0, currentTick)) {
+            due.add(entry.id);
+            size--;
+        }
+    }
+
+    private void place(Entry entry) {
+        int level = 0;
+        while (entry.deadlineTick / span(level + 1) != currentTick / span(level + 1)) {
+            level++;
+        }
+        while (levels.size() <= level) {
+            List<List<Entry>> slots = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                slots.add(new ArrayList<>());
+            }
+            levels.add(slots);
+        }
+        levels.get(level).get(slot(entry.deadlineTick / span(level))).add(entry);
+    }
+
+    private List<Entry> takeBucket(int level, long slotTick) {
+        if (level >= levels.size()) return List.of();
+
+        List<List<Entry>> slots = levels.get(level);
+        int slot = slot(slotTick);
+        List<Entry> bucket = slots.get(slot);
+        if (bucket.isEmpty()) return List.of();
+
+        slots.set(slot, new ArrayList<>());
+        return bucket;
+    }
+
+    /**
+     * Ticks covered by one slot of the level, saturating instead of overflowing for far-away deadlines.
+     */
+    private long span(int level) {
+        long span = 1;
+        for (int i = 0; i < level && span <= Long.MAX_VALUE / wheelSize; i++) {
+            span *= wheelSize;
+        }
+        return span;
+    }
+
+    private int slot(long slotTick) {
+        return (int) Math.floorMod(slotTick, (long) wheelSize);
+    }
+
+    private static class Entry {
+        private final long id;
+        private final long deadlineTick;
+
+        Entry(long id, long deadlineTick) {
+            this.id = id;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.booking.lock;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Item locks shared by every server instance working on the same PostgreSQL database: a transaction-level advisory
+ * lock per item, released by the database on commit or rollback. The wait is bounded by a transaction-local
+ * lock_timeout, which is reset to the default once the lock is taken.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.booking.lock.mode", havingValue = "advisory")
+public class AdvisoryItemLocks implements ItemLocks {
+    static final int ITEM_LOCK_SPACE = 1;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Timer waitTimer;
+    private final long timeoutMillis;
+
+    public AdvisoryItemLocks(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                             @Value("${shareit.booking.lock.timeout:2s}") Duration timeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.timeoutMillis = timeout.toMillis();
+        this.waitTimer = Timer.builder(WAIT_METRIC)
+                .description("Time spent waiting for the lock of an item")
+                .tag("mode", "advisory")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void lockForTransaction(long itemId) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive())
+            throw new IllegalStateException("the item lock can only be taken inside a transaction");
+
+        jdbcTemplate.execute(String.format("SET LOCAL lock_timeout = %d", timeoutMillis));
+        long started = System.nanoTime();
+        try {
+            jdbcTemplate.query("SELECT pg_advisory_xact_lock(?, ?)", resultSet -> null, ITEM_LOCK_SPACE,
+                    (int) itemId);
+        } catch (CannotAcquireLockException e) {
+            // the only lock this statement waits for is the item's, so the timeout says all there is to say
+            throw new CannotAcquireLockException(String.format(
+                    "the item with id=%s is being booked by another request, try again", itemId));
+        } finally {
+            waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+        jdbcTemplate.execute("SET LOCAL lock_timeout = DEFAULT");
+    }
+}
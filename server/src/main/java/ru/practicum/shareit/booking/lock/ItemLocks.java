@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking.lock;
+
+/**
+ * Serializes the work on one item across concurrent transactions, e.g. validating and inserting a booking. The lock
+ * is taken inside the current transaction and held until it commits or rolls back; different items do not block
+ * each other. A transaction that cannot get the lock within the configured timeout fails with
+ * {@link org.springframework.dao.CannotAcquireLockException} instead of holding its connection any longer.
+ */
+public interface ItemLocks {
+    String WAIT_METRIC = "shareit.booking.lock.wait";
+
+    void lockForTransaction(long itemId);
+}
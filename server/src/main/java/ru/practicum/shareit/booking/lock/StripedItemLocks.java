@@ -0,0 +1,74 @@
+package ru.practicum.shareit.booking.lock;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Item locks of a single server instance: a fixed table of locks, sized to the configured number of stripes rounded
+ * up to a power of two; the low bits of the item id pick the stripe, so consecutive ids never share one.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.booking.lock.mode", havingValue = "striped", matchIfMissing = true)
+public class StripedItemLocks implements ItemLocks {
+    private final ReentrantLock[] stripes;
+    private final int mask;
+    private final long timeoutNanos;
+    private final Timer waitTimer;
+
+    public StripedItemLocks(MeterRegistry meterRegistry, @Value("${shareit.booking.lock.stripes:1024}") int stripes,
+                            @Value("${shareit.booking.lock.timeout:2s}") Duration timeout) {
+        this.stripes = new ReentrantLock[stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.mask = this.stripes.length - 1;
+        this.timeoutNanos = timeout.toNanos();
+        this.waitTimer = Timer.builder(WAIT_METRIC)
+                .description("Time spent waiting for the lock of an item")
+                .tag("mode", "striped")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void lockForTransaction(long itemId) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive())
+            throw new IllegalStateException("the item lock can only be taken inside a transaction");
+
+        ReentrantLock lock = stripes[(int) (itemId & mask)];
+        long started = System.nanoTime();
+        boolean locked;
+        try {
+            locked = lock.tryLock(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            locked = false;
+        }
+        waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        if (!locked)
+            throw new CannotAcquireLockException(String.format(
+                    "the item with id=%s is being booked by another request, try again", itemId));
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    int getStripeCount() {
+        return stripes.length;
+    }
+}
@@ -42,6 +42,9 @@ public class Booking {
     @Enumerated(EnumType.STRING)
     private Status status;
 
+    @Version
+    private Long version;
+
     @JsonProperty("id")
     public Long getId() {
         return id;
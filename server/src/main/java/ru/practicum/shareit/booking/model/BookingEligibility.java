@@ -0,0 +1,45 @@
+package ru.practicum.shareit.booking.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns creating a booking depends on and responds with, read in one query: the item with its owner and
+ * request, the booker, and whether a waiting or approved booking of the item overlaps the requested dates. Both sides
+ * are outer-joined, so a null id means the item or the booker does not exist.
+ */
+public interface BookingEligibility {
+
+    Long getItemId();
+
+    String getItemName();
+
+    String getItemDescription();
+
+    Boolean getAvailable();
+
+    Long getOwnerId();
+
+    String getOwnerName();
+
+    String getOwnerEmail();
+
+    Long getRequestId();
+
+    String getRequestDescription();
+
+    LocalDateTime getRequestCreated();
+
+    Long getRequesterId();
+
+    String getRequesterName();
+
+    String getRequesterEmail();
+
+    Long getBookerId();
+
+    String getBookerName();
+
+    String getBookerEmail();
+
+    Boolean getBooked();
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.model;
+
+import ru.practicum.shareit.booking.enums.Status;
+
+public interface BookingStatusView {
+
+    Long getId();
+
+    Status getStatus();
+
+    Long getItemId();
+
+    Long getBookerId();
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.model;
+
+/**
+ * Booking counts of a user per state, read in one aggregate query. The user is the anchor of an outer join, so a
+ * null user id means there is no such user or, for owners, no item of theirs.
+ */
+public interface BookingSummaryView {
+
+    Long getUserId();
+
+    Long getAllCount();
+
+    Long getCurrentCount();
+
+    Long getPastCount();
+
+    Long getFutureCount();
+
+    Long getWaitingCount();
+
+    Long getRejectedCount();
+}
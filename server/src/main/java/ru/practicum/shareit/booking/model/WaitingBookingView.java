@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.model;
+
+import java.time.LocalDateTime;
+
+public interface WaitingBookingView {
+
+    Long getId();
+
+    LocalDateTime getStart();
+
+    Long getItemId();
+
+    Long getBookerId();
+
+    Long getOwnerId();
+}
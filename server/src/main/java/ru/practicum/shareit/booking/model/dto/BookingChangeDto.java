@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingChangeDto {
+    private Long bookingId;
+    private Long itemId;
+    private Long bookerId;
+    private Long ownerId;
+    private String status;
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import ru.practicum.shareit.booking.enums.StatusUpdateOutcome;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingStatusResultDto {
+    private Long bookingId;
+    private StatusUpdateOutcome outcome;
+    private String status;
+}
@@ -1,12 +1,19 @@
 package ru.practicum.shareit.booking.model.mapper;
 
 import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.enums.StatusUpdateOutcome;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingEligibility;
+import ru.practicum.shareit.booking.model.BookingSummaryView;
+import ru.practicum.shareit.booking.model.dto.BookingChangeDto;
 import ru.practicum.shareit.booking.model.dto.BookingInDto;
 import ru.practicum.shareit.booking.model.dto.BookingOutDto;
 import ru.practicum.shareit.booking.model.dto.BookingShortDto;
+import ru.practicum.shareit.booking.model.dto.BookingStatusResultDto;
+import ru.practicum.shareit.booking.model.dto.BookingSummaryDto;
 
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.Request;
 import ru.practicum.shareit.user.model.User;
 
 public class BookingMapper {
@@ -22,6 +29,75 @@ public class BookingMapper {
                 .build();
     }
 
+    /**
+     * Builds the response of a created booking from the columns read to validate it, so the booking is not re-read.
+     */
+    public static BookingOutDto toBookingDto(Booking booking, BookingEligibility eligibility) {
+        return BookingOutDto.builder()
+                .id(booking.getId())
+                .booker(User.builder()
+                        .id(eligibility.getBookerId())
+                        .name(eligibility.getBookerName())
+                        .email(eligibility.getBookerEmail())
+                        .build())
+                .item(Item.builder()
+                        .id(eligibility.getItemId())
+                        .name(eligibility.getItemName())
+                        .description(eligibility.getItemDescription())
+                        .available(eligibility.getAvailable())
+                        .owner(User.builder()
+                                .id(eligibility.getOwnerId())
+                                .name(eligibility.getOwnerName())
+                                .email(eligibility.getOwnerEmail())
+                                .build())
+                        .request(eligibility.getRequestId() == null ? null : Request.builder()
+                                .id(eligibility.getRequestId())
+                                .description(eligibility.getRequestDescription())
+                                .creationTime(eligibility.getRequestCreated())
+                                .user(User.builder()
+                                        .id(eligibility.getRequesterId())
+                                        .name(eligibility.getRequesterName())
+                                        .email(eligibility.getRequesterEmail())
+                                        .build())
+                                .build())
+                        .build())
+                .start(booking.getStart())
+                .end(booking.getEnd())
+                .status(booking.getStatus().getStatus())
+                .build();
+    }
+
+    public static BookingStatusResultDto toBookingStatusResultDto(Long bookingId, StatusUpdateOutcome outcome,
+                                                                  Status status) {
+        return BookingStatusResultDto.builder()
+                .bookingId(bookingId)
+                .outcome(outcome)
+                .status(status == null ? null : status.getStatus())
+                .build();
+    }
+
+    public static BookingChangeDto toBookingChangeDto(Long bookingId, Long itemId, Long bookerId, Long ownerId,
+                                                      Status status) {
+        return BookingChangeDto.builder()
+                .bookingId(bookingId)
+                .itemId(itemId)
+                .bookerId(bookerId)
+                .ownerId(ownerId)
+                .status(status.getStatus())
+                .build();
+    }
+
+    public static BookingSummaryDto toBookingSummaryDto(BookingSummaryView summary, long archived) {
+        return BookingSummaryDto.builder()
+                .all(summary.getAllCount() + archived)
+                .current(summary.getCurrentCount())
+                .past(summary.getPastCount() + archived)
+                .future(summary.getFutureCount())
+                .waiting(summary.getWaitingCount())
+                .rejected(summary.getRejectedCount())
+                .build();
+    }
+
     public static BookingShortDto toBookingShortDto(Booking booking) {
         return BookingShortDto.builder()
                 .id(booking.getId())
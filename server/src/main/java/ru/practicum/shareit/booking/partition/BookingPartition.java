@@ -0,0 +1,70 @@
+package ru.practicum.shareit.booking.partition;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * One monthly range partition of the booking table: [first day of the month, first day of the next month).
+ */
+@Getter
+@EqualsAndHashCode
+public class BookingPartition implements Comparable<BookingPartition> {
+    private static final String NAME_PREFIX = "booking_p";
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final YearMonth month;
+
+    private BookingPartition(YearMonth month) {
+        this.month = month;
+    }
+
+    public static BookingPartition of(YearMonth month) {
+        return new BookingPartition(month);
+    }
+
+    public static BookingPartition containing(LocalDateTime dateTime) {
+        return new BookingPartition(YearMonth.from(dateTime));
+    }
+
+    public static BookingPartition fromName(String name) {
+        if (!name.startsWith(NAME_PREFIX))
+            throw new IllegalArgumentException(String.format("%s is not a booking partition", name));
+
+        return new BookingPartition(YearMonth.parse(name.substring(NAME_PREFIX.length()), NAME_FORMAT));
+    }
+
+    public static boolean isPartitionName(String name) {
+        return name.matches(NAME_PREFIX + "\\d{4}_\\d{2}");
+    }
+
+    public String getName() {
+        return NAME_PREFIX + month.format(NAME_FORMAT);
+    }
+
+    public LocalDate getFrom() {
+        return month.atDay(1);
+    }
+
+    public LocalDate getTo() {
+        return month.plusMonths(1).atDay(1);
+    }
+
+    public BookingPartition next() {
+        return new BookingPartition(month.plusMonths(1));
+    }
+
+    @Override
+    public int compareTo(BookingPartition other) {
+        return month.compareTo(other.month);
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+}
@@ -0,0 +1,149 @@
+package ru.practicum.shareit.booking.partition;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps monthly range partitions of the booking table (PostgreSQL only): creates partitions ahead of time on startup
+ * and on schedule, never on the request path, and detaches partitions that are older than the retention period with
+ * DETACH ... CONCURRENTLY, so the recent partitions stay unlocked. A partition is created
+ * as a standalone table and then attached, which locks the booking table in SHARE UPDATE EXCLUSIVE mode only, so
+ * reads and writes of the other partitions go on meanwhile. Bookings of a month without a partition wait in the
+ * default partition and are moved into the month's partition before it is attached. A detached partition is
+ * renamed, so a booking dated in its month later gets a fresh partition instead of colliding with the old table.
+ */
+@Slf4j
+@Component
+public class BookingPartitionManager {
+    static final String DEFAULT_PARTITION = "booking_default";
+    private static final String PARTITIONS_QUERY = "select c.relname from pg_inherits i " +
+            "join pg_class c on c.oid = i.inhrelid join pg_class p on p.oid = i.inhparent where p.relname = 'booking'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransaction;
+    private final Set<BookingPartition> knownPartitions = ConcurrentHashMap.newKeySet();
+    private final boolean enabled;
+    private final int monthsBack;
+    private final int monthsAhead;
+    private final int detachAfterMonths;
+    private final Clock clock;
+
+    @Autowired
+    public BookingPartitionManager(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                   @Value("${shareit.booking.partitioning.enabled:false}") boolean enabled,
+                                   @Value("${shareit.booking.partitioning.months-back:12}") int monthsBack,
+                                   @Value("${shareit.booking.partitioning.months-ahead:12}") int monthsAhead,
+                                   @Value("${shareit.booking.partitioning.detach-after-months:0}") int detachAfterMonths) {
+        this(jdbcTemplate, transactionManager, enabled, monthsBack, monthsAhead, detachAfterMonths,
+                Clock.systemDefaultZone());
+    }
+
+    BookingPartitionManager(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, boolean enabled,
+                            int monthsBack, int monthsAhead, int detachAfterMonths, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.monthsBack = monthsBack;
+        this.monthsAhead = monthsAhead;
+        this.detachAfterMonths = detachAfterMonths;
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${shareit.booking.partitioning.cron:0 0 3 * * *}")
+    public void maintain() {
+        if (!enabled) return;
+
+        refreshKnownPartitions();
+
+        YearMonth now = YearMonth.now(clock);
+        YearMonth from = now.minusMonths(monthsBack);
+        if (detachAfterMonths > 0) {
+            YearMonth oldestKept = now.minusMonths(detachAfterMonths);
+            if (from.isBefore(oldestKept)) from = oldestKept;
+        }
+        ensurePartitions(from, now.plusMonths(monthsAhead));
+
+        if (detachAfterMonths > 0) detachOlderThan(now.minusMonths(detachAfterMonths));
+    }
+
+    public void ensurePartitions(YearMonth from, YearMonth to) {
+        if (!enabled) return;
+
+        for (BookingPartition partition = BookingPartition.of(from); !partition.getMonth().isAfter(to);
+             partition = partition.next()) {
+            if (!knownPartitions.contains(partition)) create(partition);
+        }
+    }
+
+    List<BookingPartition> detachOlderThan(YearMonth oldestKept) {
+        List<BookingPartition> expired = knownPartitions.stream()
+                .filter(partition -> partition.getMonth().isBefore(oldestKept))
+                .sorted()
+                .collect(Collectors.toList());
+
+        for (BookingPartition partition : expired) {
+            // CONCURRENTLY cannot run inside a transaction block, so this goes through an autocommit connection
+            jdbcTemplate.execute(String.format("ALTER TABLE booking DETACH PARTITION %s CONCURRENTLY",
+                    partition.getName()));
+            String detachedName = String.format("%s_detached_%d", partition.getName(),
+                    clock.instant().getEpochSecond());
+            jdbcTemplate.execute(String.format("ALTER TABLE %s RENAME TO %s", partition.getName(), detachedName));
+            knownPartitions.remove(partition);
+            log.info("Booking partition {} has been detached as {}", partition, detachedName);
+        }
+
+        return expired;
+    }
+
+    /**
+     * Attaching a partition waits for every transaction that has read the booking table, so a caller's own open
+     * transaction would block it for good, and the bookings queued behind it with it.
+     */
+    private synchronized void create(BookingPartition partition) {
+        if (knownPartitions.contains(partition)) return;
+        if (TransactionSynchronizationManager.isActualTransactionActive())
+            throw new IllegalStateException("booking partitions can't be created inside a transaction");
+
+        newTransaction.executeWithoutResult(status -> {
+            jdbcTemplate.execute(String.format("CREATE TABLE %s (LIKE booking INCLUDING DEFAULTS)",
+                    partition.getName()));
+            jdbcTemplate.execute(String.format("WITH moved AS (DELETE FROM %s WHERE start_date >= '%s' AND " +
+                            "start_date < '%s' RETURNING *) INSERT INTO %s SELECT * FROM moved", DEFAULT_PARTITION,
+                    partition.getFrom(), partition.getTo(), partition.getName()));
+            jdbcTemplate.execute(String.format("ALTER TABLE booking ATTACH PARTITION %s " +
+                    "FOR VALUES FROM ('%s') TO ('%s')", partition.getName(), partition.getFrom(), partition.getTo()));
+        });
+        knownPartitions.add(partition);
+        log.info("Booking partition {} is ready", partition);
+    }
+
+    private void refreshKnownPartitions() {
+        List<BookingPartition> existing = jdbcTemplate.queryForList(PARTITIONS_QUERY, String.class).stream()
+                .filter(BookingPartition::isPartitionName)
+                .map(BookingPartition::fromName)
+                .collect(Collectors.toList());
+
+        knownPartitions.retainAll(existing);
+        knownPartitions.addAll(existing);
+    }
+}
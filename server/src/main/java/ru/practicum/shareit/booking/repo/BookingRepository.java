@@ -3,57 +3,162 @@ package ru.practicum.shareit.booking.repo;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.data.repository.query.Param;
 
 import ru.practicum.shareit.booking.enums.Status;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingEligibility;
+import ru.practicum.shareit.booking.model.BookingStatusView;
+import ru.practicum.shareit.booking.model.BookingSummaryView;
+import ru.practicum.shareit.booking.model.WaitingBookingView;
 
 import java.time.LocalDateTime;
-
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @EnableJpaRepositories
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-
+    String SUMMARY_COUNTS = "count(b.booking_id) AS allCount, " +
+            "count(b.booking_id) FILTER (WHERE b.start_date <= :dateTime AND b.end_date >= :dateTime) " +
+            "AS currentCount, " +
+            "count(b.booking_id) FILTER (WHERE b.start_date < :dateTime AND b.end_date < :dateTime) AS pastCount, " +
+            "count(b.booking_id) FILTER (WHERE b.start_date > :dateTime) AS futureCount, " +
+            "count(b.booking_id) FILTER (WHERE b.status = 'WAITING') AS waitingCount, " +
+            "count(b.booking_id) FILTER (WHERE b.status = 'REJECTED') AS rejectedCount ";
+
+    @Override
+    @EntityGraph(attributePaths = {"booker", "item", "item.owner", "item.request", "item.request.user"})
+    List<Booking> findAllById(Iterable<Long> ids);
+
+    @EntityGraph(attributePaths = {"booker", "item", "item.owner", "item.request", "item.request.user"})
     @Query(value = "select b from Booking b where b.booker.id = :bookerId and :dateTime between b.start and b.end")
     Slice<Booking> getAllCurrentByBookerId(@Param("bookerId") long bookerId, @Param("dateTime") LocalDateTime dateTime,
                                            Pageable pageable);
 
+    @EntityGraph(attributePaths = {"booker", "item", "item.owner", "item.request", "item.request.user"})
     @Query(value = "select b from Booking b left join Item i on b.item.id = i.id where i.owner.id = :ownerId")
     Slice<Booking> getAllByOwnerId(@Param("ownerId") long ownerId, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"booker", "item", "item.owner", "item.request", "item.request.user"})
     @Query(value = "select b from Booking b left join Item i on b.item.id = i.id where i.owner.id = :ownerId " +
             "and (:dateTime between b.start and b.end)")
     Slice<Booking> getAllCurrentByOwnerId(@Param("ownerId") long ownerId, @Param("dateTime") LocalDateTime dateTime,
                                           Pageable pageable);
 
+    @EntityGraph(attributePaths = {"booker", "item", "item.owner", "item.request", "item.request.user"})
     @Query(value = "select b from Booking b left join Item i on b.item.id = i.id where i.owner.id = :ownerId " +
-            "and b.end < :dateTime")
+            "and b.start < :dateTime and b.end < :dateTime")
     Slice<Booking> getAllPastByOwnerId(@Param("ownerId") long ownerId, @Param("dateTime") LocalDateTime dateTime,
                                        Pageable pageable);
 
+    @EntityGraph(attributePaths = {"booker", "item", "item.owner", "item.request", "item.request.user"})
     @Query(value = "select b from Booking b left join Item i on b.item.id = i.id where i.owner.id = :ownerId " +
             "and b.start > :dateTime")
     Slice<Booking> getAllFutureByOwnerId(@Param("ownerId") long ownerId, @Param("dateTime") LocalDateTime dateTime,
                                          Pageable pageable);
 
+    @EntityGraph(attributePaths = {"booker", "item", "item.owner", "item.request", "item.request.user"})
     @Query(value = "select b from Booking b left join Item i on b.item.id = i.id where i.owner.id = :ownerId " +
             "and b.status = :status")
     Slice<Booking> getAllByOwnerIdAndStatus(@Param("ownerId") long ownerId, @Param("status") Status status,
                                             Pageable pageable);
 
+    @EntityGraph(attributePaths = {"booker", "item", "item.owner", "item.request", "item.request.user"})
     Slice<Booking> getAllByBookerId(long bookerId, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"booker", "item", "item.owner", "item.request", "item.request.user"})
     Slice<Booking> getAllByBookerIdAndStartAfter(long bookerId, LocalDateTime localDateTime, Pageable pageable);
 
-    Slice<Booking> getAllByBookerIdAndEndBefore(long bookerId, LocalDateTime localDateTime, Pageable pageable);
-
+    @EntityGraph(attributePaths = {"booker", "item", "item.owner", "item.request", "item.request.user"})
+    @Query(value = "select b from Booking b where b.booker.id = :bookerId " +
+            "and b.start < :dateTime and b.end < :dateTime")
+    Slice<Booking> getAllByBookerIdAndEndBefore(@Param("bookerId") long bookerId,
+                                                @Param("dateTime") LocalDateTime dateTime, Pageable pageable);
+
+    @Query(value = "select count(b) from Booking b where b.booker.id = :bookerId " +
+            "and b.start < :dateTime and b.end < :dateTime")
+    long countPastByBookerId(@Param("bookerId") long bookerId, @Param("dateTime") LocalDateTime dateTime);
+
+    @Query(value = "select count(b) from Booking b where b.item.owner.id = :ownerId " +
+            "and b.start < :dateTime and b.end < :dateTime")
+    long countPastByOwnerId(@Param("ownerId") long ownerId, @Param("dateTime") LocalDateTime dateTime);
+
+    @Query(value = "SELECT max(u.user_id) AS userId, " + SUMMARY_COUNTS +
+            "FROM users u LEFT JOIN booking b ON b.booker_id = u.user_id WHERE u.user_id = :bookerId",
+            nativeQuery = true)
+    BookingSummaryView summarizeByBookerId(@Param("bookerId") long bookerId, @Param("dateTime") LocalDateTime dateTime);
+
+    @Query(value = "SELECT max(i.owner_id) AS userId, " + SUMMARY_COUNTS +
+            "FROM item i LEFT JOIN booking b ON b.item_id = i.item_id WHERE i.owner_id = :ownerId",
+            nativeQuery = true)
+    BookingSummaryView summarizeByOwnerId(@Param("ownerId") long ownerId, @Param("dateTime") LocalDateTime dateTime);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "update Booking b set b.status = :status, b.version = b.version + 1 where b.id = :bookingId " +
+            "and b.status = ru.practicum.shareit.booking.enums.Status.WAITING " +
+            "and b.item in (select i from Item i where i.owner.id = :ownerId)")
+    int updateWaitingStatus(@Param("bookingId") long bookingId, @Param("ownerId") long ownerId,
+                            @Param("status") Status status);
+
+    // the owner is checked in a subquery, so FOR UPDATE locks the booking rows only and not the items they join
+    @Query(value = "SELECT b.booking_id AS id, b.status AS status, b.item_id AS itemId, b.booker_id AS bookerId " +
+            "FROM booking b WHERE b.booking_id IN (:bookingIds) " +
+            "AND b.item_id IN (SELECT i.item_id FROM item i WHERE i.owner_id = :ownerId) FOR UPDATE",
+            nativeQuery = true)
+    List<BookingStatusView> lockStatusesOfOwner(@Param("bookingIds") Collection<Long> bookingIds,
+                                                @Param("ownerId") long ownerId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "update Booking b set b.status = :status, b.version = b.version + 1 where b.id in :bookingIds " +
+            "and b.status = ru.practicum.shareit.booking.enums.Status.WAITING " +
+            "and b.item in (select i from Item i where i.owner.id = :ownerId)")
+    int updateWaitingStatuses(@Param("bookingIds") Collection<Long> bookingIds, @Param("ownerId") long ownerId,
+                              @Param("status") Status status);
+
+    @Query(value = "select b.id as id, b.start as start, b.item.id as itemId, b.booker.id as bookerId, " +
+            "b.item.owner.id as ownerId from Booking b " +
+            "where b.status = ru.practicum.shareit.booking.enums.Status.WAITING")
+    List<WaitingBookingView> findAllWaiting();
+
+    // the owner comes from a subquery in the select list, so FOR UPDATE locks the booking rows only
+    @Query(value = "SELECT b.booking_id AS id, b.start_date AS start, b.item_id AS itemId, b.booker_id AS bookerId, " +
+            "(SELECT i.owner_id FROM item i WHERE i.item_id = b.item_id) AS ownerId " +
+            "FROM booking b WHERE b.booking_id IN (:bookingIds) AND b.status = 'WAITING' " +
+            "AND b.start_date <= :dateTime FOR UPDATE",
+            nativeQuery = true)
+    List<WaitingBookingView> lockWaitingStartedBefore(@Param("bookingIds") Collection<Long> bookingIds,
+                                                      @Param("dateTime") LocalDateTime dateTime);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "update Booking b set b.status = ru.practicum.shareit.booking.enums.Status.REJECTED, " +
+            "b.version = b.version + 1 where b.id in :bookingIds " +
+            "and b.status = ru.practicum.shareit.booking.enums.Status.WAITING")
+    int rejectWaiting(@Param("bookingIds") Collection<Long> bookingIds);
+
+    @EntityGraph(attributePaths = {"booker", "item", "item.owner", "item.request", "item.request.user"})
     Slice<Booking> getAllByBookerIdAndStatus(long bookerId, Status status, Pageable pageable);
 
-    Optional<Booking> getTopByItem_IdAndBooker_IdOrderByEndAsc(long itemId, long bookerId);
+    @Query(value = "SELECT i.item_id AS itemId, i.item_name AS itemName, i.item_description AS itemDescription, " +
+            "i.is_available AS available, ow.user_id AS ownerId, ow.user_name AS ownerName, ow.email AS ownerEmail, " +
+            "r.request_id AS requestId, r.request_description AS requestDescription, " +
+            "r.creation_time AS requestCreated, ru.user_id AS requesterId, ru.user_name AS requesterName, " +
+            "ru.email AS requesterEmail, u.user_id AS bookerId, u.user_name AS bookerName, u.email AS bookerEmail, " +
+            "EXISTS (SELECT 1 FROM booking b WHERE b.item_id = :itemId AND b.status IN ('WAITING', 'APPROVED') " +
+            "AND b.start_date < :end AND b.end_date > :start) AS booked " +
+            "FROM (SELECT 1 AS one) o " +
+            "LEFT JOIN item i ON i.item_id = :itemId " +
+            "LEFT JOIN users ow ON ow.user_id = i.owner_id " +
+            "LEFT JOIN item_request r ON r.request_id = i.request_id " +
+            "LEFT JOIN users ru ON ru.user_id = r.user_id " +
+            "LEFT JOIN users u ON u.user_id = :userId", nativeQuery = true)
+    BookingEligibility findEligibility(@Param("userId") long userId, @Param("itemId") long itemId,
+                                       @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
     Optional<Booking> getTopByItem_IdAndEndBeforeOrderByStartDesc(long itemId, LocalDateTime localDateTime);
 
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.booking.service;
+
+import java.util.List;
+
+public interface BookingExpiryService {
+
+    int rejectStarted(List<Long> bookingIds);
+}
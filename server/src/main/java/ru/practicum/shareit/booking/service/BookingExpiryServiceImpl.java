@@ -0,0 +1,83 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.model.WaitingBookingView;
+import ru.practicum.shareit.booking.model.mapper.BookingMapper;
+import ru.practicum.shareit.booking.repo.BookingRepository;
+import ru.practicum.shareit.booking.stream.BookingStream;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Rejects the bookings among the given ones that are still waiting although they have started. The candidates come
+ * from {@link ru.practicum.shareit.booking.expiry.BookingExpiryScheduler}; the conditional update skips the ones the
+ * owner has decided on in the meantime.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class BookingExpiryServiceImpl implements BookingExpiryService {
+    private final BookingRepository bookingRepository;
+    private final BookingStream bookingStream;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Clock clock;
+
+    @Autowired
+    public BookingExpiryServiceImpl(BookingRepository bookingRepository, BookingStream bookingStream,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${shareit.booking.expiry.batch-size:500}") int batchSize) {
+        this(bookingRepository, bookingStream, transactionManager, batchSize, Clock.systemDefaultZone());
+    }
+
+    BookingExpiryServiceImpl(BookingRepository bookingRepository, BookingStream bookingStream,
+                             PlatformTransactionManager transactionManager, int batchSize, Clock clock) {
+        this.bookingRepository = bookingRepository;
+        this.bookingStream = bookingStream;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.clock = clock;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int rejectStarted(List<Long> bookingIds) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        int rejected = 0;
+        for (int from = 0; from < bookingIds.size(); from += batchSize) {
+            List<Long> batch = bookingIds.subList(from, Math.min(from + batchSize, bookingIds.size()));
+            Integer updated = transactionTemplate.execute(status -> rejectBatch(batch, now));
+            rejected += updated == null ? 0 : updated;
+        }
+
+        if (rejected > 0) log.info("{} bookings not approved before their start have been rejected", rejected);
+
+        return rejected;
+    }
+
+    private int rejectBatch(List<Long> bookingIds, LocalDateTime now) {
+        List<WaitingBookingView> started = bookingRepository.lockWaitingStartedBefore(bookingIds, now);
+        if (started.isEmpty()) return 0;
+
+        int rejected = bookingRepository.rejectWaiting(started.stream()
+                .map(WaitingBookingView::getId)
+                .collect(Collectors.toList()));
+        started.forEach(booking -> bookingStream.publishAfterCommit(BookingMapper.toBookingChangeDto(booking.getId(),
+                booking.getItemId(), booking.getBookerId(), booking.getOwnerId(), Status.REJECTED)));
+
+        return rejected;
+    }
+}
@@ -3,6 +3,9 @@ package ru.practicum.shareit.booking.service;
 import ru.practicum.shareit.booking.enums.BookingState;
 import ru.practicum.shareit.booking.model.dto.BookingInDto;
 import ru.practicum.shareit.booking.model.dto.BookingOutDto;
+import ru.practicum.shareit.booking.model.dto.BookingStatusResultDto;
+import ru.practicum.shareit.booking.model.dto.BookingStatusUpdateDto;
+import ru.practicum.shareit.booking.model.dto.BookingSummaryDto;
 
 import java.util.List;
 
@@ -12,9 +15,17 @@ public interface BookingService {
 
     BookingOutDto updateStatus(long userId, long bookingId, boolean isApproved);
 
+    List<BookingStatusResultDto> updateStatuses(long userId, List<BookingStatusUpdateDto> updates);
+
     BookingOutDto getById(long userId, long bookingId);
 
+    List<BookingOutDto> getByIds(long userId, List<Long> bookingIds);
+
     List<BookingOutDto> getUserBookings(long userId, BookingState state, int from, int size);
 
     List<BookingOutDto> getBookingsByOwnerId(long ownerId, BookingState state, int from, int size);
+
+    BookingSummaryDto getUserSummary(long userId);
+
+    BookingSummaryDto getOwnerSummary(long ownerId);
 }
@@ -4,84 +4,234 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.archive.service.ArchiveService;
 import ru.practicum.shareit.booking.enums.BookingState;
 import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.enums.StatusUpdateOutcome;
+import ru.practicum.shareit.booking.expiry.BookingExpiryScheduler;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingEligibility;
+import ru.practicum.shareit.booking.model.BookingStatusView;
+import ru.practicum.shareit.booking.model.BookingSummaryView;
 import ru.practicum.shareit.booking.model.dto.BookingInDto;
+import ru.practicum.shareit.booking.lock.ItemLocks;
 import ru.practicum.shareit.booking.model.dto.BookingOutDto;
+import ru.practicum.shareit.booking.model.dto.BookingStatusResultDto;
+import ru.practicum.shareit.booking.model.dto.BookingStatusUpdateDto;
+import ru.practicum.shareit.booking.model.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.model.mapper.BookingMapper;
 import ru.practicum.shareit.booking.repo.BookingRepository;
+import ru.practicum.shareit.booking.stream.BookingStream;
 import ru.practicum.shareit.errorHandler.exceptions.BookingNotFoundException;
 import ru.practicum.shareit.errorHandler.exceptions.InvalidRequestException;
 import ru.practicum.shareit.errorHandler.exceptions.ItemNotFoundException;
 import ru.practicum.shareit.errorHandler.exceptions.UserNotFoundException;
-import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repo.ItemRepository;
-import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.jfr.BookingEvent;
 import ru.practicum.shareit.user.repo.UserRepository;
+import ru.practicum.shareit.utils.ByIds;
 import ru.practicum.shareit.utils.Pagination;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 
 @Service
+@Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final ArchiveService archiveService;
+    private final ItemLocks itemLocks;
+    private final BookingStream bookingStream;
+    private final BookingExpiryScheduler bookingExpiryScheduler;
 
     public BookingServiceImpl(BookingRepository bookingRepository, UserRepository userRepository,
-                              ItemRepository itemRepository) {
+                              ItemRepository itemRepository, ArchiveService archiveService, ItemLocks itemLocks,
+                              BookingStream bookingStream, BookingExpiryScheduler bookingExpiryScheduler) {
         this.bookingRepository = bookingRepository;
         this.userRepository = userRepository;
         this.itemRepository = itemRepository;
+        this.archiveService = archiveService;
+        this.itemLocks = itemLocks;
+        this.bookingStream = bookingStream;
+        this.bookingExpiryScheduler = bookingExpiryScheduler;
     }
 
     @Override
+    @Transactional
     public BookingOutDto addNewBooking(long userId, BookingInDto bookingInDto) {
-        Item item = itemRepository.findById(bookingInDto.getItemId())
-                .orElseThrow(() -> new ItemNotFoundException(String.format("Item with id=%s not found",
-                        bookingInDto.getItemId())));
-        if (!item.getAvailable())
+        return BookingEvent.record("addNewBooking", userId, event -> addNewBooking(event, userId, bookingInDto));
+    }
+
+    private BookingOutDto addNewBooking(BookingEvent event, long userId, BookingInDto bookingInDto) {
+        itemLocks.lockForTransaction(bookingInDto.getItemId());
+        BookingEligibility eligibility = bookingRepository.findEligibility(userId, bookingInDto.getItemId(),
+                bookingInDto.getStart(), bookingInDto.getEnd());
+        if (eligibility.getItemId() == null)
+            throw new ItemNotFoundException(String.format("Item with id=%s not found", bookingInDto.getItemId()));
+        event.setItemId(eligibility.getItemId());
+        if (!eligibility.getAvailable())
             throw new InvalidRequestException("the booking isn't possible because the item isn't available");
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException(String.format("User with id=%s not found", userId)));
-        if (userId == item.getOwner().getId())
+        if (eligibility.getBookerId() == null)
+            throw new UserNotFoundException(String.format("User with id=%s not found", userId));
+        if (Objects.equals(userId, eligibility.getOwnerId()))
             throw new ItemNotFoundException("the user trying to book his own item");
+        // the item lock keeps a concurrent booking of the same item from slipping in between this check and the insert
+        if (eligibility.getBooked())
+            throw new InvalidRequestException("the item is already booked for these dates");
 
         bookingInDto.setStatus(Status.WAITING.getStatus());
 
-        return BookingMapper.toBookingDto(bookingRepository.save(BookingMapper.toBooking(bookingInDto, user, item)));
+        Booking booking = bookingRepository.save(BookingMapper.toBooking(bookingInDto,
+                userRepository.getReferenceById(userId), itemRepository.getReferenceById(eligibility.getItemId())));
+        event.setBookingId(booking.getId());
+        event.setStatus(Status.WAITING.name());
+        event.setRows(1);
+        bookingStream.publishAfterCommit(BookingMapper.toBookingChangeDto(booking.getId(),
+                eligibility.getItemId(), userId, eligibility.getOwnerId(), Status.WAITING));
+        bookingExpiryScheduler.trackAfterCommit(booking.getId(), booking.getStart());
+
+        return BookingMapper.toBookingDto(booking, eligibility);
     }
 
     @Override
+    @Transactional
     public BookingOutDto updateStatus(long userId, long bookingId, boolean isApproved) {
+        return BookingEvent.record("updateStatus", userId, event -> updateStatus(event, userId, bookingId, isApproved));
+    }
+
+    private BookingOutDto updateStatus(BookingEvent event, long userId, long bookingId, boolean isApproved) {
+        event.setBookingId(bookingId);
+        Status status = isApproved ? Status.APPROVED : Status.REJECTED;
+        event.setStatus(status.name());
+
         Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new BookingNotFoundException(String.format("Booking with id=%s not found", bookingId)));
+                .orElseThrow(() -> new BookingNotFoundException(String.format("Booking with id=%s not found",
+                        bookingId)));
+        event.setItemId(booking.getItem().getId());
 
         if (userId != booking.getItem().getOwner().getId())
-            throw new BookingNotFoundException(String.format("booking with id=%s for the user with id=%s was not found",
-                    bookingId, userId));
-        if (booking.getStatus() == Status.APPROVED || booking.getStatus() == Status.REJECTED)
+            throw new BookingNotFoundException(String.format(
+                    "booking with id=%s for the user with id=%s was not found", bookingId, userId));
+        // the conditional update still decides, a concurrent transition between the read and the update loses
+        int updated = booking.getStatus() != Status.WAITING ? 0
+                : bookingRepository.updateWaitingStatus(bookingId, userId, status);
+        event.setRows(updated);
+        if (updated == 0)
             throw new InvalidRequestException("the status cannot be changed");
+        // the update cleared the persistence context, so the booking read above is detached
+        booking.setStatus(status);
+        booking.setVersion(booking.getVersion() + 1);
+        bookingStream.publishAfterCommit(BookingMapper.toBookingChangeDto(bookingId, booking.getItem().getId(),
+                booking.getBooker().getId(), userId, status));
+
+        return BookingMapper.toBookingDto(booking);
+    }
 
-        booking.setStatus(isApproved ? Status.APPROVED : Status.REJECTED);
+    /**
+     * Locks the bookings of the owner among the requested ones, decides every transition from their current status
+     * and applies them with one conditional update per target status.
+     */
+    @Override
+    @Transactional
+    public List<BookingStatusResultDto> updateStatuses(long userId, List<BookingStatusUpdateDto> updates) {
+        return BookingEvent.record("updateStatuses", userId, event -> updateStatuses(event, userId, updates));
+    }
+
+    private List<BookingStatusResultDto> updateStatuses(BookingEvent event, long userId, List<BookingStatusUpdateDto> updates) {
+        ByIds.checkCount(updates);
+        for (BookingStatusUpdateDto update : updates) {
+            if (update.getBookingId() == null || update.getApproved() == null)
+                throw new InvalidRequestException("every status update needs a bookingId and an approved flag");
+        }
+        Set<Long> bookingIds = updates.stream()
+                .map(BookingStatusUpdateDto::getBookingId)
+                .collect(Collectors.toSet());
+        Map<Long, BookingStatusView> locked = bookingIds.isEmpty() ? Map.of() : bookingRepository
+                .lockStatusesOfOwner(bookingIds, userId).stream()
+                .collect(Collectors.toMap(BookingStatusView::getId, Function.identity()));
+        Map<Long, Status> statuses = locked.values().stream()
+                .collect(Collectors.toMap(BookingStatusView::getId, BookingStatusView::getStatus));
 
-        return BookingMapper.toBookingDto(bookingRepository.save(booking));
+        Map<Status, List<Long>> transitions = new EnumMap<>(Status.class);
+        List<BookingStatusResultDto> results = new ArrayList<>(updates.size());
+        for (BookingStatusUpdateDto update : updates) {
+            Status current = statuses.get(update.getBookingId());
+            if (current == null) {
+                results.add(BookingMapper.toBookingStatusResultDto(update.getBookingId(),
+                        StatusUpdateOutcome.NOT_FOUND, null));
+            } else if (current != Status.WAITING) {
+                results.add(BookingMapper.toBookingStatusResultDto(update.getBookingId(),
+                        StatusUpdateOutcome.NOT_WAITING, current));
+            } else {
+                Status status = update.getApproved() ? Status.APPROVED : Status.REJECTED;
+                statuses.put(update.getBookingId(), status);
+                transitions.computeIfAbsent(status, ignored -> new ArrayList<>()).add(update.getBookingId());
+                results.add(BookingMapper.toBookingStatusResultDto(update.getBookingId(),
+                        StatusUpdateOutcome.UPDATED, status));
+            }
+        }
+
+        int updated = 0;
+        for (Map.Entry<Status, List<Long>> transition : transitions.entrySet()) {
+            updated += bookingRepository.updateWaitingStatuses(transition.getValue(), userId, transition.getKey());
+            for (Long bookingId : transition.getValue()) {
+                BookingStatusView view = locked.get(bookingId);
+                bookingStream.publishAfterCommit(BookingMapper.toBookingChangeDto(bookingId, view.getItemId(),
+                        view.getBookerId(), userId, transition.getKey()));
+            }
+        }
+        event.setStatus(transitions.keySet().stream().map(Status::name).collect(Collectors.joining(",")));
+        event.setRows(updated);
+
+        return results;
     }
 
     @Override
     public BookingOutDto getById(long userId, long bookingId) {
-        Booking booking = bookingRepository.findById(bookingId)
+        BookingOutDto booking = bookingRepository.findById(bookingId)
+                .map(BookingMapper::toBookingDto)
+                .or(() -> archiveService.getBookingsByIds(List.of(bookingId)).stream().findFirst())
                 .orElseThrow(() -> new BookingNotFoundException(String.format("Booking with id=%s not found", bookingId)));
 
-        if (userId != booking.getItem().getOwner().getId() && userId != booking.getBooker().getId())
+        if (!isOwnerOrBooker(userId, booking))
             throw new BookingNotFoundException(String.format("booking with id=%s for the user with id=%s was not found",
                     bookingId, userId));
 
-        return BookingMapper.toBookingDto(booking);
+        return booking;
+    }
+
+    @Override
+    public List<BookingOutDto> getByIds(long userId, List<Long> bookingIds) {
+        ByIds.checkCount(bookingIds);
+        List<BookingOutDto> found = bookingRepository.findAllById(bookingIds).stream()
+                .map(BookingMapper::toBookingDto)
+                .collect(Collectors.toList());
+        Set<Long> foundIds = found.stream()
+                .map(BookingOutDto::getId)
+                .collect(Collectors.toSet());
+        Set<Long> missing = bookingIds.stream()
+                .filter(bookingId -> !foundIds.contains(bookingId))
+                .collect(Collectors.toSet());
+        if (!missing.isEmpty()) found.addAll(archiveService.getBookingsByIds(missing));
+
+        List<BookingOutDto> visible = found.stream()
+                .filter(booking -> isOwnerOrBooker(userId, booking))
+                .collect(Collectors.toList());
+
+        return ByIds.inRequestedOrder(bookingIds, visible, BookingOutDto::getId);
     }
 
     @Override
@@ -91,9 +241,15 @@ public class BookingServiceImpl implements BookingService {
 
         Pageable sortedByStartDesc = Pagination.of(from, size, Sort.by("start").descending());
 
-        return getFilteredBookingsByStateAndBookerId(userId, sortedByStartDesc, state).get()
+        List<BookingOutDto> bookings = getFilteredBookingsByStateAndBookerId(userId, sortedByStartDesc, state).get()
                 .map(BookingMapper::toBookingDto)
                 .collect(Collectors.toList());
+
+        if (state != BookingState.PAST) return bookings;
+
+        return appendArchived(bookings, from, size,
+                () -> bookingRepository.countPastByBookerId(userId, LocalDateTime.now()),
+                (archiveFrom, archiveSize) -> archiveService.getBookingsByBookerId(userId, archiveFrom, archiveSize));
     }
 
     @Override
@@ -103,9 +259,57 @@ public class BookingServiceImpl implements BookingService {
 
         Pageable sortedByStartDesc = Pagination.of(from, size, Sort.by("start").descending());
 
-        return getFilteredBookingsByStateAndOwnerId(ownerId, sortedByStartDesc, state).get()
+        List<BookingOutDto> bookings = getFilteredBookingsByStateAndOwnerId(ownerId, sortedByStartDesc, state).get()
                 .map(BookingMapper::toBookingDto)
                 .collect(Collectors.toList());
+
+        if (state != BookingState.PAST) return bookings;
+
+        return appendArchived(bookings, from, size,
+                () -> bookingRepository.countPastByOwnerId(ownerId, LocalDateTime.now()),
+                (archiveFrom, archiveSize) -> archiveService.getBookingsByOwnerId(ownerId, archiveFrom, archiveSize));
+    }
+
+    /**
+     * Counts the bookings of every state in one aggregate query. Like the PAST list, the past count includes the
+     * archived bookings.
+     */
+    @Override
+    public BookingSummaryDto getUserSummary(long userId) {
+        BookingSummaryView summary = bookingRepository.summarizeByBookerId(userId, LocalDateTime.now());
+        if (summary.getUserId() == null)
+            throw new UserNotFoundException(String.format("User with id=%s not found", userId));
+
+        return BookingMapper.toBookingSummaryDto(summary, archiveService.countBookingsByBookerId(userId));
+    }
+
+    @Override
+    public BookingSummaryDto getOwnerSummary(long ownerId) {
+        BookingSummaryView summary = bookingRepository.summarizeByOwnerId(ownerId, LocalDateTime.now());
+        if (summary.getUserId() == null)
+            throw new UserNotFoundException(String.format("User with id=%s is not the owner of any thing", ownerId));
+
+        return BookingMapper.toBookingSummaryDto(summary, archiveService.countBookingsByOwnerId(ownerId));
+    }
+
+    private static boolean isOwnerOrBooker(long userId, BookingOutDto booking) {
+        return userId == booking.getItem().getOwner().getId() || userId == booking.getBooker().getId();
+    }
+
+    /**
+     * Pages list every hot past booking before the archived ones, so the archive is only read when the requested
+     * page runs past the end of the hot data. Bookings are archived by end but ordered by start, so a long archived
+     * booking may start after the oldest hot one; such a booking still comes after it rather than in start order.
+     */
+    private List<BookingOutDto> appendArchived(List<BookingOutDto> hot, int from, int size, LongSupplier hotCount,
+                                               BiFunction<Integer, Integer, List<BookingOutDto>> archived) {
+        if (hot.size() >= size || !archiveService.isEnabled()) return hot;
+
+        long hotTotal = hot.isEmpty() && from > 0 ? hotCount.getAsLong() : from + hot.size();
+        List<BookingOutDto> bookings = new ArrayList<>(hot);
+        bookings.addAll(archived.apply((int) Math.max(0, from - hotTotal), size - hot.size()));
+
+        return bookings;
     }
 
     private Slice<Booking> getFilteredBookingsByStateAndBookerId(long bookerId, Pageable pageable, BookingState state) {
@@ -0,0 +1,196 @@
+package ru.practicum.shareit.booking.stream;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import ru.practicum.shareit.booking.model.dto.BookingChangeDto;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-process pub/sub of booking changes for {@code GET /bookings/stream}. A change is delivered after its
+ * transaction commits, to the booker and to the owner of the item. Every subscriber has a bounded buffer drained on
+ * the stream executor, so a slow connection never holds up the request that made the change; a subscriber whose
+ * buffer overflows is disconnected and, like any EventSource client, reconnects and re-reads what it missed. The
+ * heartbeat goes only to subscribers with nothing buffered and retries the drain of the others.
+ */
+@Slf4j
+@Component
+public class BookingStream {
+    public static final String EVENT_NAME = "booking";
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Executor streamExecutor;
+    private final int bufferSize;
+    private final long timeout;
+    private final Counter dropped;
+
+    public BookingStream(@Qualifier("streamExecutor") Executor streamExecutor, MeterRegistry meterRegistry,
+                         @Value("${shareit.booking.stream.buffer-size:32}") int bufferSize,
+                         @Value("${shareit.booking.stream.timeout:30m}") Duration timeout) {
+        this.streamExecutor = streamExecutor;
+        this.bufferSize = bufferSize;
+        this.timeout = timeout.toMillis();
+        this.dropped = Counter.builder("shareit.booking.stream.dropped")
+                .description("Subscribers disconnected because their buffer overflowed")
+                .register(meterRegistry);
+        Gauge.builder("shareit.booking.stream.subscribers", this, BookingStream::subscriberCount)
+                .description("Open booking streams")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(long userId) {
+        SseEmitter emitter = new SseEmitter(timeout);
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscribers.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        log.debug("User with id={} subscribed to the booking stream", userId);
+
+        subscriber.offer(SseEmitter.event().comment("subscribed"));
+        return emitter;
+    }
+
+    public void publishAfterCommit(BookingChangeDto change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(change);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(change);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.stream.heartbeat:PT15S}")
+    public void heartbeat() {
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(Subscriber::heartbeat));
+    }
+
+    int subscriberCount() {
+        return subscribers.values().stream()
+                .mapToInt(Set::size)
+                .sum();
+    }
+
+    private void publish(BookingChangeDto change) {
+        deliver(change.getBookerId(), change);
+        if (!change.getOwnerId().equals(change.getBookerId())) deliver(change.getOwnerId(), change);
+    }
+
+    private void deliver(long userId, BookingChangeDto change) {
+        subscribers.getOrDefault(userId, Set.of())
+                .forEach(subscriber -> subscriber.offer(SseEmitter.event()
+                        .name(EVENT_NAME)
+                        .data(change, MediaType.APPLICATION_JSON)));
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (id, userSubscribers) -> {
+            userSubscribers.remove(subscriber);
+            return userSubscribers.isEmpty() ? null : userSubscribers;
+        });
+    }
+
+    /**
+     * Only the drain task touches the emitter, so a connection blocked on a write holds up its own drain task and
+     * nothing else. A drain the executor rejects is retried on the next event or heartbeat; a closed subscriber is
+     * completed by the caller instead, which owns the emitter while no drain is scheduled.
+     */
+    private class Subscriber {
+        private final long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+        private boolean completed;
+
+        Subscriber(long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (closed) return;
+            if (!buffer.offer(event)) {
+                log.debug("Booking stream of the user with id={} fell behind, disconnecting it", userId);
+                dropped.increment();
+                close();
+            }
+            schedule();
+        }
+
+        void heartbeat() {
+            if (buffer.isEmpty()) {
+                offer(SseEmitter.event().comment("heartbeat"));
+            } else {
+                schedule();
+            }
+        }
+
+        void close() {
+            closed = true;
+            remove(this);
+        }
+
+        private void schedule() {
+            if (!draining.compareAndSet(false, true)) return;
+            try {
+                streamExecutor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                log.debug("The stream executor is full, the events of the user with id={} wait for the next drain",
+                        userId);
+                if (closed && !completed) {
+                    completed = true;
+                    buffer.clear();
+                    emitter.complete();
+                }
+                draining.set(false);
+            }
+        }
+
+        private void drain() {
+            try {
+                for (SseEmitter.SseEventBuilder event = buffer.poll(); !closed && event != null; event = buffer.poll()) {
+                    emitter.send(event);
+                }
+                if (closed && !completed) {
+                    completed = true;
+                    buffer.clear();
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+                completed = true;
+                buffer.clear();
+                emitter.completeWithError(e);
+            } finally {
+                draining.set(false);
+            }
+            if (closed ? !completed : !buffer.isEmpty()) schedule();
+        }
+    }
+}
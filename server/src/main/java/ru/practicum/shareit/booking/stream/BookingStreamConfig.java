@@ -0,0 +1,30 @@
+package ru.practicum.shareit.booking.stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class BookingStreamConfig {
+
+    /**
+     * Writes the buffered events of the {@link BookingStream} subscribers to their connections on a small fixed set
+     * of threads. A subscriber is drained by at most one task at a time, so the queue holds at most one task per
+     * subscriber; a drain rejected because the queue is full leaves its events buffered for the next attempt.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor streamExecutor(@Value("${shareit.booking.stream.pool-size:4}") int poolSize,
+                                                 @Value("${shareit.booking.stream.queue-capacity:1024}")
+                                                 int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("stream-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+}
@@ -0,0 +1,290 @@
+package ru.practicum.shareit.datagen;
+
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.partition.BookingPartitionManager;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Fills the database with a synthetic dataset of the configured size, written straight to the tables with batched
+ * JDBC inserts. Item owners, booked items and bookers follow a Zipf distribution, so a few owners have huge
+ * catalogs and a few items have long booking histories. The same seed always produces the same dataset; the rows are
+ * appended after the largest existing ids.
+ */
+@Slf4j
+@Component
+@Profile("datagen")
+public class DatasetGenerator implements CommandLineRunner {
+    private static final Status[] PAST_STATUSES = {Status.APPROVED, Status.APPROVED, Status.APPROVED,
+            Status.APPROVED, Status.APPROVED, Status.APPROVED, Status.APPROVED, Status.REJECTED, Status.REJECTED,
+            Status.CANCELED};
+    private static final Status[] FUTURE_STATUSES = {Status.WAITING, Status.WAITING, Status.WAITING, Status.APPROVED,
+            Status.APPROVED, Status.REJECTED};
+    private static final String[] WORDS = {"drill", "saw", "ladder", "tent", "bike", "kayak", "camera", "projector",
+            "mixer", "hammer", "grill", "scooter", "tripod", "jack", "sander", "speaker"};
+    private static final long MAX_BOOKING_MINUTES = 7 * 24 * 60;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BookingPartitionManager partitionManager;
+    private final DatasetProperties properties;
+    private final Clock clock;
+
+    @Autowired
+    public DatasetGenerator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            BookingPartitionManager partitionManager, DatasetProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.partitionManager = partitionManager;
+        this.properties = properties;
+        this.clock = Clock.systemDefaultZone();
+    }
+
+    @Override
+    public void run(String... args) {
+        generate();
+    }
+
+    public Summary generate() {
+        long started = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(properties.getSeed());
+        LocalDateTime now = LocalDateTime.now(clock).truncatedTo(ChronoUnit.MINUTES);
+
+        int userBase = maxId("users", "user_id");
+        int requestBase = maxId("item_request", "request_id");
+        int itemBase = maxId("item", "item_id");
+        int bookingBase = maxId("booking", "booking_id");
+        int commentBase = maxId("comments", "comment_id");
+
+        Summary summary = new Summary();
+        summary.users = insertUsers(userBase);
+        summary.requests = insertRequests(random.split(), now, userBase, requestBase);
+
+        int[] owners = new int[properties.getItems()];
+        summary.items = insertItems(random.split(), userBase, requestBase, itemBase, owners);
+
+        int[] commented = new int[1];
+        summary.bookings = insertBookings(random.split(), now, userBase, itemBase, bookingBase, commentBase, owners,
+                commented);
+        summary.comments = commented[0];
+
+        restartIdentity("users", "user_id", userBase + summary.users);
+        restartIdentity("item_request", "request_id", requestBase + summary.requests);
+        restartIdentity("item", "item_id", itemBase + summary.items);
+        restartIdentity("comments", "comment_id", commentBase + summary.comments);
+        restartBookingSequence(bookingBase + summary.bookings);
+
+        double seconds = (System.nanoTime() - started) / 1e9;
+        log.info("Generated {} in {} s, {} rows/s", summary, String.format("%.1f", seconds),
+                Math.round(summary.getTotal() / seconds));
+
+        return summary;
+    }
+
+    private int insertUsers(int userBase) {
+        Batch batch = new Batch("INSERT INTO users (user_id, user_name, email) VALUES (?, ?, ?)",
+                Types.INTEGER, Types.VARCHAR, Types.VARCHAR);
+        for (int i = 1; i <= properties.getUsers(); i++) {
+            int id = userBase + i;
+            batch.add(id, "user " + id, "u" + id + "@datagen.io");
+        }
+        return batch.finish();
+    }
+
+    private int insertRequests(SplittableRandom random, LocalDateTime now, int userBase, int requestBase) {
+        Batch batch = new Batch("INSERT INTO item_request (request_id, user_id, request_description, creation_time) " +
+                "VALUES (?, ?, ?, ?)", Types.INTEGER, Types.INTEGER, Types.VARCHAR, Types.TIMESTAMP);
+        for (int i = 1; i <= properties.getRequests(); i++) {
+            batch.add(requestBase + i, userBase + 1 + random.nextInt(properties.getUsers()),
+                    "looking for a " + word(random) + " for a couple of days",
+                    Timestamp.valueOf(now.minusMinutes(random.nextLong(properties.getHistoryDays() * 24L * 60) + 1)));
+        }
+        return batch.finish();
+    }
+
+    private int insertItems(SplittableRandom random, int userBase, int requestBase, int itemBase, int[] owners) {
+        ZipfDistribution ownerDistribution = new ZipfDistribution(properties.getUsers(), properties.getSkew());
+        int requests = properties.getRequests();
+
+        Batch batch = new Batch("INSERT INTO item (item_id, owner_id, item_name, item_description, is_available, " +
+                "request_id) VALUES (?, ?, ?, ?, ?, ?)", Types.INTEGER, Types.INTEGER, Types.VARCHAR, Types.VARCHAR,
+                Types.BOOLEAN, Types.INTEGER);
+        for (int i = 0; i < owners.length; i++) {
+            owners[i] = userBase + 1 + ownerDistribution.sample(random);
+            String name = word(random);
+            Integer request = requests > 0 && random.nextDouble() < properties.getRequestRatio()
+                    ? requestBase + 1 + random.nextInt(requests) : null;
+            batch.add(itemBase + 1 + i, owners[i], name + " " + (itemBase + 1 + i),
+                    "a " + name + " in good condition", random.nextInt(10) != 0, request);
+        }
+        return batch.finish();
+    }
+
+    /**
+     * Draws how many bookings every item gets, then splits the window from {@code historyDays} ago to
+     * {@code horizonDays} ahead into that many equal slots, one booking inside each, so the bookings of one item never
+     * overlap: a rarely booked item gets a few bookings anywhere in the window, a hot one a dense history. The
+     * partitions of every month the bookings can start in are created up front, and a booker who drew the owner of
+     * the item draws again.
+     */
+    private int insertBookings(SplittableRandom random, LocalDateTime now, int userBase, int itemBase,
+                               int bookingBase, int commentBase, int[] owners, int[] commented) {
+        int users = properties.getUsers();
+        int items = owners.length;
+        if (users < 2 && items > 0 && properties.getBookings() > 0)
+            throw new IllegalArgumentException("bookings need at least two users, the owner and the booker");
+        int[] perItem = new int[items];
+        if (items > 0) {
+            ZipfDistribution itemDistribution = new ZipfDistribution(items, properties.getSkew());
+            for (int i = 0; i < properties.getBookings(); i++) {
+                perItem[itemDistribution.sample(random)]++;
+            }
+        }
+        LocalDateTime windowStart = now.minusDays(properties.getHistoryDays());
+        long windowMinutes = ChronoUnit.MINUTES.between(windowStart, now.plusDays(properties.getHorizonDays()));
+        ZipfDistribution bookerDistribution = new ZipfDistribution(users, properties.getSkew());
+        long lastStartMinute = 0;
+        for (int count : perItem) {
+            lastStartMinute = Math.max(lastStartMinute, count * Math.max(1, windowMinutes / Math.max(1, count)));
+        }
+        partitionManager.ensurePartitions(YearMonth.from(windowStart),
+                YearMonth.from(windowStart.plusMinutes(lastStartMinute)));
+
+        Batch bookingBatch = new Batch("INSERT INTO booking (booking_id, start_date, end_date, item_id, booker_id, " +
+                "status) VALUES (?, ?, ?, ?, ?, ?)", Types.INTEGER, Types.TIMESTAMP, Types.TIMESTAMP, Types.INTEGER,
+                Types.INTEGER, Types.VARCHAR);
+        Batch commentBatch = new Batch("INSERT INTO comments (comment_id, text, item_id, author_id, created) " +
+                "VALUES (?, ?, ?, ?, ?)", Types.INTEGER, Types.VARCHAR, Types.INTEGER, Types.INTEGER, Types.TIMESTAMP);
+        int id = bookingBase;
+        for (int item = 0; item < items; item++) {
+            long slot = perItem[item] == 0 ? 0 : Math.max(1, windowMinutes / perItem[item]);
+            for (int i = 0; i < perItem[item]; i++) {
+                long offset = random.nextLong(slot);
+                LocalDateTime start = windowStart.plusMinutes(i * slot + offset);
+                LocalDateTime end = start.plusMinutes(1 + random.nextLong(Math.min(MAX_BOOKING_MINUTES,
+                        slot - offset)));
+
+                int booker;
+                do {
+                    booker = userBase + 1 + bookerDistribution.sample(random);
+                } while (booker == owners[item]);
+
+                boolean past = end.isBefore(now);
+                Status status = past ? PAST_STATUSES[random.nextInt(PAST_STATUSES.length)]
+                        : FUTURE_STATUSES[random.nextInt(FUTURE_STATUSES.length)];
+
+                bookingBatch.add(++id, Timestamp.valueOf(start), Timestamp.valueOf(end), itemBase + 1 + item, booker,
+                        status.name());
+
+                LocalDateTime created = end.plusHours(1 + random.nextInt(72));
+                if (past && status == Status.APPROVED && created.isBefore(now)
+                        && random.nextDouble() < properties.getCommentRatio()) {
+                    commentBatch.add(commentBase + ++commented[0], "the " + WORDS[item % WORDS.length] +
+                            " did the job", itemBase + 1 + item, booker, Timestamp.valueOf(created));
+                }
+            }
+        }
+        int inserted = bookingBatch.finish();
+        commentBatch.finish();
+        return inserted;
+    }
+
+    private int maxId(String table, String column) {
+        Integer max = jdbcTemplate.queryForObject(String.format("SELECT MAX(%s) FROM %s", column, table),
+                Integer.class);
+        return max == null ? 0 : max;
+    }
+
+    private void restartIdentity(String table, String column, int lastId) {
+        jdbcTemplate.execute(String.format("ALTER TABLE %s ALTER COLUMN %s RESTART WITH %d", table, column,
+                lastId + 1));
+    }
+
+    private void restartBookingSequence(int lastId) {
+        if (isPostgresql()) {
+            if (lastId > 0) jdbcTemplate.queryForObject("SELECT setval('booking_booking_id_seq', ?)", Long.class,
+                    lastId);
+        } else {
+            restartIdentity("booking", "booking_id", lastId);
+        }
+    }
+
+    private boolean isPostgresql() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equals(product);
+    }
+
+    private static String word(SplittableRandom random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    @Getter
+    @ToString
+    public static class Summary {
+        private int users;
+        private int requests;
+        private int items;
+        private int bookings;
+        private int comments;
+
+        public long getTotal() {
+            return (long) users + requests + items + bookings + comments;
+        }
+    }
+
+    /**
+     * Collects the rows of one insert statement and writes every {@code batchSize} of them in a transaction. The
+     * column types are given up front, so the driver is never asked for the parameter metadata of a null.
+     */
+    private class Batch {
+        private final String sql;
+        private final int[] types;
+        private final List<Object[]> rows = new ArrayList<>();
+        private int written;
+
+        Batch(String sql, int... types) {
+            this.sql = sql;
+            this.types = types;
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+            if (rows.size() == properties.getBatchSize()) flush();
+        }
+
+        int finish() {
+            flush();
+            return written;
+        }
+
+        private void flush() {
+            if (rows.isEmpty()) return;
+
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, rows, types));
+            written += rows.size();
+            rows.clear();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.datagen;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Volumes and shape of the generated dataset, {@code shareit.datagen.*}.
+ */
+@Data
+@Component
+@Profile("datagen")
+@ConfigurationProperties("shareit.datagen")
+public class DatasetProperties {
+    private long seed = 42;
+    private int users = 100_000;
+    private int requests = 20_000;
+    private int items = 500_000;
+    private int bookings = 2_000_000;
+    /** Share of the approved past bookings the booker left a comment for. */
+    private double commentRatio = 0.3;
+    /** Share of the items created in response to a request. */
+    private double requestRatio = 0.1;
+    /** Zipf exponent of the item owners, booked items and bookers; the larger, the more skewed. */
+    private double skew = 1.1;
+    private int historyDays = 730;
+    private int horizonDays = 90;
+    private int batchSize = 5000;
+    /** Stops the application once the dataset is written. */
+    private boolean exit = true;
+}
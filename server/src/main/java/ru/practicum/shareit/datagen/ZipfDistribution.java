@@ -0,0 +1,38 @@
+package ru.practicum.shareit.datagen;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Samples indexes {@code 0..n-1} so that the k-th most popular one is drawn with probability proportional to
+ * {@code 1 / k^exponent}. The popular indexes are scattered over the range instead of being the smallest ones.
+ */
+class ZipfDistribution {
+    private static final long STRIDE = 1_000_003;
+
+    private final double[] cumulative;
+    private final long stride;
+
+    ZipfDistribution(int n, double exponent) {
+        if (n <= 0) throw new IllegalArgumentException("the distribution needs at least one element");
+
+        cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= sum;
+        }
+        stride = n % STRIDE == 0 ? 1 : STRIDE;
+    }
+
+    int sample(SplittableRandom random) {
+        int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+        if (rank < 0) rank = -rank - 1;
+        rank = Math.min(rank, cumulative.length - 1);
+
+        return (int) (rank * stride % cumulative.length);
+    }
+}
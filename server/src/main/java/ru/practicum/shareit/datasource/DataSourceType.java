@@ -0,0 +1,6 @@
+package ru.practicum.shareit.datasource;
+
+public enum DataSourceType {
+    PRIMARY,
+    REPLICA
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.datasource;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers when each user last wrote, so that the user's reads stay on the primary until the replica has had
+ * time to catch up. An entry is dropped when a read finds it expired, and at most once per window a write sweeps
+ * out the expired entries of users who have not read since, so the map holds about one window of writers.
+ */
+public class ReadYourWritesTracker {
+    private final Map<Long, Long> lastWriteByUser = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep = new AtomicLong();
+    private final long windowMillis;
+    private final Clock clock;
+
+    public ReadYourWritesTracker(Duration window) {
+        this(window, Clock.systemUTC());
+    }
+
+    ReadYourWritesTracker(Duration window, Clock clock) {
+        this.windowMillis = window.toMillis();
+        this.clock = clock;
+        this.nextSweep.set(clock.millis() + windowMillis);
+    }
+
+    public void recordWrite(long userId) {
+        long now = clock.millis();
+        lastWriteByUser.put(userId, now);
+
+        long sweepAt = nextSweep.get();
+        if (now >= sweepAt && nextSweep.compareAndSet(sweepAt, now + windowMillis)) {
+            lastWriteByUser.values().removeIf(lastWrite -> now - lastWrite >= windowMillis);
+        }
+    }
+
+    public boolean isWithinWindow(long userId) {
+        Long lastWrite = lastWriteByUser.get(userId);
+        if (lastWrite == null) return false;
+
+        if (clock.millis() - lastWrite < windowMillis) return true;
+
+        lastWriteByUser.remove(userId, lastWrite);
+        return false;
+    }
+
+    int trackedUsers() {
+        return lastWriteByUser.size();
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.datasource;
+
+/**
+ * Holds the id of the user (the X-Sharer-User-Id header) the current thread is serving.
+ */
+public final class RequestUserContext {
+    private static final ThreadLocal<Long> CURRENT_USER = new ThreadLocal<>();
+
+    private RequestUserContext() {
+    }
+
+    public static Long get() {
+        return CURRENT_USER.get();
+    }
+
+    public static void set(Long userId) {
+        if (userId == null) {
+            CURRENT_USER.remove();
+        } else {
+            CURRENT_USER.set(userId);
+        }
+    }
+
+    public static void clear() {
+        CURRENT_USER.remove();
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary. Must be wrapped into a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, otherwise the connection is taken
+ * before the transaction is marked as read-only.
+ */
+public class RoutingDataSource extends AbstractRoutingDataSource {
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public RoutingDataSource(DataSource primary, DataSource replica, ReadYourWritesTracker readYourWritesTracker) {
+        this.readYourWritesTracker = readYourWritesTracker;
+        setTargetDataSources(Map.of(DataSourceType.PRIMARY, primary, DataSourceType.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Long userId = RequestUserContext.get();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (userId != null && TransactionSynchronizationManager.isActualTransactionActive())
+                readYourWritesTracker.recordWrite(userId);
+            return DataSourceType.PRIMARY;
+        }
+
+        if (userId != null && readYourWritesTracker.isWithinWindow(userId)) return DataSourceType.PRIMARY;
+
+        return DataSourceType.REPLICA;
+    }
+}
@@ -2,6 +2,9 @@ package ru.practicum.shareit.errorHandler;
 
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.HttpMediaTypeNotAcceptableException;
@@ -18,7 +21,8 @@ import java.util.Map;
 @RestControllerAdvice
 public class ErrorHandler {
 
-    @ExceptionHandler(DuplicateUserException.class)
+    @ExceptionHandler({DuplicateUserException.class, OptimisticLockingFailureException.class,
+            PessimisticLockingFailureException.class})
     @ResponseStatus(HttpStatus.CONFLICT)
     public ErrorResponse handleValidationException(final RuntimeException e) {
         return new ErrorResponse(e.getMessage());
@@ -43,6 +47,20 @@ public class ErrorHandler {
         return new ErrorResponse(e.getMessage());
     }
 
+    @ExceptionHandler(LookupTimeoutException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleLookupTimeoutException(final LookupTimeoutException e) {
+        log.warn(e.getMessage());
+        return new ErrorResponse(e.getMessage());
+    }
+
+    @ExceptionHandler(TaskRejectedException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleTaskRejectedException(final TaskRejectedException e) {
+        log.warn(e.getMessage());
+        return new ErrorResponse("The server is busy, try again later");
+    }
+
     @ExceptionHandler(InvalidRequestException.class)
     public ResponseEntity<Map<String,String>> handleNoAccessRightsException(final InvalidRequestException e) {
         Map<String,String> response = new HashMap<>();
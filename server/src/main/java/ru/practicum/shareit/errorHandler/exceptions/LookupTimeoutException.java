@@ -0,0 +1,8 @@
+package ru.practicum.shareit.errorHandler.exceptions;
+
+public class LookupTimeoutException extends RuntimeException {
+
+    public LookupTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.model.dto.CommentDto;
@@ -10,16 +11,20 @@ import ru.practicum.shareit.item.model.dto.ItemDtoWithBookings;
 import ru.practicum.shareit.item.service.ItemService;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Validated
 @RestController
 @RequestMapping("/items")
 public class ItemController {
     private final ItemService itemService;
+    private final Executor queryExecutor;
 
     @Autowired
-    public ItemController(ItemService itemService) {
+    public ItemController(ItemService itemService, @Qualifier("queryExecutor") Executor queryExecutor) {
         this.itemService = itemService;
+        this.queryExecutor = queryExecutor;
     }
 
     @PostMapping
@@ -44,17 +49,22 @@ public class ItemController {
         return itemService.findItemById(userId, itemId);
     }
 
+    @GetMapping(params = "ids")
+    public List<ItemDto> getByIds(@RequestParam(value = "ids") List<Long> ids) {
+        return itemService.findItemsByIds(ids);
+    }
+
     @GetMapping
-    public List<ItemDtoWithBookings> getByUserId(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                 @RequestParam(value = "from") int from,
-                                                 @RequestParam(value = "size") int size) {
-        return itemService.getItemsByOwnerId(userId, from, size);
+    public CompletableFuture<List<ItemDtoWithBookings>> getByUserId(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                    @RequestParam(value = "from") int from,
+                                                                    @RequestParam(value = "size") int size) {
+        return CompletableFuture.supplyAsync(() -> itemService.getItemsByOwnerId(userId, from, size), queryExecutor);
     }
 
     @GetMapping("/search")
-    public List<ItemDto> search(@RequestParam(value = "text") String text,
-                                @RequestParam(value = "from") int from,
-                                @RequestParam(value = "size") int size) {
-        return itemService.search(text, from, size);
+    public CompletableFuture<List<ItemDto>> search(@RequestParam(value = "text") String text,
+                                                   @RequestParam(value = "from") int from,
+                                                   @RequestParam(value = "size") int size) {
+        return CompletableFuture.supplyAsync(() -> itemService.search(text, from, size), queryExecutor);
     }
 }
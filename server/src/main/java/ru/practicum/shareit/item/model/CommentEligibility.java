@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.model;
+
+/**
+ * What posting a comment depends on, read in one query: the author, the item and a finished booking of the item by
+ * the author. An absent projection means the author does not exist.
+ */
+public interface CommentEligibility {
+
+    String getAuthorName();
+
+    Boolean getItemExists();
+
+    Boolean getBookingFinished();
+}
@@ -8,10 +8,14 @@ import ru.practicum.shareit.user.model.User;
 public class CommentMapper {
 
     public static CommentDto toCommentDto(Comment comment) {
+        return toCommentDto(comment, comment.getAuthor().getName());
+    }
+
+    public static CommentDto toCommentDto(Comment comment, String authorName) {
         return CommentDto.builder()
                 .id(comment.getId())
                 .text(comment.getText())
-                .authorName(comment.getAuthor().getName())
+                .authorName(authorName)
                 .created(comment.getCreated())
                 .build();
     }
@@ -1,12 +1,29 @@
 package ru.practicum.shareit.item.repo;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.CommentEligibility;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
+    @EntityGraph(attributePaths = {"author", "item", "item.owner", "item.request", "item.request.user"})
     List<Comment> findCommentsByItem_Id(long itemId);
+
+    @Query(value = "SELECT u.user_name AS authorName, " +
+            "EXISTS (SELECT 1 FROM item i WHERE i.item_id = :itemId) AS itemExists, " +
+            "(EXISTS (SELECT 1 FROM booking b WHERE b.item_id = :itemId AND b.booker_id = u.user_id " +
+            "AND b.end_date < :dateTime) " +
+            "OR EXISTS (SELECT 1 FROM booking_archive a WHERE a.item_id = :itemId AND a.booker_id = u.user_id " +
+            "AND a.end_date < :dateTime)) AS bookingFinished " +
+            "FROM users u WHERE u.user_id = :userId", nativeQuery = true)
+    Optional<CommentEligibility> findEligibility(@Param("userId") long userId, @Param("itemId") long itemId,
+                                                 @Param("dateTime") LocalDateTime dateTime);
 }
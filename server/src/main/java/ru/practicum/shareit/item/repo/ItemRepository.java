@@ -2,24 +2,36 @@ package ru.practicum.shareit.item.repo;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
 
 @EnableJpaRepositories
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
+    @EntityGraph(attributePaths = {"owner", "request", "request.user"})
     Slice<Item> findItemsByOwnerId(long ownerId, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"owner", "request", "request.user"})
     @Query(value = "select i from Item i where (upper(i.name) like upper(concat('%', :text, '%')) " +
             "or upper(i.description) like upper(concat('%', :text, '%'))) and i.available = true")
     Slice<Item> search(@Param("text") String text, Pageable pageable);
 
     boolean existsByOwnerId(long ownerId);
 
+    @EntityGraph(attributePaths = {"owner", "request", "request.user"})
     List<Item> findItemsByRequestId(long requestId);
+
+    @EntityGraph(attributePaths = {"owner", "request", "request.user"})
+    List<Item> findItemsByRequestIdIn(Collection<Long> requestIds);
+
+    @Override
+    @EntityGraph(attributePaths = {"owner", "request", "request.user"})
+    List<Item> findAllById(Iterable<Long> ids);
 }
@@ -17,6 +17,8 @@ public interface ItemService {
 
     ItemDtoFull findItemById(long userId, long itemId);
 
+    List<ItemDto> findItemsByIds(List<Long> itemIds);
+
     List<ItemDtoWithBookings> getItemsByOwnerId(long userId, int from, int size);
 
     List<ItemDto> search(String text, int from, int size);
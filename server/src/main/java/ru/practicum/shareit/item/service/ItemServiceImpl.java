@@ -5,13 +5,17 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import ru.practicum.shareit.archive.service.ArchiveService;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.dto.BookingShortDto;
 import ru.practicum.shareit.booking.model.mapper.BookingMapper;
 import ru.practicum.shareit.booking.repo.BookingRepository;
 import ru.practicum.shareit.errorHandler.exceptions.*;
 import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.CommentEligibility;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.model.dto.CommentDto;
 import ru.practicum.shareit.item.model.dto.ItemDto;
@@ -21,10 +25,12 @@ import ru.practicum.shareit.item.model.mapper.CommentMapper;
 import ru.practicum.shareit.item.model.mapper.ItemMapper;
 import ru.practicum.shareit.item.repo.CommentRepository;
 import ru.practicum.shareit.item.repo.ItemRepository;
+import ru.practicum.shareit.jfr.ItemSearchEvent;
+import ru.practicum.shareit.lookup.ParallelLookups;
 import ru.practicum.shareit.request.model.Request;
 import ru.practicum.shareit.request.repo.RequestRepository;
-import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repo.UserRepository;
+import ru.practicum.shareit.utils.ByIds;
 import ru.practicum.shareit.utils.Pagination;
 
 import java.time.LocalDateTime;
@@ -35,24 +41,31 @@ import java.util.stream.Collectors;
 
 @Service
 @Slf4j
+@Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final RequestRepository requestRepository;
+    private final ArchiveService archiveService;
+    private final ParallelLookups parallelLookups;
 
     public ItemServiceImpl(ItemRepository itemRepository, UserRepository userRepository,
                            BookingRepository bookingRepository, CommentRepository commentRepository,
-                           RequestRepository requestRepository) {
+                           RequestRepository requestRepository, ArchiveService archiveService,
+                           ParallelLookups parallelLookups) {
         this.itemRepository = itemRepository;
         this.userRepository = userRepository;
         this.bookingRepository = bookingRepository;
         this.commentRepository = commentRepository;
         this.requestRepository = requestRepository;
+        this.archiveService = archiveService;
+        this.parallelLookups = parallelLookups;
     }
 
     @Override
+    @Transactional
     public ItemDto addNewItem(long userId, ItemDto itemDto) {
         Item item = ItemMapper.toItem(itemDto, userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException(String.format("User with id=%s not found", userId))));
@@ -71,25 +84,29 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
+    @Transactional
     public CommentDto postComment(CommentDto commentDto, long userId, long itemId) {
-        User author = userRepository.findById(userId)
+        LocalDateTime now = LocalDateTime.now();
+        CommentEligibility eligibility = commentRepository.findEligibility(userId, itemId, now)
                 .orElseThrow(() -> new UserNotFoundException(String.format("User with id=%s not found", userId)));
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new ItemNotFoundException(String.format("Item with id=%s not found", itemId)));
-        Optional<Booking> bookingOptional = bookingRepository.getTopByItem_IdAndBooker_IdOrderByEndAsc(itemId, userId);
 
-        if (bookingOptional.isEmpty() || bookingOptional.get().getEnd().isAfter(LocalDateTime.now()))
+        if (!eligibility.getItemExists())
+            throw new ItemNotFoundException(String.format("Item with id=%s not found", itemId));
+
+        if (!eligibility.getBookingFinished())
             throw new InvalidRequestException(String.format("The user with id=%s cannot leave a comment on the item " +
                     "with id=%s", userId, itemId));
 
-        commentDto.setCreated(LocalDateTime.now());
-        Comment comment = commentRepository.save(CommentMapper.toComment(commentDto, item, author));
+        commentDto.setCreated(now);
+        Comment comment = commentRepository.save(CommentMapper.toComment(commentDto,
+                itemRepository.getReferenceById(itemId), userRepository.getReferenceById(userId)));
         log.info("the user id={} has successfully create a comment on the item id={}", userId, itemId);
 
-        return CommentMapper.toCommentDto(comment);
+        return CommentMapper.toCommentDto(comment, eligibility.getAuthorName());
     }
 
     @Override
+    @Transactional
     public ItemDto updateItem(long userId, long itemId, ItemDto itemDto) {
         checkUser(userId);
 
@@ -113,16 +130,30 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ItemDtoFull findItemById(long userId, long itemId) {
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new ItemNotFoundException(String.format("Item with id=%s not found", itemId)));
+        ParallelLookups.Group lookups = parallelLookups.group();
+        ParallelLookups.Lookup<Item> item = lookups.fork(() -> itemRepository.findById(itemId)
+                .orElseThrow(() -> new ItemNotFoundException(String.format("Item with id=%s not found", itemId))));
+        ParallelLookups.Lookup<List<CommentDto>> comments = lookups.fork(() -> getComments(itemId));
 
-        List<CommentDto> comments = commentRepository.findCommentsByItem_Id(itemId).stream()
-                .map(CommentMapper::toCommentDto)
-                .collect(Collectors.toList());
+        Item found = item.join();
+        if (found.getOwner().getId() != userId) return ItemMapper.toItemDtoFull(found, null, null, comments.join());
 
-        return item.getOwner().getId() == userId ? ItemMapper.toItemDtoFull(item, getLastBooking(itemId),
-                getNextBooking(itemId), comments) : ItemMapper.toItemDtoFull(item, null, null, comments);
+        // only the owner sees the bookings, so they are looked up once the item tells who the owner is
+        ParallelLookups.Lookup<BookingShortDto> lastBooking = lookups.fork(() -> getLastBooking(itemId));
+        ParallelLookups.Lookup<BookingShortDto> nextBooking = lookups.fork(() -> getNextBooking(itemId));
+        List<CommentDto> itemComments = comments.join();
+
+        return ItemMapper.toItemDtoFull(found, lastBooking.join(), nextBooking.join(), itemComments);
+    }
+
+    @Override
+    public List<ItemDto> findItemsByIds(List<Long> itemIds) {
+        ByIds.checkCount(itemIds);
+        return ByIds.inRequestedOrder(itemIds, itemRepository.findAllById(itemIds), Item::getId).stream()
+                .map(ItemMapper::toItemDto)
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -137,11 +168,16 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public List<ItemDto> search(String text, int from, int size) {  // поиск вещей по содержанию введенного текста в имени или описании
-        Pageable pageable = Pagination.of(from, size);
+        return ItemSearchEvent.record(text, from, size, event -> {
+            Pageable pageable = Pagination.of(from, size);
 
-        return itemRepository.search(text, pageable).get()
-                .map(ItemMapper::toItemDto)
-                .collect(Collectors.toList());
+            List<ItemDto> items = itemRepository.search(text, pageable).get()
+                    .map(ItemMapper::toItemDto)
+                    .collect(Collectors.toList());
+            event.setRows(items.size());
+
+            return items;
+        });
     }
 
     private void checkUser(long userId) {
@@ -149,11 +185,22 @@ public class ItemServiceImpl implements ItemService {
             throw new UserNotFoundException(String.format("User with id=%s not found", userId));
     }
 
+    private List<CommentDto> getComments(long itemId) {
+        List<CommentDto> comments = commentRepository.findCommentsByItem_Id(itemId).stream()
+                .map(CommentMapper::toCommentDto)
+                .collect(Collectors.toList());
+        comments.addAll(archiveService.getCommentsByItemId(itemId));
+
+        return comments;
+    }
+
     private BookingShortDto getLastBooking(long itemId) {
         Optional<Booking> lastBookingOptional = bookingRepository.getTopByItem_IdAndEndBeforeOrderByStartDesc(itemId,
                 LocalDateTime.now());
 
-        return lastBookingOptional.isEmpty() ? null : BookingMapper.toBookingShortDto(lastBookingOptional.get());
+        return lastBookingOptional.map(BookingMapper::toBookingShortDto)
+                .or(() -> archiveService.getLastBookingOfItem(itemId, LocalDateTime.now()))
+                .orElse(null);
     }
 
     private BookingShortDto getNextBooking(long itemId) {
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import lombok.Setter;
+
+import java.util.function.Function;
+
+@Name("ru.practicum.shareit.Booking")
+@Label("Booking")
+@Category({"ShareIt", "Booking"})
+@Description("Creation of a booking or a change of its status")
+@StackTrace(false)
+@Setter
+public class BookingEvent extends Event {
+    @Label("Operation")
+    private String operation;
+
+    @Label("User Id")
+    private long userId;
+
+    @Label("Item Id")
+    private long itemId;
+
+    @Label("Booking Id")
+    private long bookingId;
+
+    @Label("Status")
+    private String status;
+
+    @Label("Rows Updated")
+    private int rows;
+
+    @Label("Succeeded")
+    private boolean succeeded;
+
+    public static BookingEvent start(String operation, long userId) {
+        BookingEvent event = new BookingEvent();
+        event.operation = operation;
+        event.userId = userId;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Runs the operation inside a new event, like {@code Timer.record}: the event is committed whether the operation
+     * returns or throws, and marked as succeeded only when it returns.
+     */
+    public static <T> T record(String operation, long userId, Function<BookingEvent, T> body) {
+        BookingEvent event = start(operation, userId);
+        try {
+            T result = body.apply(event);
+            event.succeeded = true;
+            return result;
+        } finally {
+            event.commit();
+        }
+    }
+
+    public void setItemId(Long itemId) {
+        this.itemId = itemId == null ? 0 : itemId;
+    }
+
+    public void setBookingId(Long bookingId) {
+        this.bookingId = bookingId == null ? 0 : bookingId;
+    }
+}
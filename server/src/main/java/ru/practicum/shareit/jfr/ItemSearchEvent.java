@@ -0,0 +1,53 @@
+package ru.practicum.shareit.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import lombok.Setter;
+
+import java.util.function.Function;
+
+@Name("ru.practicum.shareit.ItemSearch")
+@Label("Item Search")
+@Category({"ShareIt", "Item"})
+@Description("Full text search over the names and descriptions of the available items")
+@StackTrace(false)
+@Setter
+public class ItemSearchEvent extends Event {
+    @Label("Text")
+    private String text;
+
+    @Label("From")
+    private int from;
+
+    @Label("Size")
+    private int size;
+
+    @Label("Rows Returned")
+    private int rows;
+
+    public static ItemSearchEvent start(String text, int from, int size) {
+        ItemSearchEvent event = new ItemSearchEvent();
+        event.text = text;
+        event.from = from;
+        event.size = size;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Runs the search inside a new event that is committed whether the search returns or throws.
+     */
+    public static <T> T record(String text, int from, int size, Function<ItemSearchEvent, T> body) {
+        ItemSearchEvent event = start(text, from, size);
+        try {
+            return body.apply(event);
+        } finally {
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.lookup;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.sleuth.CurrentTraceContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import ru.practicum.shareit.async.RequestContextDecorator;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class LookupConfig {
+
+    /**
+     * Runs the lookups forked by {@link ParallelLookups}. Every running lookup holds a database connection, so with
+     * parallel lookups on, the query executor in {@code AsyncConfig} is shrunk by this pool; when the queue is full
+     * the request thread runs the lookup itself.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor lookupExecutor(CurrentTraceContext currentTraceContext,
+                                                 @Value("${shareit.lookup.pool-size:4}") int poolSize,
+                                                 @Value("${shareit.lookup.queue-capacity:64}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("lookup-");
+        executor.setTaskDecorator(new RequestContextDecorator(currentTraceContext));
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+}
@@ -0,0 +1,119 @@
+package ru.practicum.shareit.lookup;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ru.practicum.shareit.errorHandler.exceptions.LookupTimeoutException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent lookups of one request concurrently, each in its own read-only transaction on the lookup
+ * executor, so a read takes about as long as its slowest query. All lookups of a {@link Group} share one deadline;
+ * when it passes, the request fails with {@link LookupTimeoutException}. With {@code shareit.lookup.parallel.enabled}
+ * off, a lookup runs on the request thread when it is joined, and the one that is never joined does not run at all.
+ * A method that forks lookups runs without a transaction of its own, so the request thread holds no connection while
+ * it waits for the lookups to get theirs.
+ */
+@Component
+public class ParallelLookups {
+    private final Executor executor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final Duration timeout;
+
+    @Autowired
+    public ParallelLookups(@Qualifier("lookupExecutor") Executor executor,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${shareit.lookup.parallel.enabled:false}") boolean enabled,
+                           @Value("${shareit.lookup.timeout:2s}") Duration timeout) {
+        this.executor = executor;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.timeout = timeout;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Group group() {
+        return new Group(System.nanoTime() + timeout.toNanos());
+    }
+
+    public final class Group {
+        private final long deadline;
+        private final List<CompletableFuture<?>> forked = new ArrayList<>();
+
+        private Group(long deadline) {
+            this.deadline = deadline;
+        }
+
+        public <T> Lookup<T> fork(Supplier<T> lookup) {
+            if (!enabled) return new Lookup<>(this, null, lookup);
+
+            CompletableFuture<T> future = CompletableFuture.supplyAsync(
+                    () -> readOnlyTransaction.execute(status -> lookup.get()), executor);
+            forked.add(future);
+            return new Lookup<>(this, future, null);
+        }
+
+        private <T> T await(CompletableFuture<T> future) {
+            try {
+                return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                cancel();
+                throw new LookupTimeoutException(String.format("the lookups did not finish within %s", timeout));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel();
+                throw new LookupTimeoutException("interrupted while waiting for the lookups");
+            } catch (ExecutionException e) {
+                cancel();
+                if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+                if (e.getCause() instanceof Error) throw (Error) e.getCause();
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+
+        private void cancel() {
+            forked.forEach(future -> future.cancel(false));
+        }
+    }
+
+    public static final class Lookup<T> {
+        private final Group group;
+        private final CompletableFuture<T> future;
+        private Supplier<T> deferred;
+        private T value;
+
+        private Lookup(Group group, CompletableFuture<T> future, Supplier<T> deferred) {
+            this.group = group;
+            this.future = future;
+            this.deferred = deferred;
+        }
+
+        public T join() {
+            if (future != null) return group.await(future);
+
+            if (deferred != null) {
+                value = deferred.get();
+                deferred = null;
+            }
+            return value;
+        }
+    }
+}
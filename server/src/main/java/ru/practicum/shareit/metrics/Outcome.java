@@ -0,0 +1,31 @@
+package ru.practicum.shareit.metrics;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import ru.practicum.shareit.errorHandler.exceptions.*;
+
+public enum Outcome {
+    SUCCESS,
+    NOT_FOUND,
+    ACCESS_DENIED,
+    CONFLICT,
+    INVALID_REQUEST,
+    BAD_PAGINATION,
+    ERROR;
+
+    public static Outcome of(Throwable throwable) {
+        if (throwable instanceof UserNotFoundException || throwable instanceof ItemNotFoundException
+                || throwable instanceof BookingNotFoundException || throwable instanceof RequestNotFoundException)
+            return NOT_FOUND;
+        if (throwable instanceof NoAccessRightsException)
+            return ACCESS_DENIED;
+        if (throwable instanceof DuplicateUserException || throwable instanceof OptimisticLockingFailureException)
+            return CONFLICT;
+        if (throwable instanceof InvalidRequestException)
+            return INVALID_REQUEST;
+        if (throwable instanceof IllegalPaginationArgumentException)
+            return BAD_PAGINATION;
+
+        return ERROR;
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request.controller;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.request.model.dto.RequestDto;
 import ru.practicum.shareit.request.model.dto.RequestDtoWithItems;
@@ -7,14 +8,18 @@ import ru.practicum.shareit.request.model.dto.RequestInDto;
 import ru.practicum.shareit.request.service.RequestService;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @RestController
 @RequestMapping(path = "/requests")
 public class RequestController {
     private final RequestService requestService;
+    private final Executor queryExecutor;
 
-    public RequestController(RequestService requestService) {
+    public RequestController(RequestService requestService, @Qualifier("queryExecutor") Executor queryExecutor) {
         this.requestService = requestService;
+        this.queryExecutor = queryExecutor;
     }
 
     @PostMapping
@@ -24,15 +29,17 @@ public class RequestController {
     }
 
     @GetMapping
-    public List<RequestDtoWithItems> getAllByUserId(@RequestHeader("X-Sharer-User-Id") long userId) {
-        return requestService.findRequestsByUserId(userId);
+    public CompletableFuture<List<RequestDtoWithItems>> getAllByUserId(
+            @RequestHeader("X-Sharer-User-Id") long userId) {
+        return CompletableFuture.supplyAsync(() -> requestService.findRequestsByUserId(userId), queryExecutor);
     }
 
     @GetMapping("/all")
-    public List<RequestDtoWithItems> getAll(@RequestHeader("X-Sharer-User-Id") long userId,
-                                            @RequestParam(value = "from") int from,
-                                            @RequestParam(value = "size") int size) {
-        return requestService.findAllAnotherUsersRequests(userId, from, size);
+    public CompletableFuture<List<RequestDtoWithItems>> getAll(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                               @RequestParam(value = "from") int from,
+                                                               @RequestParam(value = "size") int size) {
+        return CompletableFuture.supplyAsync(() -> requestService.findAllAnotherUsersRequests(userId, from, size),
+                queryExecutor);
     }
 
     @GetMapping("/{requestId}")
@@ -2,6 +2,7 @@ package ru.practicum.shareit.request.repo;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,8 +12,10 @@ import ru.practicum.shareit.request.model.Request;
 import java.util.List;
 
 public interface RequestRepository extends JpaRepository<Request, Long> {
+    @EntityGraph(attributePaths = "user")
     List<Request> findAllByUserIdOrderByCreationTimeDesc(long userId);
 
+    @EntityGraph(attributePaths = "user")
     @Query(value = "select r from Request r where r.user.id <> :userId")
     Slice<Request> findAllOtherUsersRequests(@Param("userId") long userId, Pageable pageable);
 }
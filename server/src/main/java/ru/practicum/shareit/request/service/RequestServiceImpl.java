@@ -5,10 +5,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import ru.practicum.shareit.errorHandler.exceptions.RequestNotFoundException;
 import ru.practicum.shareit.errorHandler.exceptions.UserNotFoundException;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repo.ItemRepository;
+import ru.practicum.shareit.lookup.ParallelLookups;
 import ru.practicum.shareit.request.model.Request;
 import ru.practicum.shareit.request.model.RequestMapper;
 import ru.practicum.shareit.request.model.dto.RequestDto;
@@ -21,23 +25,28 @@ import ru.practicum.shareit.utils.Pagination;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @Slf4j
+@Transactional(readOnly = true)
 public class RequestServiceImpl implements RequestService {
     private final RequestRepository requestRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final ParallelLookups parallelLookups;
 
     public RequestServiceImpl(RequestRepository requestRepository, UserRepository userRepository,
-                              ItemRepository itemRepository) {
+                              ItemRepository itemRepository, ParallelLookups parallelLookups) {
         this.requestRepository = requestRepository;
         this.userRepository = userRepository;
         this.itemRepository = itemRepository;
+        this.parallelLookups = parallelLookups;
     }
 
     @Override
+    @Transactional
     public RequestDto addNewRequest(long userId, RequestInDto requestInDto) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException(String.format("User with id=%s not found", userId)));
@@ -50,32 +59,44 @@ public class RequestServiceImpl implements RequestService {
     public List<RequestDtoWithItems> findRequestsByUserId(long userId) {
         checkUser(userId);
 
-        List<Request> requests = requestRepository.findAllByUserIdOrderByCreationTimeDesc(userId);
-
-        return requests.stream()
-                .map(request -> RequestMapper.toRequestDtoWithItems(request,
-                        itemRepository.findItemsByRequestId(request.getId())))
-                .collect(Collectors.toList());
+        return withItems(requestRepository.findAllByUserIdOrderByCreationTimeDesc(userId));
     }
 
     @Override
     public List<RequestDtoWithItems> findAllAnotherUsersRequests(long userId, int from, int size) {
         Pageable sortedByDateDesc = Pagination.of(from, size, Sort.by("creationTime").descending());
 
-        return requestRepository.findAllOtherUsersRequests(userId, sortedByDateDesc).get()
-                .map(request -> RequestMapper.toRequestDtoWithItems(request,
-                        itemRepository.findItemsByRequestId(request.getId())))
-                .collect(Collectors.toList());
+        return withItems(requestRepository.findAllOtherUsersRequests(userId, sortedByDateDesc).getContent());
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public RequestDtoWithItems getById(long userId, long requestId) {
-        checkUser(userId);
+        ParallelLookups.Group lookups = parallelLookups.group();
+        ParallelLookups.Lookup<Boolean> userExists = lookups.fork(() -> userRepository.existsById(userId));
+        ParallelLookups.Lookup<Request> request = lookups.fork(() -> requestRepository.findById(requestId)
+                .orElseThrow(() -> new RequestNotFoundException(String.format("Request with id=%s not found",
+                        requestId))));
+        ParallelLookups.Lookup<List<Item>> items = lookups.fork(() -> itemRepository.findItemsByRequestId(requestId));
+
+        if (!userExists.join())
+            throw new UserNotFoundException(String.format("User with id=%s not found", userId));
+
+        return RequestMapper.toRequestDtoWithItems(request.join(), items.join());
+    }
 
-        Request request = requestRepository.findById(requestId)
-                .orElseThrow(() -> new RequestNotFoundException(String.format("Request with id=%s not found", requestId)));
+    /**
+     * Attaches the items made in response to the requests, read with one query for all of them.
+     */
+    private List<RequestDtoWithItems> withItems(List<Request> requests) {
+        Map<Long, List<Item>> items = requests.isEmpty() ? Map.of() : itemRepository.findItemsByRequestIdIn(
+                requests.stream().map(Request::getId).collect(Collectors.toList())).stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId()));
 
-        return RequestMapper.toRequestDtoWithItems(request, itemRepository.findItemsByRequestId(requestId));
+        return requests.stream()
+                .map(request -> RequestMapper.toRequestDtoWithItems(request,
+                        items.getOrDefault(request.getId(), List.of())))
+                .collect(Collectors.toList());
     }
 
     private void checkUser(long userId) {
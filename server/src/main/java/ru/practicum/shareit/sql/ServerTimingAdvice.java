@@ -0,0 +1,39 @@
+package ru.practicum.shareit.sql;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Locale;
+
+/**
+ * Reports the statements of the current request in the {@code Server-Timing} header, while it can still be set.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "shareit.sql.statistics.enabled", havingValue = "true", matchIfMissing = true)
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        SqlStatistics statistics = SqlStatisticsHolder.current();
+        if (statistics != null) {
+            double millis = statistics.getElapsed().toNanos() / 1_000_000.0;
+            response.getHeaders().add(SERVER_TIMING_HEADER, String.format(Locale.ROOT,
+                    "db;dur=%.3f;desc=\"%d statements\"", millis, statistics.getStatementCount()));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.sql;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Statements executed and time spent in the database within one scope (usually one HTTP request).
+ * Safe to record into from several threads, so work handed off to executors can report into the same scope.
+ */
+public class SqlStatistics {
+    private final SqlStatistics parent;
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder elapsedNanos = new LongAdder();
+    private final Map<String, LongAdder> histogram = new ConcurrentHashMap<>();
+
+    SqlStatistics(SqlStatistics parent) {
+        this.parent = parent;
+    }
+
+    public void record(String sql, long elapsedNanos) {
+        statements.increment();
+        this.elapsedNanos.add(elapsedNanos);
+        histogram.computeIfAbsent(normalize(sql), key -> new LongAdder()).increment();
+
+        if (parent != null) parent.record(sql, elapsedNanos);
+    }
+
+    public long getStatementCount() {
+        return statements.sum();
+    }
+
+    public Duration getElapsed() {
+        return Duration.ofNanos(elapsedNanos.sum());
+    }
+
+    /**
+     * Statements ordered by how many times they were executed, the most frequent first.
+     */
+    public Map<String, Long> getHistogram() {
+        return histogram.entrySet().stream()
+                .sorted(Map.Entry.<String, LongAdder>comparingByValue(
+                        (first, second) -> Long.compare(second.sum(), first.sum())))
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().sum(),
+                        (first, second) -> first, LinkedHashMap::new));
+    }
+
+    public long getMaxRepetitions() {
+        return histogram.values().stream()
+                .mapToLong(LongAdder::sum)
+                .max()
+                .orElse(0);
+    }
+
+    private static String normalize(String sql) {
+        return sql.trim().replaceAll("\\s+", " ");
+    }
+}
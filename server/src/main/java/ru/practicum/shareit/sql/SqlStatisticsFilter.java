@@ -0,0 +1,95 @@
+package ru.practicum.shareit.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Opens a {@link SqlStatistics} scope per HTTP request, publishes it as metrics and warns about requests that
+ * execute too many statements or repeat the same one (the N+1 pattern). An asynchronous request keeps its scope
+ * across the dispatches and is reported once, when the last one completes.
+ */
+@Slf4j
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+    public static final String STATEMENTS_METRIC = "shareit.http.sql.statements";
+    public static final String TIME_METRIC = "shareit.http.sql.time";
+    private static final String STATISTICS_ATTRIBUTE = SqlStatisticsFilter.class.getName() + ".statistics";
+
+    private final MeterRegistry meterRegistry;
+    private final int warnThreshold;
+    private final int repeatThreshold;
+
+    public SqlStatisticsFilter(MeterRegistry meterRegistry, int warnThreshold, int repeatThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.warnThreshold = warnThreshold;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatistics started = (SqlStatistics) request.getAttribute(STATISTICS_ATTRIBUTE);
+        SqlStatisticsHolder.Scope scope = isAsyncDispatch(request) && started != null
+                ? SqlStatisticsHolder.attach(started)
+                : SqlStatisticsHolder.open();
+        request.setAttribute(STATISTICS_ATTRIBUTE, scope.getStatistics());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope.close();
+            if (!isAsyncStarted(request)) {
+                report(request, scope.getStatistics());
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    private void report(HttpServletRequest request, SqlStatistics statistics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = pattern == null ? "UNKNOWN" : pattern.toString();
+        Tags tags = Tags.of("method", request.getMethod(), "uri", endpoint);
+
+        DistributionSummary.builder(STATEMENTS_METRIC)
+                .description("SQL statements executed per HTTP request")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(statistics.getStatementCount());
+        Timer.builder(TIME_METRIC)
+                .description("Time spent executing SQL statements per HTTP request")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(statistics.getElapsed());
+
+        if (statistics.getStatementCount() > warnThreshold || statistics.getMaxRepetitions() >= repeatThreshold) {
+            log.warn("{} {} executed {} statements in {} ms:\n{}", request.getMethod(), endpoint,
+                    statistics.getStatementCount(), statistics.getElapsed().toMillis(),
+                    format(statistics.getHistogram()));
+        }
+    }
+
+    private static String format(Map<String, Long> histogram) {
+        return histogram.entrySet().stream()
+                .map(entry -> String.format("%5d x %s", entry.getValue(), entry.getKey()))
+                .collect(Collectors.joining("\n"));
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.sql;
+
+/**
+ * Binds the {@link SqlStatistics} of the current scope to the thread that executes the statements.
+ */
+public final class SqlStatisticsHolder {
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private SqlStatisticsHolder() {
+    }
+
+    public static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Starts a nested scope; statements recorded in it are also counted by the enclosing one.
+     */
+    public static Scope open() {
+        SqlStatistics previous = CURRENT.get();
+        SqlStatistics statistics = new SqlStatistics(previous);
+        CURRENT.set(statistics);
+        return new Scope(statistics, previous);
+    }
+
+    /**
+     * Makes an existing scope current, e.g. on an executor thread working on behalf of a request.
+     */
+    public static Scope attach(SqlStatistics statistics) {
+        SqlStatistics previous = CURRENT.get();
+        CURRENT.set(statistics);
+        return new Scope(statistics, previous);
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final SqlStatistics statistics;
+        private final SqlStatistics previous;
+
+        private Scope(SqlStatistics statistics, SqlStatistics previous) {
+            this.statistics = statistics;
+            this.previous = previous;
+        }
+
+        public SqlStatistics getStatistics() {
+            return statistics;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
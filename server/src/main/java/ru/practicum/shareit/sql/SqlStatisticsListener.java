@@ -0,0 +1,29 @@
+package ru.practicum.shareit.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+public class SqlStatisticsListener implements QueryExecutionListener {
+    private static final String START_NANOS = "shareit.sql.start";
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (SqlStatisticsHolder.current() != null) execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStatistics statistics = SqlStatisticsHolder.current();
+        Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+        if (statistics == null || start == null) return;
+
+        long elapsed = System.nanoTime() - start;
+        for (QueryInfo queryInfo : queryInfoList) {
+            statistics.record(queryInfo.getQuery(), elapsed);
+            elapsed = 0;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.tracing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Opens a child span around every service and repository method, named {@code Class.method}.
+ */
+@Aspect
+@Component
+public class TracingAspect {
+    private final Tracer tracer;
+
+    public TracingAspect(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Around("execution(public * ru.practicum.shareit..service.*ServiceImpl.*(..))")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, AopUtils.getTargetClass(joinPoint.getTarget()).getSimpleName(), "service");
+    }
+
+    @Around("execution(public * org.springframework.data.repository.Repository+.*(..))")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        String repository = Arrays.stream(AopProxyUtils.proxiedUserInterfaces(joinPoint.getThis()))
+                .filter(Repository.class::isAssignableFrom)
+                .findFirst()
+                .map(Class::getSimpleName)
+                .orElse(joinPoint.getSignature().getDeclaringType().getSimpleName());
+
+        return trace(joinPoint, repository, "repository");
+    }
+
+    private Object trace(ProceedingJoinPoint joinPoint, String owner, String component) throws Throwable {
+        Span span = tracer.nextSpan()
+                .name(owner + "." + joinPoint.getSignature().getName())
+                .tag("component", component)
+                .start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return joinPoint.proceed();
+        } catch (Throwable throwable) {
+            span.error(throwable);
+            throw throwable;
+        } finally {
+            span.end();
+        }
+    }
+}
@@ -39,6 +39,11 @@ public class UserController {
         return userService.findAll();
     }
 
+    @GetMapping(params = "ids")
+    public List<UserDto> findAllById(@RequestParam(value = "ids") List<Long> ids) {
+        return userService.findAllById(ids);
+    }
+
     @DeleteMapping(value = "/{id}")
     public void deleteById(@PathVariable Long id) {
         userService.delete(id);
@@ -14,5 +14,7 @@ public interface UserService {
 
     List<UserDto> findAll();
 
+    List<UserDto> findAllById(List<Long> ids);
+
     void delete(long id);
 }
@@ -4,6 +4,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import ru.practicum.shareit.errorHandler.exceptions.DuplicateUserException;
 import ru.practicum.shareit.errorHandler.exceptions.UserNotFoundException;
@@ -11,12 +12,14 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.model.UserMapper;
 import ru.practicum.shareit.user.model.dto.UserDto;
 import ru.practicum.shareit.user.repo.UserRepository;
+import ru.practicum.shareit.utils.ByIds;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
 
@@ -26,6 +29,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public UserDto save(UserDto userDto) {
         User user = userRepository.save(UserMapper.toUser(userDto));
         log.info("User with id={} added successfully", user.getId());
@@ -34,6 +38,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public UserDto update(long id, UserDto userDto) {
         User beingUpdated = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException(String.format("User with id=%s not found", id)));
@@ -64,6 +69,15 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    public List<UserDto> findAllById(List<Long> ids) {
+        ByIds.checkCount(ids);
+        return ByIds.inRequestedOrder(ids, userRepository.findAllById(ids), User::getId).stream()
+                .map(UserMapper::toUserDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
     public void delete(long id) {
         userRepository.deleteById(id);
         log.info("User with id={} deleted successfully", id);
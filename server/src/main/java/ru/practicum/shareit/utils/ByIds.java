@@ -0,0 +1,38 @@
+package ru.practicum.shareit.utils;
+
+import ru.practicum.shareit.errorHandler.exceptions.InvalidRequestException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Arranges the result of a {@code findAllById} in the order the ids were requested, once per id, and caps how many
+ * ids one request may carry, the same cap the gateway applies.
+ */
+public class ByIds {
+    public static final int MAX_IDS = 100;
+
+    private ByIds() {
+    }
+
+    public static void checkCount(Collection<?> ids) {
+        if (ids.size() > MAX_IDS)
+            throw new InvalidRequestException(String.format("no more than %d ids can be requested at once, got %d",
+                    MAX_IDS, ids.size()));
+    }
+
+    public static <T> List<T> inRequestedOrder(Collection<Long> ids, Collection<T> found, Function<T, Long> getId) {
+        Map<Long, T> byId = found.stream()
+                .collect(Collectors.toMap(getId, Function.identity()));
+
+        return ids.stream()
+                .distinct()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+}
@@ -1,9 +1,3 @@
-DROP TABLE IF EXISTS users CASCADE;
-DROP TABLE IF EXISTS item_request CASCADE;
-DROP TABLE IF EXISTS item CASCADE;
-DROP TABLE IF EXISTS booking CASCADE;
-DROP TABLE IF EXISTS comments CASCADE;
-
 CREATE TABLE IF NOT EXISTS users
 (
     user_id INT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
@@ -58,4 +52,4 @@ CREATE TABLE IF NOT EXISTS comments
     CONSTRAINT pk_comments PRIMARY KEY (comment_id),
     FOREIGN KEY (item_id) REFERENCES item (item_id) ON DELETE CASCADE,
     FOREIGN KEY (author_id) REFERENCES users (user_id) ON DELETE CASCADE
-);
\ No newline at end of file
+);
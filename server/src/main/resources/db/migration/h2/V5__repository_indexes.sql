@@ -0,0 +1,9 @@
+CREATE INDEX ix_booking_item_start ON booking (item_id, start_date);
+CREATE INDEX ix_booking_booker_start ON booking (booker_id, start_date);
+CREATE INDEX ix_item_owner ON item (owner_id);
+CREATE INDEX ix_item_request_user_created ON item_request (user_id, creation_time);
+CREATE INDEX ix_comments_item ON comments (item_id);
+
+CREATE INDEX ix_booking_archive_item_start ON booking_archive (item_id, start_date);
+CREATE INDEX ix_booking_archive_booker_start ON booking_archive (booker_id, start_date);
+CREATE INDEX ix_comments_archive_item ON comments_archive (item_id);
@@ -0,0 +1,42 @@
+-- The booking table of the initial schema is replaced by a table partitioned by month of start_date. The existing
+-- bookings are copied into partitions named the way BookingPartitionManager names them, so it picks them up.
+ALTER TABLE booking RENAME TO booking_unpartitioned;
+ALTER TABLE booking_unpartitioned RENAME CONSTRAINT pk_booking TO pk_booking_unpartitioned;
+ALTER TABLE booking_unpartitioned ALTER COLUMN booking_id DROP IDENTITY;
+
+CREATE SEQUENCE booking_booking_id_seq AS INT;
+
+CREATE TABLE booking
+(
+    booking_id INT NOT NULL DEFAULT nextval('booking_booking_id_seq'),
+    start_date TIMESTAMP NOT NULL,
+    end_date TIMESTAMP NOT NULL,
+    item_id INT,
+    booker_id INT,
+    status VARCHAR(8) NOT NULL DEFAULT 'WAITING',
+    CONSTRAINT pk_booking PRIMARY KEY (booking_id, start_date),
+    FOREIGN KEY (item_id) REFERENCES item (item_id) ON DELETE CASCADE,
+    FOREIGN KEY (booker_id) REFERENCES users (user_id) ON DELETE CASCADE
+) PARTITION BY RANGE (start_date);
+
+ALTER SEQUENCE booking_booking_id_seq OWNED BY booking.booking_id;
+
+DO $$
+DECLARE
+    partition_month DATE;
+BEGIN
+    FOR partition_month IN
+        SELECT DISTINCT date_trunc('month', start_date)::DATE FROM booking_unpartitioned
+    LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF booking FOR VALUES FROM (%L) TO (%L)',
+                'booking_p' || to_char(partition_month, 'YYYY_MM'), partition_month,
+                (partition_month + INTERVAL '1 month')::DATE);
+    END LOOP;
+END $$;
+
+INSERT INTO booking (booking_id, start_date, end_date, item_id, booker_id, status)
+SELECT booking_id, start_date, end_date, item_id, booker_id, status FROM booking_unpartitioned;
+
+SELECT setval('booking_booking_id_seq', COALESCE(max(booking_id), 0) + 1, false) FROM booking;
+
+DROP TABLE booking_unpartitioned;
@@ -0,0 +1,24 @@
+CREATE TABLE IF NOT EXISTS booking_archive
+(
+    booking_id INT NOT NULL,
+    start_date TIMESTAMP NOT NULL,
+    end_date TIMESTAMP NOT NULL,
+    item_id INT,
+    booker_id INT,
+    status SMALLINT NOT NULL,
+    CONSTRAINT pk_booking_archive PRIMARY KEY (booking_id),
+    FOREIGN KEY (item_id) REFERENCES item (item_id) ON DELETE CASCADE,
+    FOREIGN KEY (booker_id) REFERENCES users (user_id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS comments_archive
+(
+    comment_id INT NOT NULL,
+    text VARCHAR(560) NOT NULL,
+    item_id INT,
+    author_id INT,
+    created TIMESTAMP,
+    CONSTRAINT pk_comments_archive PRIMARY KEY (comment_id),
+    FOREIGN KEY (item_id) REFERENCES item (item_id) ON DELETE CASCADE,
+    FOREIGN KEY (author_id) REFERENCES users (user_id) ON DELETE CASCADE
+);
@@ -0,0 +1 @@
+ALTER TABLE booking ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,3 @@
+-- Bookings dated in a month without a partition go to the default partition instead of failing the insert.
+-- BookingPartitionManager moves them into the month's partition when it attaches one.
+CREATE TABLE booking_default PARTITION OF booking DEFAULT;
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.archive.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import ru.practicum.shareit.booking.enums.BookingState;
+import ru.practicum.shareit.booking.model.dto.BookingOutDto;
+import ru.practicum.shareit.booking.model.dto.BookingSummaryDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.dto.CommentDto;
+import ru.practicum.shareit.item.model.dto.ItemDto;
+import ru.practicum.shareit.item.model.dto.ItemDtoFull;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@SpringBootTest(
+        properties = {"db.name=archive", "shareit.archive.enabled=true", "shareit.archive.batch-size=1"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ArchiveServiceImplTest {
+    private final ArchiveService archiveService;
+    private final BookingService bookingService;
+    private final ItemService itemService;
+    private final UserService userService;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Test
+    void archiveCompletedBookingsAndReadThemBack() {
+        UserDto owner = userService.save(UserDto.builder().name("owner").email("owner@archive.ru").build());
+        UserDto booker = userService.save(UserDto.builder().name("booker").email("booker@archive.ru").build());
+        ItemDto item = itemService.addNewItem(owner.getId(), ItemDto.builder()
+                .name("drill")
+                .description("old drill")
+                .available(true)
+                .build());
+        ItemDto saw = itemService.addNewItem(owner.getId(), ItemDto.builder()
+                .name("saw")
+                .description("old saw")
+                .available(true)
+                .build());
+        LocalDateTime now = LocalDateTime.now();
+
+        long recent = insertBooking(item.getId(), booker.getId(), now.minusMonths(2), now.minusMonths(1));
+        long old = insertBooking(item.getId(), booker.getId(), now.minusYears(3), now.minusYears(3).plusDays(1));
+        long older = insertBooking(item.getId(), booker.getId(), now.minusYears(4), now.minusYears(4).plusDays(1));
+        long sawed = insertBooking(saw.getId(), booker.getId(), now.minusYears(5), now.minusYears(5).plusDays(1));
+        jdbcTemplate.update("INSERT INTO comments (text, item_id, author_id, created) VALUES (?, ?, ?, ?)",
+                "good drill", item.getId(), booker.getId(), now.minusYears(3).plusDays(2));
+
+        assertThat(archiveService.archiveCompletedBookings(), equalTo(3));
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM booking", Integer.class), equalTo(1));
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM comments", Integer.class), equalTo(0));
+        assertThat(archiveService.countBookingsByBookerId(booker.getId()), equalTo(3L));
+        assertThat(bookingService.getOwnerSummary(owner.getId()), equalTo(new BookingSummaryDto(4, 0, 4, 0, 0, 0)));
+        assertThat(bookingService.getUserSummary(booker.getId()), equalTo(new BookingSummaryDto(4, 0, 4, 0, 0, 0)));
+
+        List<BookingOutDto> bookerPast = bookingService.getUserBookings(booker.getId(), BookingState.PAST, 0, 10);
+        assertThat(ids(bookerPast), equalTo(List.of(recent, old, older, sawed)));
+        assertThat(bookerPast.get(1).getItem().getName(), equalTo("drill"));
+
+        List<BookingOutDto> secondPage = bookingService.getBookingsByOwnerId(owner.getId(), BookingState.PAST, 2, 2);
+        assertThat(ids(secondPage), equalTo(List.of(older, sawed)));
+
+        assertThat(bookingService.getById(owner.getId(), old).getItem().getName(), equalTo("drill"));
+        assertThat(ids(bookingService.getByIds(booker.getId(), List.of(older, recent, 0L))),
+                equalTo(List.of(older, recent)));
+        assertThat(itemService.findItemById(owner.getId(), saw.getId()).getLastBooking().getId(), equalTo(sawed));
+
+        ItemDtoFull found = itemService.findItemById(owner.getId(), item.getId());
+        assertThat(found.getComments().stream().map(CommentDto::getAuthorName).collect(Collectors.toList()),
+                equalTo(List.of("booker")));
+    }
+
+    private long insertBooking(long itemId, long bookerId, LocalDateTime start, LocalDateTime end) {
+        jdbcTemplate.update("INSERT INTO booking (start_date, end_date, item_id, booker_id, status) " +
+                "VALUES (?, ?, ?, ?, 'APPROVED')", start, end, itemId, bookerId);
+        return jdbcTemplate.queryForObject("SELECT max(booking_id) FROM booking", Long.class);
+    }
+
+    private List<Long> ids(List<BookingOutDto> bookings) {
+        return bookings.stream().map(BookingOutDto::getId).collect(Collectors.toList());
+    }
+}
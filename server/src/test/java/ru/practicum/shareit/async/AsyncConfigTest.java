@@ -0,0 +1,78 @@
+package ru.practicum.shareit.async;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.sleuth.CurrentTraceContext;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import ru.practicum.shareit.sql.SqlStatisticsFilter;
+import ru.practicum.shareit.user.model.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"db.name=async", "spring.datasource.hikari.maximum-pool-size=6",
+        "shareit.async.reserved-connections=2"})
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class AsyncConfigTest {
+    private final MockMvc mockMvc;
+    private final UserService userService;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolTaskExecutor queryExecutor;
+
+    @Test
+    void queryExecutorLeavesReservedConnectionsAndExportsQueueDepth() {
+        assertThat(queryExecutor.getCorePoolSize(), equalTo(4));
+        assertThat(queryExecutor.getMaxPoolSize(), equalTo(4));
+        assertThat(meterRegistry.find("executor.queued").tag("name", "queryExecutor").gauge(), notNullValue());
+    }
+
+    @Test
+    void whenLookupsRunInParallelThenQueryExecutorLeavesTheirConnectionsToo() {
+        CurrentTraceContext currentTraceContext = Mockito.mock(CurrentTraceContext.class);
+
+        ThreadPoolTaskExecutor executor = new AsyncConfig().queryExecutor(currentTraceContext, 10, 2, 100, true, 4);
+
+        assertThat(executor.getMaxPoolSize(), equalTo(4));
+        assertThrows(IllegalStateException.class,
+                () -> new AsyncConfig().queryExecutor(currentTraceContext, 6, 2, 100, true, 4));
+    }
+
+    @Test
+    void whenHeavyReadThenServedOnQueryExecutorAndStatementsReportedOnce() throws Exception {
+        UserDto user = userService.save(UserDto.builder().name("async").email("async@query.ru").build());
+
+        MvcResult started = mockMvc.perform(get("/requests").header("X-Sharer-User-Id", user.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.find(SqlStatisticsFilter.STATEMENTS_METRIC)
+                .tags("method", "GET", "uri", "/requests")
+                .summary();
+        assertThat(statements, notNullValue());
+        assertThat(statements.count(), equalTo(1L));
+        assertThat(statements.max(), greaterThan(0.0));
+    }
+}
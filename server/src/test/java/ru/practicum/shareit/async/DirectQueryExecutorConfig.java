@@ -0,0 +1,18 @@
+package ru.practicum.shareit.async;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Runs the asynchronous controller methods on the calling thread in the slice tests.
+ */
+@TestConfiguration
+public class DirectQueryExecutorConfig {
+
+    @Bean
+    public Executor queryExecutor() {
+        return Runnable::run;
+    }
+}
@@ -13,15 +13,26 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import ru.practicum.shareit.booking.enums.BookingState;
+import ru.practicum.shareit.booking.enums.StatusUpdateOutcome;
 import ru.practicum.shareit.booking.model.dto.BookingInDto;
 import ru.practicum.shareit.booking.model.dto.BookingOutDto;
+import ru.practicum.shareit.booking.model.dto.BookingStatusResultDto;
+import ru.practicum.shareit.booking.model.dto.BookingStatusUpdateDto;
+import ru.practicum.shareit.booking.model.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.stream.BookingStream;
+import ru.practicum.shareit.async.DirectQueryExecutorConfig;
 import ru.practicum.shareit.errorHandler.ErrorHandler;
 import ru.practicum.shareit.errorHandler.exceptions.BookingNotFoundException;
 import ru.practicum.shareit.errorHandler.exceptions.InvalidRequestException;
@@ -40,15 +51,19 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(BookingController.class)
+@Import(DirectQueryExecutorConfig.class)
 @AutoConfigureMockMvc
 class BookingControllerTest {
     @Autowired
     private BookingController bookingController;
     @MockBean
     private BookingService bookingService;
+    @MockBean
+    private BookingStream bookingStream;
     private MockMvc mockMvc;
     private final ObjectMapper mapper = new ObjectMapper();
     private static BookingInDto bookingInDto;
@@ -195,6 +210,28 @@ class BookingControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("status").value("APPROVED"));
     }
 
+    @Test
+    void updateStatusesIsOkWithOutcomePerBooking() throws Exception {
+        List<BookingStatusUpdateDto> updates = List.of(new BookingStatusUpdateDto(1L, true),
+                new BookingStatusUpdateDto(2L, false));
+        Mockito
+                .when(bookingService.updateStatuses(1L, updates))
+                .thenReturn(List.of(new BookingStatusResultDto(1L, StatusUpdateOutcome.UPDATED, "APPROVED"),
+                        new BookingStatusResultDto(2L, StatusUpdateOutcome.NOT_FOUND, null)));
+
+        mockMvc.perform(patch("/bookings")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1L)
+                        .content(mapper.writeValueAsString(updates)))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].outcome").value("UPDATED"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].status").value("APPROVED"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].bookingId").value("2"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].outcome").value("NOT_FOUND"));
+    }
+
     @Test
     void updateStatusNotExistsBookingStatusIsNotFound() throws Exception {
         Mockito
@@ -237,6 +274,27 @@ class BookingControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void streamSendsBookingEventsAsServerSentEvents() throws Exception {
+        SseEmitter emitter = new SseEmitter();
+        Mockito
+                .when(bookingStream.subscribe(2L))
+                .thenReturn(emitter);
+
+        MvcResult started = mockMvc.perform(get("/bookings/stream")
+                        .header("X-Sharer-User-Id", 2L)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        emitter.send(SseEmitter.event().name(BookingStream.EVENT_NAME).data("{\"bookingId\":1}"));
+        emitter.complete();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(MockMvcResultMatchers.content().string("event:booking\ndata:{\"bookingId\":1}\n\n"));
+    }
+
     @Test
     void getBookingByIdStatusIsOk() throws Exception {
         Mockito
@@ -257,6 +315,21 @@ class BookingControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("status").value("WAITING"));
     }
 
+    @Test
+    void getBookingsByIdsStatusIsOk() throws Exception {
+        Mockito
+                .when(bookingService.getByIds(2L, List.of(1L, 5L)))
+                .thenReturn(List.of(bookingOutDto));
+
+        mockMvc.perform(get("/bookings?ids=1,5")
+                        .header("X-Sharer-User-Id", 2L))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value("1"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].item.name").value("book"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].booker.name").value("booker"));
+    }
+
     @Test
     void getNotExistsBookingByIdStatusIsNotFound() throws Exception {
         Mockito
@@ -307,7 +380,7 @@ class BookingControllerTest {
                 .when(bookingService.getUserBookings(2L, BookingState.ALL, 0, 10))
                 .thenReturn(bookings);
 
-        mockMvc.perform(get("/bookings?state=ALL&from=0&size=10")
+        performAsync(get("/bookings?state=ALL&from=0&size=10")
                         .header("X-Sharer-User-Id", 2L))
                 .andExpect(status().isOk())
                 .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2))
@@ -327,7 +400,7 @@ class BookingControllerTest {
                 .when(bookingService.getUserBookings(5L, BookingState.ALL, 0, 10))
                 .thenThrow(new UserNotFoundException("User with id=5 not found"));
 
-        mockMvc.perform(get("/bookings?state=ALL&from=0&size=10")
+        performAsync(get("/bookings?state=ALL&from=0&size=10")
                         .header("X-Sharer-User-Id", 5L))
                 .andExpect(result -> assertTrue(result.getResolvedException() instanceof UserNotFoundException))
                 .andExpect(result -> assertEquals("User with id=5 not found",
@@ -361,7 +434,7 @@ class BookingControllerTest {
                 .when(bookingService.getBookingsByOwnerId(1L, BookingState.ALL, 0, 10))
                 .thenReturn(bookings);
 
-        mockMvc.perform(get("/bookings/owner?state=ALL&from=0&size=10")
+        performAsync(get("/bookings/owner?state=ALL&from=0&size=10")
                         .header("X-Sharer-User-Id", 1L))
                 .andExpect(status().isOk())
                 .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(3))
@@ -385,11 +458,47 @@ class BookingControllerTest {
                 .when(bookingService.getBookingsByOwnerId(3L, BookingState.ALL, 0, 10))
                 .thenThrow(new UserNotFoundException("User with id=3 is not the owner of any thing"));
 
-        mockMvc.perform(get("/bookings/owner?state=ALL&from=0&size=10")
+        performAsync(get("/bookings/owner?state=ALL&from=0&size=10")
                         .header("X-Sharer-User-Id", 3L))
                 .andExpect(status().isNotFound())
                 .andExpect(result -> assertTrue(result.getResolvedException() instanceof UserNotFoundException))
                 .andExpect(result -> assertEquals("User with id=3 is not the owner of any thing",
                         Objects.requireNonNull(result.getResolvedException()).getMessage()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getUserSummaryStatusIsOk() throws Exception {
+        Mockito
+                .when(bookingService.getUserSummary(2L))
+                .thenReturn(new BookingSummaryDto(6, 1, 2, 3, 2, 1));
+
+        performAsync(get("/bookings/summary")
+                        .header("X-Sharer-User-Id", 2L))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.all").value(6))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.current").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.past").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.future").value(3))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.waiting").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.rejected").value(1));
+    }
+
+    @Test
+    void getOwnerSummaryOfNotOwnerStatusIsNotFound() throws Exception {
+        Mockito
+                .when(bookingService.getOwnerSummary(3L))
+                .thenThrow(new UserNotFoundException("User with id=3 is not the owner of any thing"));
+
+        performAsync(get("/bookings/owner/summary")
+                        .header("X-Sharer-User-Id", 3L))
+                .andExpect(status().isNotFound())
+                .andExpect(result -> assertTrue(result.getResolvedException() instanceof UserNotFoundException));
+    }
+
+    private ResultActions performAsync(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult started = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
+}
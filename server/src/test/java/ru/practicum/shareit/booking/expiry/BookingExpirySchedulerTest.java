@@ -0,0 +1,123 @@
+package ru.practicum.shareit.booking.expiry;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import ru.practicum.shareit.booking.model.dto.BookingInDto;
+import ru.practicum.shareit.booking.model.dto.BookingOutDto;
+import ru.practicum.shareit.booking.repo.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingExpiryService;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@SpringBootTest(
+        properties = {"db.name=expiry", "shareit.booking.expiry.enabled=true", "shareit.booking.expiry.tick=PT1S",
+                "shareit.booking.expiry.batch-size=1"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingExpirySchedulerTest {
+    private final BookingExpiryScheduler bookingExpiryScheduler;
+    private final BookingService bookingService;
+    private final ItemService itemService;
+    private final UserService userService;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Test
+    void waitingBookingsRejectedOnceStartedAndWheelRebuiltFromDatabase() throws InterruptedException {
+        UserDto owner = userService.save(UserDto.builder().name("owner").email("owner@expiry.ru").build());
+        UserDto booker = userService.save(UserDto.builder().name("booker").email("booker@expiry.ru").build());
+        ItemDto item = itemService.addNewItem(owner.getId(), ItemDto.builder()
+                .name("saw")
+                .description("sharp saw")
+                .available(true)
+                .build());
+        LocalDateTime now = LocalDateTime.now();
+
+        long stale = insertBooking(item.getId(), booker.getId(), now.minusHours(2), now.minusHours(1), "WAITING");
+        long older = insertBooking(item.getId(), booker.getId(), now.minusDays(2), now.minusDays(1), "WAITING");
+        long approved = insertBooking(item.getId(), booker.getId(), now.minusHours(3), now.plusHours(1),
+                "APPROVED");
+        long future = insertBooking(item.getId(), booker.getId(), now.plusDays(1), now.plusDays(2), "WAITING");
+
+        assertThat(bookingExpiryScheduler.rebuild(), equalTo(3));
+        bookingExpiryScheduler.expireStarted();
+        assertThat(status(stale), equalTo("REJECTED"));
+        assertThat(status(older), equalTo("REJECTED"));
+        assertThat(status(approved), equalTo("APPROVED"));
+        assertThat(status(future), equalTo("WAITING"));
+
+        ItemDto anotherItem = itemService.addNewItem(owner.getId(), ItemDto.builder()
+                .name("plane")
+                .description("smoothing plane")
+                .available(true)
+                .build());
+        BookingOutDto soon = bookingService.addNewBooking(booker.getId(), BookingInDto.builder()
+                .itemId(anotherItem.getId())
+                .start(LocalDateTime.now().plusSeconds(1))
+                .end(LocalDateTime.now().plusDays(3))
+                .build());
+        BookingOutDto decided = bookingService.addNewBooking(booker.getId(), BookingInDto.builder()
+                .itemId(anotherItem.getId())
+                .start(LocalDateTime.now().plusDays(4))
+                .end(LocalDateTime.now().plusDays(5))
+                .build());
+        bookingService.updateStatus(owner.getId(), decided.getId(), true);
+
+        assertThat(status(soon.getId()), equalTo("WAITING"));
+        Thread.sleep(2_100);
+        bookingExpiryScheduler.expireStarted();
+        assertThat(status(soon.getId()), equalTo("REJECTED"));
+        assertThat(status(decided.getId()), equalTo("APPROVED"));
+        assertThat(status(future), equalTo("WAITING"));
+    }
+
+    @Test
+    void whenRejectionFailsThenBookingsRetriedAfterTheDelay() {
+        BookingExpiryService bookingExpiryService = Mockito.mock(BookingExpiryService.class);
+        Clock clock = Mockito.mock(Clock.class);
+        Mockito.when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+        Mockito.when(clock.millis()).thenReturn(1_000_000L, 1_001_000L, 1_002_000L, 1_011_000L);
+        Mockito.when(bookingExpiryService.rejectStarted(List.of(7L)))
+                .thenThrow(new CannotCreateTransactionException("the database is down"))
+                .thenReturn(1);
+        BookingExpiryScheduler scheduler = new BookingExpiryScheduler(Mockito.mock(BookingRepository.class),
+                bookingExpiryService, true, Duration.ofSeconds(1), Duration.ofSeconds(5), clock);
+
+        scheduler.trackAfterCommit(7L, LocalDateTime.ofEpochSecond(1_000, 0, ZoneOffset.UTC));
+
+        assertThat(scheduler.expireStarted(), equalTo(0));
+        assertThat(scheduler.expireStarted(), equalTo(0));
+        Mockito.verify(bookingExpiryService, Mockito.times(1)).rejectStarted(List.of(7L));
+        assertThat(scheduler.expireStarted(), equalTo(1));
+        Mockito.verify(bookingExpiryService, Mockito.times(2)).rejectStarted(List.of(7L));
+    }
+
+    private long insertBooking(long itemId, long bookerId, LocalDateTime start, LocalDateTime end, String status) {
+        jdbcTemplate.update("INSERT INTO booking (start_date, end_date, item_id, booker_id, status) " +
+                "VALUES (?, ?, ?, ?, ?)", start, end, itemId, bookerId, status);
+        return jdbcTemplate.queryForObject("SELECT max(booking_id) FROM booking", Long.class);
+    }
+
+    private String status(long bookingId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM booking WHERE booking_id = ?", String.class,
+                bookingId);
+    }
+}
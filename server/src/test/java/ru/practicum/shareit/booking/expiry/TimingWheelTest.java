@@ -0,0 +1,86 @@
+package ru.practicum.shareit.booking.expiry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+class TimingWheelTest {
+
+    @Test
+    void whenDeadlineAlreadyPassedThenDueOnNextAdvance() {
+        TimingWheel wheel = new TimingWheel(1000, 4, 10_000);
+
+        wheel.add(1L, 9_500);
+        wheel.add(2L, 10_000);
+
+        assertThat(wheel.advanceTo(10_000), containsInAnyOrder(1L, 2L));
+        assertThat(wheel.size(), equalTo(0));
+    }
+
+    @Test
+    void whenDeadlinesSpanSeveralLevelsThenEachDueOnItsTickAndNeverEarly() {
+        TimingWheel wheel = new TimingWheel(1000, 4, 0);
+        wheel.add(1L, 2_500);
+        wheel.add(2L, 7_000);
+        wheel.add(3L, 21_000);
+        wheel.add(4L, 100_000);
+
+        assertThat(wheel.advanceTo(2_999), empty());
+        assertThat(wheel.advanceTo(3_000), equalTo(List.of(1L)));
+        assertThat(wheel.advanceTo(6_999), empty());
+        assertThat(wheel.advanceTo(7_000), equalTo(List.of(2L)));
+        assertThat(wheel.advanceTo(20_999), empty());
+        assertThat(wheel.advanceTo(21_000), equalTo(List.of(3L)));
+        assertThat(wheel.size(), equalTo(1));
+        assertThat(wheel.advanceTo(99_999), empty());
+        assertThat(wheel.advanceTo(100_000), equalTo(List.of(4L)));
+        assertThat(wheel.size(), equalTo(0));
+    }
+
+    @Test
+    void whenRandomDeadlinesThenEachDueOnFirstAdvancePastIt() {
+        Random random = new Random(42);
+        TimingWheel wheel = new TimingWheel(1000, 8, 5_000);
+        Map<Long, Long> deadlines = new HashMap<>();
+        for (long id = 1; id <= 2_000; id++) {
+            long deadline = 5_000 + (long) random.nextInt(3_000_000);
+            deadlines.put(id, deadline);
+            wheel.add(id, deadline);
+        }
+
+        List<Long> expired = new ArrayList<>();
+        long previous = 4_999;
+        for (long now = 5_000; now <= 3_010_000; now += 1_000 * (1 + random.nextInt(5))) {
+            for (Long id : wheel.advanceTo(now)) {
+                assertThat(deadlines.get(id) <= now, equalTo(true));
+                assertThat(deadlines.get(id) > previous, equalTo(true));
+                expired.add(id);
+            }
+            previous = now;
+        }
+
+        assertThat(expired.size(), equalTo(2_000));
+        assertThat(wheel.size(), equalTo(0));
+    }
+
+    @Test
+    void whenWheelEmptyThenLongJumpAndLaterAddsStillWork() {
+        TimingWheel wheel = new TimingWheel(1000, 4, 0);
+        long later = Long.MAX_VALUE / 2 / 1000 * 1000;
+
+        assertThat(wheel.advanceTo(later), empty());
+
+        wheel.add(1L, later + 5_000);
+        assertThat(wheel.advanceTo(later + 4_999), empty());
+        assertThat(wheel.advanceTo(later + 5_000), equalTo(List.of(1L)));
+    }
+}
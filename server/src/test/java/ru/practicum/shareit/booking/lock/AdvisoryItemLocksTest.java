@@ -0,0 +1,76 @@
+package ru.practicum.shareit.booking.lock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ExtendWith(MockitoExtension.class)
+class AdvisoryItemLocksTest {
+    private static final String LOCK_QUERY = "SELECT pg_advisory_xact_lock(?, ?)";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void whenItemLockedThenWaitBoundedByLockTimeoutAndTimeoutResetAfterwards() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        itemLocks().lockForTransaction(7L);
+
+        InOrder inOrder = Mockito.inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("SET LOCAL lock_timeout = 2000");
+        inOrder.verify(jdbcTemplate).query(Mockito.eq(LOCK_QUERY), Mockito.<ResultSetExtractor<Object>>any(),
+                Mockito.eq(AdvisoryItemLocks.ITEM_LOCK_SPACE), Mockito.eq(7));
+        inOrder.verify(jdbcTemplate).execute("SET LOCAL lock_timeout = DEFAULT");
+        assertThat(meterRegistry.get(ItemLocks.WAIT_METRIC).timer().count(), equalTo(1L));
+    }
+
+    @Test
+    void whenLockTimeoutExpiresThenCannotAcquireLockForTheItem() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        Mockito.when(jdbcTemplate.query(Mockito.eq(LOCK_QUERY), Mockito.<ResultSetExtractor<Object>>any(),
+                        Mockito.any(), Mockito.any()))
+                .thenThrow(new CannotAcquireLockException("canceling statement due to lock timeout"));
+
+        CannotAcquireLockException exception = assertThrows(CannotAcquireLockException.class,
+                () -> itemLocks().lockForTransaction(7L));
+
+        assertThat(exception.getMessage(),
+                equalTo("the item with id=7 is being booked by another request, try again"));
+        Mockito.verify(jdbcTemplate, Mockito.never()).execute("SET LOCAL lock_timeout = DEFAULT");
+        assertThat(meterRegistry.get(ItemLocks.WAIT_METRIC).timer().count(), equalTo(1L));
+    }
+
+    @Test
+    void whenNoTransactionThenLockRefused() {
+        assertThrows(IllegalStateException.class, () -> itemLocks().lockForTransaction(7L));
+
+        Mockito.verifyNoInteractions(jdbcTemplate);
+    }
+
+    private AdvisoryItemLocks itemLocks() {
+        return new AdvisoryItemLocks(jdbcTemplate, meterRegistry, Duration.ofSeconds(2));
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.booking.lock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StripedItemLocksTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StripedItemLocks itemLocks = new StripedItemLocks(meterRegistry, 1000, Duration.ofSeconds(5));
+
+    @Test
+    void whenItemLockedThenSameItemWaitsForCompletionAndOtherItemDoesNot() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch complete = new CountDownLatch(1);
+        try {
+            Future<?> holder = executor.submit(() -> inTransaction(() -> {
+                itemLocks.lockForTransaction(1L);
+                locked.countDown();
+                await(complete);
+            }));
+            assertThat(locked.await(5, TimeUnit.SECONDS), equalTo(true));
+
+            inTransaction(() -> itemLocks.lockForTransaction(2L));
+            Future<?> sameItem = executor.submit(() -> inTransaction(() -> itemLocks.lockForTransaction(1L)));
+            assertThrows(TimeoutException.class, () -> sameItem.get(200, TimeUnit.MILLISECONDS));
+
+            complete.countDown();
+            holder.get(5, TimeUnit.SECONDS);
+            sameItem.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(meterRegistry.get(ItemLocks.WAIT_METRIC).timer().count(), equalTo(3L));
+    }
+
+    @Test
+    void whenItemLockNotFreedWithinTimeoutThenCannotAcquireLock() throws Exception {
+        StripedItemLocks impatient = new StripedItemLocks(meterRegistry, 16, Duration.ofMillis(50));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch complete = new CountDownLatch(1);
+        try {
+            Future<?> holder = executor.submit(() -> inTransaction(() -> {
+                impatient.lockForTransaction(1L);
+                locked.countDown();
+                await(complete);
+            }));
+            assertThat(locked.await(5, TimeUnit.SECONDS), equalTo(true));
+
+            assertThrows(CannotAcquireLockException.class,
+                    () -> inTransaction(() -> impatient.lockForTransaction(1L)));
+
+            complete.countDown();
+            holder.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void whenStripesNotPowerOfTwoThenRoundedUp() {
+        assertThat(itemLocks.getStripeCount(), equalTo(1024));
+        assertThat(new StripedItemLocks(meterRegistry, 1, Duration.ofSeconds(5)).getStripeCount(), equalTo(1));
+    }
+
+    @Test
+    void whenNoTransactionThenLockRefused() {
+        assertThrows(IllegalStateException.class, () -> itemLocks.lockForTransaction(1L));
+    }
+
+    private static void inTransaction(Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            work.run();
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(
+                            TransactionSynchronization.STATUS_COMMITTED));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
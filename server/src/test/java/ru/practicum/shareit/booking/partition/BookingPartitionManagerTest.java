@@ -0,0 +1,155 @@
+package ru.practicum.shareit.booking.partition;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+@ExtendWith(MockitoExtension.class)
+class BookingPartitionManagerTest {
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2022-10-15T10:00:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private BookingPartitionManager manager;
+
+    @BeforeEach
+    void setUp() {
+        manager = new BookingPartitionManager(jdbcTemplate, transactionManager, true, 1, 1, 0, CLOCK);
+    }
+
+    @Test
+    void partitionCoversOneMonth() {
+        BookingPartition partition = BookingPartition.containing(LocalDateTime.of(2022, 10, 31, 23, 59));
+
+        assertThat(partition.getName(), equalTo("booking_p2022_10"));
+        assertThat(partition.getFrom().toString(), equalTo("2022-10-01"));
+        assertThat(partition.getTo().toString(), equalTo("2022-11-01"));
+        assertThat(BookingPartition.fromName("booking_p2022_10"), equalTo(partition));
+    }
+
+    @Test
+    void whenDisabledThenNothingIsExecuted() {
+        manager = new BookingPartitionManager(jdbcTemplate, transactionManager, false, 1, 1, 0, CLOCK);
+
+        manager.maintain();
+        manager.ensurePartitions(YearMonth.of(2025, 3), YearMonth.of(2025, 4));
+
+        Mockito.verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void whenMaintainThenMissingPartitionsAroundNowAreCreated() {
+        Mockito.when(jdbcTemplate.queryForList(Mockito.anyString(), Mockito.eq(String.class)))
+                .thenReturn(List.of("booking_p2022_10"));
+
+        manager.maintain();
+
+        verifyCreated("booking_p2022_09", "2022-09-01", "2022-10-01");
+        verifyCreated("booking_p2022_11", "2022-11-01", "2022-12-01");
+        Mockito.verify(jdbcTemplate, Mockito.times(6)).execute(Mockito.anyString());
+    }
+
+    @Test
+    void whenMonthEnsuredTwiceThenPartitionIsCreatedOnce() {
+        manager.ensurePartitions(YearMonth.of(2025, 3), YearMonth.of(2025, 3));
+        manager.ensurePartitions(YearMonth.of(2025, 3), YearMonth.of(2025, 3));
+
+        verifyCreated("booking_p2025_03", "2025-03-01", "2025-04-01");
+        Mockito.verify(jdbcTemplate, Mockito.times(3)).execute(Mockito.anyString());
+    }
+
+    @Test
+    void whenInsideTransactionThenPartitionIsNotCreated() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            Assertions.assertThrows(IllegalStateException.class,
+                    () -> manager.ensurePartitions(YearMonth.of(2025, 3), YearMonth.of(2025, 3)));
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        Mockito.verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void whenMonthNotPreCreatedThenItsBookingsMovedOutOfDefaultPartitionBeforeAttach() {
+        Mockito.when(jdbcTemplate.queryForList(Mockito.anyString(), Mockito.eq(String.class)))
+                .thenReturn(List.of("booking_p2022_09", "booking_p2022_10"));
+
+        manager.maintain();
+
+        InOrder inOrder = Mockito.inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("CREATE TABLE booking_p2022_11 (LIKE booking INCLUDING DEFAULTS)");
+        inOrder.verify(jdbcTemplate).execute("WITH moved AS (DELETE FROM booking_default " +
+                "WHERE start_date >= '2022-11-01' AND start_date < '2022-12-01' RETURNING *) " +
+                "INSERT INTO booking_p2022_11 SELECT * FROM moved");
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE booking ATTACH PARTITION booking_p2022_11 " +
+                "FOR VALUES FROM ('2022-11-01') TO ('2022-12-01')");
+        Mockito.verify(jdbcTemplate, Mockito.never()).execute(Mockito.contains("PARTITION OF"));
+    }
+
+    @Test
+    void whenDetachThenOnlyOlderPartitionsAreDetachedConcurrently() {
+        manager.ensurePartitions(YearMonth.of(2022, 7), YearMonth.of(2022, 10));
+
+        List<BookingPartition> detached = manager.detachOlderThan(YearMonth.of(2022, 9));
+
+        assertThat(detached, contains(BookingPartition.of(YearMonth.of(2022, 7)),
+                BookingPartition.of(YearMonth.of(2022, 8))));
+        Mockito.verify(jdbcTemplate).execute("ALTER TABLE booking DETACH PARTITION booking_p2022_07 CONCURRENTLY");
+        Mockito.verify(jdbcTemplate).execute("ALTER TABLE booking DETACH PARTITION booking_p2022_08 CONCURRENTLY");
+        Mockito.verify(jdbcTemplate).execute("ALTER TABLE booking_p2022_07 RENAME TO booking_p2022_07_detached_"
+                + CLOCK.instant().getEpochSecond());
+    }
+
+    @Test
+    void whenEnsureDetachEnsureThenDetachedMonthsAreNotRecreatedUntilAskedFor() {
+        manager = new BookingPartitionManager(jdbcTemplate, transactionManager, true, 3, 1, 1, CLOCK);
+        Mockito.when(jdbcTemplate.queryForList(Mockito.anyString(), Mockito.eq(String.class)))
+                .thenReturn(List.of("booking_p2022_07", "booking_p2022_08", "booking_p2022_09", "booking_p2022_10",
+                        "booking_p2022_11"))
+                .thenReturn(List.of("booking_p2022_09", "booking_p2022_10", "booking_p2022_11"));
+
+        manager.maintain();
+        manager.maintain();
+
+        Mockito.verify(jdbcTemplate).execute("ALTER TABLE booking DETACH PARTITION booking_p2022_07 CONCURRENTLY");
+        Mockito.verify(jdbcTemplate).execute("ALTER TABLE booking DETACH PARTITION booking_p2022_08 CONCURRENTLY");
+        Mockito.verify(jdbcTemplate, Mockito.never()).execute(Mockito.startsWith("CREATE TABLE"));
+
+        manager.ensurePartitions(YearMonth.of(2022, 7), YearMonth.of(2022, 7));
+
+        verifyCreated("booking_p2022_07", "2022-07-01", "2022-08-01");
+    }
+
+    private void verifyCreated(String name, String from, String to) {
+        Mockito.verify(jdbcTemplate).execute("CREATE TABLE " + name + " (LIKE booking INCLUDING DEFAULTS)");
+        Mockito.verify(jdbcTemplate).execute(Mockito.startsWith("WITH moved AS (DELETE FROM booking_default " +
+                "WHERE start_date >= '" + from + "' AND start_date < '" + to + "'"));
+        Mockito.verify(jdbcTemplate).execute("ALTER TABLE booking ATTACH PARTITION " + name +
+                " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+    }
+}
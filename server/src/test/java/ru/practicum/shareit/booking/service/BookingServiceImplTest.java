@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
@@ -10,12 +11,24 @@ import org.springframework.transaction.annotation.Transactional;
 
 import ru.practicum.shareit.booking.enums.BookingState;
 import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.enums.StatusUpdateOutcome;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.dto.BookingInDto;
 import ru.practicum.shareit.booking.model.dto.BookingOutDto;
+import ru.practicum.shareit.booking.model.dto.BookingStatusResultDto;
+import ru.practicum.shareit.booking.model.dto.BookingStatusUpdateDto;
+import ru.practicum.shareit.booking.model.dto.BookingSummaryDto;
+import ru.practicum.shareit.errorHandler.exceptions.InvalidRequestException;
+import ru.practicum.shareit.errorHandler.exceptions.UserNotFoundException;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.model.dto.ItemDto;
 import ru.practicum.shareit.item.model.mapper.ItemMapper;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.model.dto.RequestDto;
+import ru.practicum.shareit.request.model.dto.RequestInDto;
+import ru.practicum.shareit.request.service.RequestService;
+import ru.practicum.shareit.sql.SqlStatementCounter;
+import ru.practicum.shareit.sql.SqlStatistics;
 import ru.practicum.shareit.user.model.UserMapper;
 import ru.practicum.shareit.user.model.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
@@ -24,7 +37,11 @@ import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -40,6 +57,7 @@ class BookingServiceImplTest {
     private final ItemService itemService;
     private final UserService userService;
     private final BookingService bookingService;
+    private final RequestService requestService;
     private static UserDto userDtoItemOwner;
     private static UserDto userDtoBooker;
     private static ItemDto itemDto;
@@ -64,8 +82,8 @@ class BookingServiceImplTest {
                 .build();
 
         bookingInDto = BookingInDto.builder()
-                .start(LocalDateTime.now().plusHours(1L))
-                .end(LocalDateTime.now().plusDays(2L))
+                .start(LocalDateTime.now().plusHours(1L).truncatedTo(ChronoUnit.MICROS))
+                .end(LocalDateTime.now().plusDays(2L).truncatedTo(ChronoUnit.MICROS))
                 .build();
     }
 
@@ -90,15 +108,90 @@ class BookingServiceImplTest {
     }
 
     @Test
-    void updateStatus() {
+    void addNewBookingOverlappingWaitingOrApprovedBookingOfItemThenInvalidRequestException() {
+        UserDto itemOwner = userService.save(userDtoItemOwner);
+        ItemDto item = itemService.addNewItem(itemOwner.getId(), itemDto);
+        UserDto booker = userService.save(userDtoBooker);
+        UserDto anotherBooker = userService.save(UserDto.builder().name("another").email("another@ya.ru").build());
+        bookingInDto.setItemId(item.getId());
+        BookingOutDto booked = bookingService.addNewBooking(booker.getId(), bookingInDto);
+        BookingInDto overlapping = BookingInDto.builder()
+                .itemId(item.getId())
+                .start(bookingInDto.getEnd().minusHours(1))
+                .end(bookingInDto.getEnd().plusDays(1))
+                .build();
+
+        InvalidRequestException exception = Assertions.assertThrows(InvalidRequestException.class,
+                () -> bookingService.addNewBooking(anotherBooker.getId(), overlapping));
+        assertThat(exception.getMessage(), equalTo("the item is already booked for these dates"));
+
+        bookingService.updateStatus(itemOwner.getId(), booked.getId(), false);
+        assertThat(bookingService.addNewBooking(anotherBooker.getId(), overlapping).getStatus(),
+                equalTo(Status.WAITING.name()));
+        assertThat(bookingService.addNewBooking(booker.getId(), later(bookingInDto, 3)).getStatus(),
+                equalTo(Status.WAITING.name()));
+    }
+
+    @Test
+    void addNewBookingInMonthWithoutPartitionCreatesNoPartitionOnTheRequestPath() throws Exception {
+        UserDto itemOwner = userService.save(userDtoItemOwner);
+        ItemDto item = itemService.addNewItem(itemOwner.getId(), itemDto);
+        UserDto booker = userService.save(userDtoBooker);
+        bookingInDto.setItemId(item.getId());
+        BookingInDto farAhead = later(bookingInDto, 3 * 365);
+        em.flush();
+        em.clear();
+
+        BookingOutDto[] returned = new BookingOutDto[1];
+        SqlStatistics statistics = SqlStatementCounter.count(() ->
+                returned[0] = bookingService.addNewBooking(booker.getId(), farAhead));
+
+        assertThat(statistics.getStatementCount(), equalTo(2L));
+        assertThat(em.find(Booking.class, returned[0].getId()).getStart(), equalTo(farAhead.getStart()));
+    }
+
+    @Test
+    void addNewBookingOfRequestedItemInTwoStatementsRespondsWithStoredItem() throws Exception {
+        UserDto requester = userService.save(UserDto.builder().name("requester").email("requester@ya.ru").build());
+        RequestDto request = requestService.addNewRequest(requester.getId(),
+                RequestInDto.builder().description("need a book").build());
+        UserDto itemOwner = userService.save(userDtoItemOwner);
+        ItemDto item = itemService.addNewItem(itemOwner.getId(), ItemDto.builder().name("book")
+                .description("JAVA reference").available(true).requestId(request.getId()).build());
+        UserDto booker = userService.save(userDtoBooker);
+        bookingInDto.setItemId(item.getId());
+        em.flush();
+        em.clear();
+
+        BookingOutDto[] returned = new BookingOutDto[1];
+        SqlStatistics statistics = SqlStatementCounter.count(() ->
+                returned[0] = bookingService.addNewBooking(booker.getId(), bookingInDto));
+
+        assertThat(statistics.getStatementCount(), equalTo(2L));
+        em.flush();
+        em.clear();
+        assertThat(returned[0].getItem(), equalTo(em.find(Item.class, item.getId())));
+        assertThat(returned[0].getItem().getRequest().getUser().getName(), equalTo("requester"));
+        assertThat(returned[0].getBooker(), equalTo(UserMapper.toUser(booker)));
+    }
+
+    @Test
+    void updateStatus() throws Exception {
         UserDto itemOwner = userService.save(userDtoItemOwner);
         ItemDto item = itemService.addNewItem(itemOwner.getId(), itemDto);
         UserDto booker = userService.save(userDtoBooker);
         bookingInDto.setItemId(item.getId());
         BookingOutDto returned = bookingService.addNewBooking(booker.getId(), bookingInDto);
 
-        BookingOutDto updated = bookingService.updateStatus(itemOwner.getId(), returned.getId(), true);
+        em.flush();
+        em.clear();
 
+        BookingOutDto[] result = new BookingOutDto[1];
+        SqlStatistics statistics = SqlStatementCounter.count(() ->
+                result[0] = bookingService.updateStatus(itemOwner.getId(), returned.getId(), true));
+        BookingOutDto updated = result[0];
+
+        assertThat(statistics.getStatementCount(), equalTo(2L));
         TypedQuery<Booking> query = em.createQuery("Select b from Booking b where b.id = :bookingId", Booking.class);
         Booking booking = query
                 .setParameter("bookingId", returned.getId())
@@ -109,6 +202,65 @@ class BookingServiceImplTest {
         assertThat(booking.getStatus(), equalTo(Status.APPROVED));
         assertThat(updated.getItem(), equalTo(ItemMapper.toItem(item, UserMapper.toUser(itemOwner))));
         assertThat(updated.getBooker(), equalTo(UserMapper.toUser(booker)));
+        assertThat(booking.getVersion(), equalTo(1L));
+    }
+
+    @Test
+    void updateStatusesGivesOutcomePerBookingInOneReadAndOneUpdatePerStatus() throws Exception {
+        UserDto itemOwner = userService.save(userDtoItemOwner);
+        ItemDto item = itemService.addNewItem(itemOwner.getId(), itemDto);
+        UserDto booker = userService.save(userDtoBooker);
+        bookingInDto.setItemId(item.getId());
+        long first = bookingService.addNewBooking(booker.getId(), bookingInDto).getId();
+        long second = bookingService.addNewBooking(booker.getId(), later(bookingInDto, 2)).getId();
+        long approved = bookingService.addNewBooking(booker.getId(), later(bookingInDto, 4)).getId();
+        bookingService.updateStatus(itemOwner.getId(), approved, true);
+        UserDto stranger = userService.save(UserDto.builder().name("stranger").email("stranger@ya.ru").build());
+        ItemDto strangersItem = itemService.addNewItem(stranger.getId(), itemDto);
+        long strangers = bookingService.addNewBooking(booker.getId(), BookingInDto.builder()
+                .itemId(strangersItem.getId()).start(bookingInDto.getStart()).end(bookingInDto.getEnd()).build())
+                .getId();
+        List<BookingStatusUpdateDto> updates = List.of(
+                new BookingStatusUpdateDto(first, true),
+                new BookingStatusUpdateDto(second, false),
+                new BookingStatusUpdateDto(approved, false),
+                new BookingStatusUpdateDto(strangers, true),
+                new BookingStatusUpdateDto(first, false));
+
+        List<List<BookingStatusResultDto>> results = new ArrayList<>();
+        SqlStatistics statistics = SqlStatementCounter.count(() ->
+                results.add(bookingService.updateStatuses(itemOwner.getId(), updates)));
+
+        assertThat(statistics.getStatementCount(), equalTo(3L));
+        assertThat(results.get(0), equalTo(List.of(
+                new BookingStatusResultDto(first, StatusUpdateOutcome.UPDATED, "APPROVED"),
+                new BookingStatusResultDto(second, StatusUpdateOutcome.UPDATED, "REJECTED"),
+                new BookingStatusResultDto(approved, StatusUpdateOutcome.NOT_WAITING, "APPROVED"),
+                new BookingStatusResultDto(strangers, StatusUpdateOutcome.NOT_FOUND, null),
+                new BookingStatusResultDto(first, StatusUpdateOutcome.NOT_WAITING, "APPROVED"))));
+        assertThat(em.find(Booking.class, first).getStatus(), equalTo(Status.APPROVED));
+        assertThat(em.find(Booking.class, second).getStatus(), equalTo(Status.REJECTED));
+        assertThat(em.find(Booking.class, second).getVersion(), equalTo(1L));
+        assertThat(em.find(Booking.class, strangers).getStatus(), equalTo(Status.WAITING));
+    }
+
+    @Test
+    void updateStatusTwice() {
+        UserDto itemOwner = userService.save(userDtoItemOwner);
+        ItemDto item = itemService.addNewItem(itemOwner.getId(), itemDto);
+        UserDto booker = userService.save(userDtoBooker);
+        bookingInDto.setItemId(item.getId());
+        BookingOutDto returned = bookingService.addNewBooking(booker.getId(), bookingInDto);
+
+        bookingService.updateStatus(itemOwner.getId(), returned.getId(), false);
+
+        final InvalidRequestException exception = Assertions.assertThrows(
+                InvalidRequestException.class,
+                () -> bookingService.updateStatus(itemOwner.getId(), returned.getId(), true));
+
+        assertThat(exception.getMessage(), equalTo("the status cannot be changed"));
+        assertThat(bookingService.getById(itemOwner.getId(), returned.getId()).getStatus(),
+                equalTo(Status.REJECTED.name()));
     }
 
     @Test
@@ -133,6 +285,36 @@ class BookingServiceImplTest {
         assertThat(found.getEnd(), equalTo(booking.getEnd()));
     }
 
+    @Test
+    void getByIdsReturnsVisibleBookingsWithTheirGraphInOneStatement() throws Exception {
+        UserDto requester = userService.save(UserDto.builder().name("requester").email("requester@ya.ru").build());
+        RequestDto request = requestService.addNewRequest(requester.getId(),
+                RequestInDto.builder().description("need a book").build());
+        UserDto itemOwner = userService.save(userDtoItemOwner);
+        ItemDto item = itemService.addNewItem(itemOwner.getId(), ItemDto.builder().name("book")
+                .description("JAVA reference").available(true).requestId(request.getId()).build());
+        UserDto booker = userService.save(userDtoBooker);
+        bookingInDto.setItemId(item.getId());
+        long first = bookingService.addNewBooking(booker.getId(), bookingInDto).getId();
+        long second = bookingService.addNewBooking(booker.getId(), later(bookingInDto, 2)).getId();
+        UserDto stranger = userService.save(UserDto.builder().name("stranger").email("stranger@ya.ru").build());
+        ItemDto strangersItem = itemService.addNewItem(stranger.getId(), itemDto);
+        long strangers = bookingService.addNewBooking(requester.getId(), BookingInDto.builder()
+                .itemId(strangersItem.getId()).start(bookingInDto.getStart()).end(bookingInDto.getEnd()).build())
+                .getId();
+        em.flush();
+        em.clear();
+
+        List<List<BookingOutDto>> results = new ArrayList<>();
+        SqlStatistics statistics = SqlStatementCounter.count(() ->
+                results.add(bookingService.getByIds(itemOwner.getId(), List.of(second, strangers, first, 0L))));
+
+        assertThat(statistics.getStatementCount(), equalTo(1L));
+        assertThat(results.get(0).stream().map(BookingOutDto::getId).collect(Collectors.toList()),
+                equalTo(List.of(second, first)));
+        assertThat(results.get(0).get(0).getItem().getRequest().getUser().getName(), equalTo("requester"));
+    }
+
     @Test
     void getUserBookingsAll() {
         UserDto itemOwner = userService.save(userDtoItemOwner);
@@ -147,8 +329,8 @@ class BookingServiceImplTest {
         BookingInDto anotherBooking = BookingInDto.builder()
                 .itemId(item.getId())
                 .bookerId(returnedAnotherBooker.getId())
-                .start(LocalDateTime.now().plusDays(2))
-                .end(LocalDateTime.now().plusDays(3))
+                .start(LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.MICROS))
+                .end(LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.MICROS))
                 .build();
         BookingInDto bookingOfBooker = BookingInDto.builder()
                 .itemId(item.getId())
@@ -184,11 +366,12 @@ class BookingServiceImplTest {
         BookingInDto anotherBooking = BookingInDto.builder()
                 .itemId(item.getId())
                 .bookerId(returnedAnotherBooker.getId())
-                .start(LocalDateTime.now().plusDays(2))
-                .end(LocalDateTime.now().plusDays(3))
+                .start(LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.MICROS))
+                .end(LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.MICROS))
                 .build();
+        ItemDto anotherItem = itemService.addNewItem(itemOwner.getId(), itemDto);
         BookingInDto currentDto = BookingInDto.builder()
-                .itemId(item.getId())
+                .itemId(anotherItem.getId())
                 .bookerId(booker.getId())
                 .start(LocalDateTime.now().plusSeconds(1))
                 .end(LocalDateTime.now().plusDays(4))
@@ -220,8 +403,8 @@ class BookingServiceImplTest {
         BookingInDto anotherBooking = BookingInDto.builder()
                 .itemId(item.getId())
                 .bookerId(returnedAnotherBooker.getId())
-                .start(LocalDateTime.now().plusDays(2))
-                .end(LocalDateTime.now().plusDays(3))
+                .start(LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.MICROS))
+                .end(LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.MICROS))
                 .build();
         BookingInDto pastDto = BookingInDto.builder()
                 .itemId(item.getId())
@@ -256,8 +439,8 @@ class BookingServiceImplTest {
         BookingInDto anotherBooking = BookingInDto.builder()
                 .itemId(item.getId())
                 .bookerId(returnedAnotherBooker.getId())
-                .start(LocalDateTime.now().plusDays(2))
-                .end(LocalDateTime.now().plusDays(3))
+                .start(LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.MICROS))
+                .end(LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.MICROS))
                 .build();
         BookingInDto anotherFutureBooking = BookingInDto.builder()
                 .itemId(item.getId())
@@ -293,14 +476,14 @@ class BookingServiceImplTest {
         BookingInDto anotherBooking = BookingInDto.builder()
                 .itemId(item.getId())
                 .bookerId(returnedAnotherBooker.getId())
-                .start(LocalDateTime.now().plusDays(2))
-                .end(LocalDateTime.now().plusDays(3))
+                .start(LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.MICROS))
+                .end(LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.MICROS))
                 .build();
         BookingInDto bookingOfBooker = BookingInDto.builder()
                 .itemId(item.getId())
                 .bookerId(booker.getId())
-                .start(LocalDateTime.now().plusDays(3))
-                .end(LocalDateTime.now().plusDays(4))
+                .start(LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.MICROS))
+                .end(LocalDateTime.now().plusDays(4).truncatedTo(ChronoUnit.MICROS))
                 .build();
         bookingService.addNewBooking(returnedAnotherBooker.getId(), anotherBooking);
         BookingOutDto second = bookingService.addNewBooking(booker.getId(), bookingOfBooker);
@@ -329,8 +512,8 @@ class BookingServiceImplTest {
         BookingInDto anotherBooking = BookingInDto.builder()
                 .itemId(item.getId())
                 .bookerId(returnedAnotherBooker.getId())
-                .start(LocalDateTime.now().plusDays(2))
-                .end(LocalDateTime.now().plusDays(3))
+                .start(LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.MICROS))
+                .end(LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.MICROS))
                 .build();
         BookingInDto bookingOfBooker = BookingInDto.builder()
                 .itemId(item.getId())
@@ -366,8 +549,8 @@ class BookingServiceImplTest {
         BookingInDto anotherBooking = BookingInDto.builder()
                 .itemId(item.getId())
                 .bookerId(returnedAnotherBooker.getId())
-                .start(LocalDateTime.now().plusDays(2))
-                .end(LocalDateTime.now().plusDays(3))
+                .start(LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.MICROS))
+                .end(LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.MICROS))
                 .build();
         BookingInDto bookingOfBooker = BookingInDto.builder()
                 .itemId(item.getId())
@@ -405,11 +588,12 @@ class BookingServiceImplTest {
         BookingInDto anotherBooking = BookingInDto.builder()
                 .itemId(item.getId())
                 .bookerId(returnedAnotherBooker.getId())
-                .start(LocalDateTime.now().plusDays(2))
-                .end(LocalDateTime.now().plusDays(3))
+                .start(LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.MICROS))
+                .end(LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.MICROS))
                 .build();
+        ItemDto anotherItem = itemService.addNewItem(itemOwner.getId(), itemDto);
         BookingInDto currentDto = BookingInDto.builder()
-                .itemId(item.getId())
+                .itemId(anotherItem.getId())
                 .bookerId(booker.getId())
                 .start(LocalDateTime.now().plusSeconds(1))
                 .end(LocalDateTime.now().plusDays(4))
@@ -441,8 +625,8 @@ class BookingServiceImplTest {
         BookingInDto anotherBooking = BookingInDto.builder()
                 .itemId(item.getId())
                 .bookerId(returnedAnotherBooker.getId())
-                .start(LocalDateTime.now().plusDays(2))
-                .end(LocalDateTime.now().plusDays(3))
+                .start(LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.MICROS))
+                .end(LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.MICROS))
                 .build();
         BookingInDto pastDto = BookingInDto.builder()
                 .itemId(item.getId())
@@ -477,8 +661,8 @@ class BookingServiceImplTest {
         BookingInDto anotherBooking = BookingInDto.builder()
                 .itemId(item.getId())
                 .bookerId(returnedAnotherBooker.getId())
-                .start(LocalDateTime.now().plusDays(2))
-                .end(LocalDateTime.now().plusDays(3))
+                .start(LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.MICROS))
+                .end(LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.MICROS))
                 .build();
         BookingInDto anotherFutureBooking = BookingInDto.builder()
                 .itemId(item.getId())
@@ -516,14 +700,14 @@ class BookingServiceImplTest {
         BookingInDto anotherBooking = BookingInDto.builder()
                 .itemId(item.getId())
                 .bookerId(returnedAnotherBooker.getId())
-                .start(LocalDateTime.now().plusDays(2))
-                .end(LocalDateTime.now().plusDays(3))
+                .start(LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.MICROS))
+                .end(LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.MICROS))
                 .build();
         BookingInDto bookingOfBooker = BookingInDto.builder()
                 .itemId(item.getId())
                 .bookerId(booker.getId())
-                .start(LocalDateTime.now().plusDays(3))
-                .end(LocalDateTime.now().plusDays(4))
+                .start(LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.MICROS))
+                .end(LocalDateTime.now().plusDays(4).truncatedTo(ChronoUnit.MICROS))
                 .build();
         bookingService.addNewBooking(booker.getId(), bookingInDto);
         bookingService.addNewBooking(returnedAnotherBooker.getId(), anotherBooking);
@@ -553,8 +737,8 @@ class BookingServiceImplTest {
         BookingInDto anotherBooking = BookingInDto.builder()
                 .itemId(item.getId())
                 .bookerId(returnedAnotherBooker.getId())
-                .start(LocalDateTime.now().plusDays(2))
-                .end(LocalDateTime.now().plusDays(3))
+                .start(LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.MICROS))
+                .end(LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.MICROS))
                 .build();
         BookingInDto bookingOfBooker = BookingInDto.builder()
                 .itemId(item.getId())
@@ -576,4 +760,62 @@ class BookingServiceImplTest {
         assertThat(bookerBookings.get(0), equalTo(second));
         assertThat(bookerBookings.get(0).getStatus(), equalTo(Status.WAITING.name()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void summariesCountEveryStateInOneStatementLikeTheLists() throws Exception {
+        UserDto itemOwner = userService.save(userDtoItemOwner);
+        ItemDto item = itemService.addNewItem(itemOwner.getId(), itemDto);
+        UserDto booker = userService.save(userDtoBooker);
+        UserDto anotherBooker = userService.save(UserDto.builder().name("another").email("another@ya.ru").build());
+        LocalDateTime now = LocalDateTime.now();
+        BookingOutDto past = bookingService.addNewBooking(booker.getId(), BookingInDto.builder()
+                .itemId(item.getId()).start(now.minusDays(3)).end(now.minusDays(2)).build());
+        BookingOutDto current = bookingService.addNewBooking(booker.getId(), BookingInDto.builder()
+                .itemId(item.getId()).start(now.minusHours(1)).end(now.plusHours(1)).build());
+        bookingService.addNewBooking(booker.getId(), BookingInDto.builder()
+                .itemId(item.getId()).start(now.plusDays(1)).end(now.plusDays(2)).build());
+        bookingService.addNewBooking(anotherBooker.getId(), BookingInDto.builder()
+                .itemId(item.getId()).start(now.plusDays(3)).end(now.plusDays(4)).build());
+        bookingService.updateStatus(itemOwner.getId(), past.getId(), true);
+        bookingService.updateStatus(itemOwner.getId(), current.getId(), false);
+        em.flush();
+        em.clear();
+
+        List<BookingSummaryDto> summaries = new ArrayList<>();
+        SqlStatistics ownerStatistics = SqlStatementCounter.count(() ->
+                summaries.add(bookingService.getOwnerSummary(itemOwner.getId())));
+        SqlStatistics bookerStatistics = SqlStatementCounter.count(() ->
+                summaries.add(bookingService.getUserSummary(booker.getId())));
+
+        assertThat(ownerStatistics.getStatementCount(), equalTo(1L));
+        assertThat(bookerStatistics.getStatementCount(), equalTo(1L));
+        assertThat(summaries.get(0), equalTo(new BookingSummaryDto(4, 1, 1, 2, 2, 1)));
+        assertThat(summaries.get(1), equalTo(new BookingSummaryDto(3, 1, 1, 1, 1, 1)));
+        for (Map.Entry<BookingState, Long> count : counts(summaries.get(0)).entrySet()) {
+            assertThat(count.getKey().name(), (long) bookingService.getBookingsByOwnerId(itemOwner.getId(),
+                    count.getKey(), 0, 10).size(), equalTo(count.getValue()));
+        }
+        for (Map.Entry<BookingState, Long> count : counts(summaries.get(1)).entrySet()) {
+            assertThat(count.getKey().name(), (long) bookingService.getUserBookings(booker.getId(),
+                    count.getKey(), 0, 10).size(), equalTo(count.getValue()));
+        }
+
+        Assertions.assertThrows(UserNotFoundException.class, () -> bookingService.getOwnerSummary(booker.getId()));
+        Assertions.assertThrows(UserNotFoundException.class, () -> bookingService.getUserSummary(0L));
+        assertThat(bookingService.getUserSummary(itemOwner.getId()), equalTo(new BookingSummaryDto()));
+    }
+
+    private static BookingInDto later(BookingInDto booking, long days) {
+        return BookingInDto.builder()
+                .itemId(booking.getItemId())
+                .start(booking.getStart().plusDays(days))
+                .end(booking.getEnd().plusDays(days))
+                .build();
+    }
+
+    private Map<BookingState, Long> counts(BookingSummaryDto summary) {
+        return Map.of(BookingState.ALL, summary.getAll(), BookingState.CURRENT, summary.getCurrent(),
+                BookingState.PAST, summary.getPast(), BookingState.FUTURE, summary.getFuture(),
+                BookingState.WAITING, summary.getWaiting(), BookingState.REJECTED, summary.getRejected());
+    }
+}
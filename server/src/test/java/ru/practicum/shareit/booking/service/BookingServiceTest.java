@@ -1,5 +1,8 @@
 package ru.practicum.shareit.booking.service;
 
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,24 +15,42 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import org.springframework.data.domain.*;
 
+import ru.practicum.shareit.archive.service.ArchiveService;
 import ru.practicum.shareit.booking.enums.BookingState;
 import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.enums.StatusUpdateOutcome;
+import ru.practicum.shareit.booking.lock.ItemLocks;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingEligibility;
+import ru.practicum.shareit.booking.model.BookingStatusView;
+import ru.practicum.shareit.booking.model.BookingSummaryView;
+import ru.practicum.shareit.booking.model.dto.BookingChangeDto;
 import ru.practicum.shareit.booking.model.dto.BookingInDto;
 import ru.practicum.shareit.booking.model.dto.BookingOutDto;
+import ru.practicum.shareit.booking.model.dto.BookingStatusResultDto;
+import ru.practicum.shareit.booking.model.dto.BookingStatusUpdateDto;
+import ru.practicum.shareit.booking.model.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.model.mapper.BookingMapper;
 import ru.practicum.shareit.booking.repo.BookingRepository;
+import ru.practicum.shareit.booking.expiry.BookingExpiryScheduler;
+import ru.practicum.shareit.booking.stream.BookingStream;
 import ru.practicum.shareit.errorHandler.exceptions.*;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repo.ItemRepository;
 import ru.practicum.shareit.request.model.Request;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repo.UserRepository;
+import ru.practicum.shareit.utils.ByIds;
 import ru.practicum.shareit.utils.Pagination;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -42,6 +63,14 @@ class BookingServiceTest {
     private UserRepository userRepository;
     @Mock
     private BookingRepository bookingRepository;
+    @Mock
+    private ArchiveService archiveService;
+    @Mock
+    private ItemLocks itemLocks;
+    @Mock
+    private BookingStream bookingStream;
+    @Mock
+    private BookingExpiryScheduler bookingExpiryScheduler;
     @InjectMocks
     private BookingServiceImpl bookingService;
     private Booking booking;
@@ -73,6 +102,7 @@ class BookingServiceTest {
                 .item(item)
                 .booker(user)
                 .status(Status.WAITING)
+                .version(0L)
                 .build();
 
         bookingInDto = BookingInDto.builder()
@@ -86,8 +116,10 @@ class BookingServiceTest {
 
     @Test
     void whenTryToAddNewBookingOfNotExistsItemThenItemNotFoundException() {
-        Mockito.when(itemRepository.findById(bookingInDto.getItemId()))
-                .thenThrow(new ItemNotFoundException("Item with id=1 not found"));
+        BookingEligibility eligibility = eligibility(null, true, null);
+        Mockito.when(bookingRepository.findEligibility(1L, bookingInDto.getItemId(), bookingInDto.getStart(),
+                        bookingInDto.getEnd()))
+                .thenReturn(eligibility);
 
         final ItemNotFoundException exception = Assertions.assertThrows(
                 ItemNotFoundException.class,
@@ -95,20 +127,16 @@ class BookingServiceTest {
 
         Assertions.assertEquals("Item with id=1 not found", exception.getMessage());
 
-        Mockito.verify(itemRepository, Mockito.times(1))
-                .findById(Mockito.anyLong());
-        Mockito.verify(userRepository, Mockito.never())
-                .findById(Mockito.anyLong());
         Mockito.verify(bookingRepository, Mockito.never())
                 .save(Mockito.any());
     }
 
     @Test
     void whenTryToAddNewBookingByNotExistsUserThenUserNotFoundException() {
-        Mockito.when(itemRepository.findById(bookingInDto.getItemId()))
-                .thenReturn(Optional.of(item));
-        Mockito.when(userRepository.findById(1L))
-                .thenThrow(new UserNotFoundException("User with id=1 not found"));
+        BookingEligibility eligibility = eligibility(1L, true, null);
+        Mockito.when(bookingRepository.findEligibility(1L, bookingInDto.getItemId(), bookingInDto.getStart(),
+                        bookingInDto.getEnd()))
+                .thenReturn(eligibility);
 
         final UserNotFoundException exception = Assertions.assertThrows(
                 UserNotFoundException.class,
@@ -116,20 +144,16 @@ class BookingServiceTest {
 
         Assertions.assertEquals("User with id=1 not found", exception.getMessage());
 
-        Mockito.verify(itemRepository, Mockito.times(1))
-                .findById(Mockito.anyLong());
-        Mockito.verify(userRepository, Mockito.times(1))
-                .findById(Mockito.anyLong());
         Mockito.verify(bookingRepository, Mockito.never())
                 .save(Mockito.any());
     }
 
     @Test
     void whenTryToBookOwnItemThenItemNotFoundException() {
-        Mockito.when(itemRepository.findById(bookingInDto.getItemId()))
-                .thenReturn(Optional.of(item));
-        Mockito.when(userRepository.findById(1L))
-                .thenReturn(Optional.of(user));
+        BookingEligibility eligibility = eligibility(1L, true, 1L);
+        Mockito.when(bookingRepository.findEligibility(1L, bookingInDto.getItemId(), bookingInDto.getStart(),
+                        bookingInDto.getEnd()))
+                .thenReturn(eligibility);
 
         final ItemNotFoundException exception = Assertions.assertThrows(
                 ItemNotFoundException.class,
@@ -137,28 +161,19 @@ class BookingServiceTest {
 
         Assertions.assertEquals("the user trying to book his own item", exception.getMessage());
 
-        Mockito.verify(itemRepository, Mockito.times(1))
-                .findById(Mockito.anyLong());
-        Mockito.verify(userRepository, Mockito.times(1))
-                .findById(Mockito.anyLong());
         Mockito.verify(bookingRepository, Mockito.never())
                 .save(Mockito.any());
     }
 
     @Test
     void whenTryToBookNotAvailableItemThenInvalidRequestException() {
-        Item notAvailable = Item.builder()
-                .id(5L)
-                .owner(user)
-                .available(false)
-                .build();
-
         BookingInDto bookingInDto = BookingInDto.builder()
                 .itemId(5L)
                 .build();
 
-        Mockito.when(itemRepository.findById(5L))
-                .thenReturn(Optional.of(notAvailable));
+        BookingEligibility eligibility = eligibility(5L, false, 2L);
+        Mockito.when(bookingRepository.findEligibility(2L, 5L, null, null))
+                .thenReturn(eligibility);
 
         final InvalidRequestException exception = Assertions.assertThrows(
                 InvalidRequestException.class,
@@ -167,33 +182,56 @@ class BookingServiceTest {
         Assertions.assertEquals("the booking isn't possible because the item isn't available",
                 exception.getMessage());
 
-        Mockito.verify(itemRepository, Mockito.times(1))
-                .findById(5L);
-        Mockito.verify(userRepository, Mockito.never())
-                .findById(Mockito.anyLong());
         Mockito.verify(bookingRepository, Mockito.never())
                 .save(Mockito.any());
     }
 
     @Test
-    void whenAddValidBookingThenCallSaveBookingRepository() {
-        Mockito.when(itemRepository.findById(1L))
-                .thenReturn(Optional.of(item));
-        Mockito.when(userRepository.findById(2L))
-                .thenReturn(Optional.of(user));
+    void whenItemAlreadyBookedForTheDatesThenInvalidRequestException() {
+        BookingEligibility eligibility = eligibility(1L, true, 2L);
+        Mockito.when(eligibility.getBooked())
+                .thenReturn(true);
+        Mockito.when(bookingRepository.findEligibility(2L, 1L, bookingInDto.getStart(), bookingInDto.getEnd()))
+                .thenReturn(eligibility);
+
+        final InvalidRequestException exception = Assertions.assertThrows(
+                InvalidRequestException.class,
+                () -> bookingService.addNewBooking(2L, bookingInDto));
+
+        Assertions.assertEquals("the item is already booked for these dates", exception.getMessage());
+
+        Mockito.verify(bookingRepository, Mockito.never())
+                .save(Mockito.any());
+    }
+
+    @Test
+    void whenAddValidBookingThenSaveThroughReferencesWithoutLoadingItemAndUser() {
+        booking.setId(1L);
+        booking.setStart(bookingInDto.getStart());
+        BookingEligibility eligibility = eligibility(1L, true, 2L);
+        Mockito.when(bookingRepository.findEligibility(2L, 1L, bookingInDto.getStart(), bookingInDto.getEnd()))
+                .thenReturn(eligibility);
         Mockito.when(bookingRepository.save(Mockito.any(Booking.class)))
                 .thenReturn(booking);
 
         BookingOutDto returned = bookingService.addNewBooking(2L, bookingInDto);
 
-        assertThat(returned, equalTo(BookingMapper.toBookingDto(booking)));
+        assertThat(returned, equalTo(BookingMapper.toBookingDto(booking, eligibility)));
+        assertThat(returned.getItem().getOwner().getId(), equalTo(1L));
+        assertThat(returned.getBooker().getName(), equalTo("Booker"));
 
-        Mockito.verify(itemRepository, Mockito.times(1))
+        Mockito.verify(itemRepository, Mockito.never())
                 .findById(Mockito.anyLong());
-        Mockito.verify(userRepository, Mockito.times(1))
+        Mockito.verify(userRepository, Mockito.never())
                 .findById(Mockito.anyLong());
+        Mockito.verify(itemRepository, Mockito.times(1))
+                .getReferenceById(1L);
+        Mockito.verify(userRepository, Mockito.times(1))
+                .getReferenceById(2L);
         Mockito.verify(bookingRepository, Mockito.times(1))
                 .save(Mockito.any());
+        Mockito.verify(bookingExpiryScheduler, Mockito.times(1))
+                .trackAfterCommit(1L, bookingInDto.getStart());
     }
 
     @Test
@@ -250,7 +288,7 @@ class BookingServiceTest {
         Mockito.verify(bookingRepository, Mockito.times(1))
                 .findById(Mockito.anyLong());
         Mockito.verify(bookingRepository, Mockito.never())
-                .save(Mockito.any(Booking.class));
+                .updateWaitingStatus(Mockito.anyLong(), Mockito.anyLong(), Mockito.any(Status.class));
     }
 
     @Test
@@ -273,24 +311,125 @@ class BookingServiceTest {
         Mockito.verify(bookingRepository, Mockito.times(1))
                 .findById(Mockito.anyLong());
         Mockito.verify(bookingRepository, Mockito.never())
-                .save(Mockito.any(Booking.class));
+                .updateWaitingStatus(Mockito.anyLong(), Mockito.anyLong(), Mockito.any(Status.class));
     }
 
     @Test
-    void whenUpdateStatusValidBookingThenCallSaveBookingRepository() {
+    void whenBookingDecidedBetweenReadAndUpdateThenInvalidRequestException() {
         Mockito.when(bookingRepository.findById(1L))
                 .thenReturn(Optional.of(booking));
-        Mockito.when(bookingRepository.save(Mockito.any(Booking.class)))
-                .thenReturn(booking);
+        Mockito.when(bookingRepository.updateWaitingStatus(1L, 1L, Status.APPROVED))
+                .thenReturn(0);
 
-        bookingService.updateStatus(1L, 1L, true);
+        final InvalidRequestException exception = Assertions.assertThrows(
+                InvalidRequestException.class,
+                () -> bookingService.updateStatus(1L, 1L, true));
+
+        Assertions.assertEquals("the status cannot be changed", exception.getMessage());
+        Mockito.verify(bookingStream, Mockito.never())
+                .publishAfterCommit(Mockito.any());
+    }
+
+    @Test
+    void whenUpdateStatusValidBookingThenCallConditionalUpdateBookingRepository() {
+        Mockito.when(bookingRepository.updateWaitingStatus(1L, 1L, Status.APPROVED))
+                .thenReturn(1);
+        Mockito.when(bookingRepository.findById(1L))
+                .thenReturn(Optional.of(booking));
+
+        BookingOutDto updated = bookingService.updateStatus(1L, 1L, true);
 
+        Assertions.assertEquals(Status.APPROVED.name(), updated.getStatus());
+        Assertions.assertEquals(1L, booking.getVersion());
         Mockito.verify(bookingRepository, Mockito.times(1))
-                .findById(Mockito.anyLong());
+                .updateWaitingStatus(1L, 1L, Status.APPROVED);
         Mockito.verify(bookingRepository, Mockito.times(1))
+                .findById(Mockito.anyLong());
+        Mockito.verify(bookingRepository, Mockito.never())
                 .save(Mockito.any(Booking.class));
     }
 
+    @Test
+    void whenUpdateStatusesThenLockOnceAndUpdateOncePerStatus() {
+        Mockito.when(bookingRepository.lockStatusesOfOwner(Set.of(1L, 2L, 3L, 4L), 1L))
+                .thenReturn(List.of(statusView(1L, Status.WAITING), statusView(2L, Status.WAITING),
+                        statusView(3L, Status.REJECTED)));
+        Mockito.when(bookingRepository.updateWaitingStatuses(List.of(1L), 1L, Status.APPROVED))
+                .thenReturn(1);
+        Mockito.when(bookingRepository.updateWaitingStatuses(List.of(2L), 1L, Status.REJECTED))
+                .thenReturn(1);
+
+        List<BookingStatusResultDto> results = bookingService.updateStatuses(1L, List.of(
+                new BookingStatusUpdateDto(1L, true), new BookingStatusUpdateDto(2L, false),
+                new BookingStatusUpdateDto(3L, true), new BookingStatusUpdateDto(4L, true)));
+
+        assertThat(results, equalTo(List.of(
+                new BookingStatusResultDto(1L, StatusUpdateOutcome.UPDATED, "APPROVED"),
+                new BookingStatusResultDto(2L, StatusUpdateOutcome.UPDATED, "REJECTED"),
+                new BookingStatusResultDto(3L, StatusUpdateOutcome.NOT_WAITING, "REJECTED"),
+                new BookingStatusResultDto(4L, StatusUpdateOutcome.NOT_FOUND, null))));
+
+        Mockito.verify(bookingRepository, Mockito.times(1))
+                .lockStatusesOfOwner(Mockito.anyCollection(), Mockito.anyLong());
+        Mockito.verify(bookingRepository, Mockito.times(2))
+                .updateWaitingStatuses(Mockito.anyCollection(), Mockito.anyLong(), Mockito.any(Status.class));
+        Mockito.verify(bookingRepository, Mockito.never())
+                .findById(Mockito.anyLong());
+        Mockito.verify(bookingStream, Mockito.times(1))
+                .publishAfterCommit(new BookingChangeDto(1L, 1L, 2L, 1L, "APPROVED"));
+        Mockito.verify(bookingStream, Mockito.times(1))
+                .publishAfterCommit(new BookingChangeDto(2L, 1L, 2L, 1L, "REJECTED"));
+        Mockito.verifyNoMoreInteractions(bookingStream);
+    }
+
+    @Test
+    void whenUpdateStatusesThenBookingEventRecordsTheNewStatuses() throws Exception {
+        Mockito.when(bookingRepository.lockStatusesOfOwner(Set.of(1L, 2L), 1L))
+                .thenReturn(List.of(statusView(1L, Status.WAITING), statusView(2L, Status.WAITING)));
+        Mockito.when(bookingRepository.updateWaitingStatuses(Mockito.anyList(), Mockito.eq(1L),
+                        Mockito.any(Status.class)))
+                .thenReturn(1);
+        Path dump = Files.createTempFile("booking", ".jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable("ru.practicum.shareit.Booking");
+            recording.start();
+            bookingService.updateStatuses(1L, List.of(new BookingStatusUpdateDto(1L, true),
+                    new BookingStatusUpdateDto(2L, false)));
+            recording.stop();
+            recording.dump(dump);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(dump).stream()
+                    .filter(recorded -> recorded.getEventType().getName().equals("ru.practicum.shareit.Booking"))
+                    .collect(Collectors.toList());
+            assertThat(events.size(), equalTo(1));
+            assertThat(events.get(0).getString("status"), equalTo("APPROVED,REJECTED"));
+            assertThat(events.get(0).getInt("rows"), equalTo(2));
+        } finally {
+            Files.delete(dump);
+        }
+    }
+
+    @Test
+    void whenStatusUpdateWithoutApprovedThenInvalidRequestException() {
+        final InvalidRequestException exception = Assertions.assertThrows(
+                InvalidRequestException.class,
+                () -> bookingService.updateStatuses(1L, List.of(new BookingStatusUpdateDto(1L, true),
+                        new BookingStatusUpdateDto(2L, null))));
+
+        Assertions.assertEquals("every status update needs a bookingId and an approved flag",
+                exception.getMessage());
+
+        Mockito.verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void whenUpdateStatusesWithEmptyListThenNoQueries() {
+        assertThat(bookingService.updateStatuses(1L, List.of()), equalTo(List.of()));
+
+        Mockito.verifyNoInteractions(bookingRepository);
+    }
+
     @Test
     void whenTryToGetByIdNotExistsBookingThenBookingNotFoundException() {
         Mockito.when(bookingRepository.findById(1L))
@@ -334,6 +473,76 @@ class BookingServiceTest {
                 .findById(Mockito.anyLong());
     }
 
+    @Test
+    void whenGetMoreThanMaxIdsThenInvalidRequestException() {
+        List<Long> ids = LongStream.rangeClosed(1, ByIds.MAX_IDS + 1).boxed().collect(Collectors.toList());
+
+        final InvalidRequestException exception = Assertions.assertThrows(
+                InvalidRequestException.class,
+                () -> bookingService.getByIds(1L, ids));
+
+        Assertions.assertEquals("no more than 100 ids can be requested at once, got 101", exception.getMessage());
+
+        Mockito.verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void whenGetByIdsThenOnlyVisibleBookingsReturnedInRequestedOrder() {
+        User stranger = User.builder().id(2L).name("Stranger").email("stranger@ya.ru").build();
+        Item strangersItem = Item.builder().id(2L).owner(stranger).available(true).build();
+        Booking own = Booking.builder().id(1L).item(item).booker(user).status(Status.WAITING).build();
+        Booking booked = Booking.builder().id(2L).item(strangersItem).booker(user).status(Status.WAITING).build();
+        Booking foreign = Booking.builder().id(3L).item(strangersItem).booker(stranger).status(Status.WAITING).build();
+
+        Mockito.when(bookingRepository.findAllById(List.of(3L, 2L, 5L, 1L, 2L)))
+                .thenReturn(List.of(own, booked, foreign));
+
+        List<BookingOutDto> returned = bookingService.getByIds(1L, List.of(3L, 2L, 5L, 1L, 2L));
+
+        assertThat(returned, equalTo(List.of(BookingMapper.toBookingDto(booked), BookingMapper.toBookingDto(own))));
+
+        Mockito.verify(bookingRepository, Mockito.never())
+                .findById(Mockito.anyLong());
+    }
+
+    @Test
+    void whenGetOwnerSummaryOfNotOwnerThenUserNotFoundException() {
+        BookingSummaryView summary = Mockito.mock(BookingSummaryView.class);
+        Mockito.when(summary.getUserId()).thenReturn(null);
+        Mockito.when(bookingRepository.summarizeByOwnerId(Mockito.eq(1L), Mockito.any(LocalDateTime.class)))
+                .thenReturn(summary);
+
+        final UserNotFoundException exception = Assertions.assertThrows(
+                UserNotFoundException.class,
+                () -> bookingService.getOwnerSummary(1L));
+
+        Assertions.assertEquals("User with id=1 is not the owner of any thing", exception.getMessage());
+
+        Mockito.verify(archiveService, Mockito.never())
+                .countBookingsByOwnerId(Mockito.anyLong());
+    }
+
+    @Test
+    void whenGetUserSummaryThenArchivedBookingsCountedInAllAndPast() {
+        BookingSummaryView summary = Mockito.mock(BookingSummaryView.class);
+        Mockito.when(summary.getUserId()).thenReturn(1L);
+        Mockito.when(summary.getAllCount()).thenReturn(6L);
+        Mockito.when(summary.getCurrentCount()).thenReturn(1L);
+        Mockito.when(summary.getPastCount()).thenReturn(2L);
+        Mockito.when(summary.getFutureCount()).thenReturn(3L);
+        Mockito.when(summary.getWaitingCount()).thenReturn(2L);
+        Mockito.when(summary.getRejectedCount()).thenReturn(1L);
+        Mockito.when(bookingRepository.summarizeByBookerId(Mockito.eq(1L), Mockito.any(LocalDateTime.class)))
+                .thenReturn(summary);
+        Mockito.when(archiveService.countBookingsByBookerId(1L))
+                .thenReturn(5L);
+
+        assertThat(bookingService.getUserSummary(1L), equalTo(new BookingSummaryDto(11, 1, 7, 3, 2, 1)));
+
+        Mockito.verify(userRepository, Mockito.never())
+                .existsById(Mockito.anyLong());
+    }
+
     @Test
     void whenTryToGetUserBookingsByNotExistsUserThenUserNotFoundException() {
         Mockito.when(userRepository.existsById(1L))
@@ -704,4 +913,45 @@ class BookingServiceTest {
         Mockito.verify(bookingRepository, Mockito.never())
                 .getAllFutureByOwnerId(Mockito.anyLong(), Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class));
     }
-}
\ No newline at end of file
+
+    private BookingEligibility eligibility(Long itemId, boolean available, Long bookerId) {
+        // lenient, since every test stops reading the eligibility at a different check
+        BookingEligibility eligibility = Mockito.mock(BookingEligibility.class, Mockito.withSettings().lenient());
+        Mockito.when(eligibility.getItemId()).thenReturn(itemId);
+        Mockito.when(eligibility.getItemName()).thenReturn("drill");
+        Mockito.when(eligibility.getItemDescription()).thenReturn("cordless");
+        Mockito.when(eligibility.getAvailable()).thenReturn(available);
+        Mockito.when(eligibility.getOwnerId()).thenReturn(1L);
+        Mockito.when(eligibility.getOwnerName()).thenReturn("User");
+        Mockito.when(eligibility.getOwnerEmail()).thenReturn("user@ya.ru");
+        Mockito.when(eligibility.getBookerId()).thenReturn(bookerId);
+        Mockito.when(eligibility.getBookerName()).thenReturn("Booker");
+        Mockito.when(eligibility.getBookerEmail()).thenReturn("booker@ya.ru");
+        Mockito.when(eligibility.getBooked()).thenReturn(false);
+        return eligibility;
+    }
+
+    private BookingStatusView statusView(long id, Status status) {
+        return new BookingStatusView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Status getStatus() {
+                return status;
+            }
+
+            @Override
+            public Long getItemId() {
+                return 1L;
+            }
+
+            @Override
+            public Long getBookerId() {
+                return 2L;
+            }
+        };
+    }
+}
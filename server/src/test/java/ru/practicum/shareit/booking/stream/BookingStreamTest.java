@@ -0,0 +1,159 @@
+package ru.practicum.shareit.booking.stream;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import ru.practicum.shareit.booking.model.dto.BookingChangeDto;
+import ru.practicum.shareit.booking.model.dto.BookingInDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.errorHandler.exceptions.BookingNotFoundException;
+import ru.practicum.shareit.item.model.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Predicate;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest(properties = "db.name=stream")
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingStreamTest {
+    private final MockMvc mockMvc;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+
+    @Test
+    void whenBookingAddedAndApprovedThenBookerAndOwnerReceiveEventsAfterCommit() throws Exception {
+        UserDto owner = userService.save(UserDto.builder().name("owner").email("owner@stream.ru").build());
+        UserDto booker = userService.save(UserDto.builder().name("booker").email("booker@stream.ru").build());
+        UserDto stranger = userService.save(UserDto.builder().name("stranger").email("stranger@stream.ru").build());
+        ItemDto item = itemService.addNewItem(owner.getId(), ItemDto.builder().name("drill").description("drill")
+                .available(true).build());
+
+        MvcResult ownerStream = subscribe(owner.getId());
+        MvcResult bookerStream = subscribe(booker.getId());
+        MvcResult strangerStream = subscribe(stranger.getId());
+
+        long bookingId = bookingService.addNewBooking(booker.getId(), BookingInDto.builder().itemId(item.getId())
+                .start(LocalDateTime.now().plusDays(1)).end(LocalDateTime.now().plusDays(2)).build()).getId();
+        Assertions.assertThrows(BookingNotFoundException.class,
+                () -> bookingService.updateStatus(stranger.getId(), bookingId, true));
+        bookingService.updateStatus(owner.getId(), bookingId, true);
+
+        for (MvcResult stream : List.of(ownerStream, bookerStream)) {
+            String events = awaitContent(stream, body -> body.contains("\"status\":\"APPROVED\""));
+            assertThat(events, containsString("event:booking\ndata:{\"bookingId\":" + bookingId + ",\"itemId\":" +
+                    item.getId() + ",\"bookerId\":" + booker.getId() + ",\"ownerId\":" + owner.getId() +
+                    ",\"status\":\"WAITING\"}"));
+            assertThat(events.indexOf("WAITING") < events.indexOf("APPROVED"), equalTo(true));
+        }
+        assertThat(strangerStream.getResponse().getContentAsString(), not(containsString("event:booking")));
+    }
+
+    @Test
+    void whenSubscriberFallsBehindThenItIsDisconnected() {
+        List<Runnable> pendingDrains = new ArrayList<>();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        BookingStream stream = new BookingStream(pendingDrains::add, meterRegistry, 2, Duration.ofMinutes(1));
+        BookingChangeDto change = new BookingChangeDto(1L, 1L, 1L, 2L, "WAITING");
+
+        stream.subscribe(1L);
+        stream.subscribe(2L);
+        stream.publishAfterCommit(change);
+        stream.publishAfterCommit(change);
+
+        assertThat(stream.subscriberCount(), equalTo(0));
+        assertThat(meterRegistry.counter("shareit.booking.stream.dropped").count(), equalTo(2.0));
+
+        pendingDrains.forEach(Runnable::run);
+        stream.heartbeat();
+        assertThat(pendingDrains.size(), equalTo(2));
+    }
+
+    @Test
+    void whenHeartbeatThenOnlySubscribersWithNothingBufferedGetOne() {
+        List<Runnable> pendingDrains = new ArrayList<>();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        BookingStream stream = new BookingStream(pendingDrains::add, meterRegistry, 2, Duration.ofMinutes(1));
+
+        stream.subscribe(1L);
+        for (int i = 0; i < 5; i++) {
+            stream.heartbeat();
+        }
+
+        assertThat(stream.subscriberCount(), equalTo(1));
+        assertThat(meterRegistry.counter("shareit.booking.stream.dropped").count(), equalTo(0.0));
+        assertThat(pendingDrains.size(), equalTo(1));
+    }
+
+    @Test
+    void whenStreamExecutorFullThenEventsWaitForTheNextDrain() {
+        List<Runnable> pendingDrains = new ArrayList<>();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        boolean[] full = {true};
+        BookingStream stream = new BookingStream(drain -> {
+            if (full[0]) throw new RejectedExecutionException();
+            pendingDrains.add(drain);
+        }, meterRegistry, 2, Duration.ofMinutes(1));
+
+        stream.subscribe(1L);
+        stream.subscribe(2L);
+        stream.heartbeat();
+
+        assertThat(stream.subscriberCount(), equalTo(2));
+        assertThat(pendingDrains.size(), equalTo(0));
+
+        full[0] = false;
+        stream.heartbeat();
+
+        assertThat(stream.subscriberCount(), equalTo(2));
+        assertThat(meterRegistry.counter("shareit.booking.stream.dropped").count(), equalTo(0.0));
+        assertThat(pendingDrains.size(), equalTo(2));
+    }
+
+    private MvcResult subscribe(long userId) throws Exception {
+        MvcResult result = mockMvc.perform(get("/bookings/stream")
+                        .header("X-Sharer-User-Id", userId)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        awaitContent(result, body -> body.contains(":subscribed"));
+        assertThat(MediaType.TEXT_EVENT_STREAM.isCompatibleWith(MediaType.parseMediaType(
+                result.getResponse().getContentType())), equalTo(true));
+        return result;
+    }
+
+    private static String awaitContent(MvcResult result, Predicate<String> condition) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        String body = result.getResponse().getContentAsString();
+        while (!condition.test(body) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            body = result.getResponse().getContentAsString();
+        }
+        assertThat(body, condition.test(body), equalTo(true));
+        return body;
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.budget;
+
+import ru.practicum.shareit.sql.SqlStatementCounter;
+import ru.practicum.shareit.sql.SqlStatistics;
+
+import java.lang.management.ManagementFactory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+/**
+ * Checks that a service call stays within its budget of SQL statements and of bytes allocated by the calling thread.
+ * The call is warmed up first; the statements of every measured run count, the allocation is the smallest one seen,
+ * so that a one-off allocation of a cache or of the JIT does not fail the check. The allocation depends on the JVM,
+ * its flags and, with the embedded H2, on the query plans of the database as well, so it is only checked when the
+ * {@code shareit.budget.allocations} system property is set, as the {@code allocation-budgets} profile does.
+ */
+public final class ServiceBudget {
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 5;
+    private static final boolean CHECK_ALLOCATIONS = Boolean.getBoolean("shareit.budget.allocations");
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private ServiceBudget() {
+    }
+
+    /**
+     * For calls that can be repeated as they are, e.g. reads.
+     */
+    public static void assertWithinBudget(long maxStatements, long maxKilobytes, SqlStatementCounter.Action action)
+            throws Exception {
+        assertEachWithinBudget(maxStatements, maxKilobytes, () -> action);
+    }
+
+    /**
+     * For calls that need fresh data on every run, e.g. a status change; the preparation is not measured.
+     */
+    public static void assertEachWithinBudget(long maxStatements, long maxKilobytes, Preparation preparation)
+            throws Exception {
+        for (int run = 0; run < WARMUP_RUNS; run++) {
+            preparation.prepare().run();
+        }
+
+        long statements = 0;
+        long allocated = Long.MAX_VALUE;
+        SqlStatistics worst = null;
+        for (int run = 0; run < MEASURED_RUNS; run++) {
+            SqlStatementCounter.Action action = preparation.prepare();
+            long threadId = Thread.currentThread().getId();
+            long before = THREADS.getThreadAllocatedBytes(threadId);
+            SqlStatistics statistics = SqlStatementCounter.count(action);
+            allocated = Math.min(allocated, THREADS.getThreadAllocatedBytes(threadId) - before);
+
+            if (worst == null || statistics.getStatementCount() > statements) {
+                statements = statistics.getStatementCount();
+                worst = statistics;
+            }
+        }
+
+        assertThat("statements executed:\n" + worst.getHistogram(), statements, lessThanOrEqualTo(maxStatements));
+        if (CHECK_ALLOCATIONS) assertThat("kilobytes allocated", allocated / 1024, lessThanOrEqualTo(maxKilobytes));
+    }
+
+    @FunctionalInterface
+    public interface Preparation {
+        SqlStatementCounter.Action prepare() throws Exception;
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.datagen;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+
+@SpringBootTest(
+        properties = {"db.name=datagen", "shareit.datagen.exit=false", "shareit.datagen.users=50",
+                "shareit.datagen.requests=10", "shareit.datagen.items=200", "shareit.datagen.bookings=1000",
+                "shareit.datagen.batch-size=64"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("datagen")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class DatasetGeneratorTest {
+    private final DatasetGenerator generator;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Test
+    void generatedOnStartupAndSameSeedAppendsSameDataset() {
+        assertThat(count("SELECT count(*) FROM users"), equalTo(50));
+        assertThat(count("SELECT count(*) FROM item_request"), equalTo(10));
+        assertThat(count("SELECT count(*) FROM item"), equalTo(200));
+        assertThat(count("SELECT count(*) FROM booking"), equalTo(1000));
+
+        int biggestCatalog = count("SELECT max(c) FROM (SELECT count(*) c FROM item GROUP BY owner_id) t");
+        assertThat(biggestCatalog, greaterThan(200 / 50 * 5));
+        int hottestItem = count("SELECT max(c) FROM (SELECT count(*) c FROM booking GROUP BY item_id) t");
+        assertThat(hottestItem, greaterThan(1000 / 200 * 10));
+
+        assertThat(count("SELECT count(*) FROM booking b JOIN item i ON i.item_id = b.item_id " +
+                "WHERE b.booker_id = i.owner_id OR b.end_date <= b.start_date"), equalTo(0));
+        assertThat(count("SELECT count(*) FROM booking b JOIN booking o ON o.item_id = b.item_id " +
+                "AND o.booking_id <> b.booking_id AND o.start_date < b.end_date AND b.start_date < o.end_date"),
+                equalTo(0));
+        assertThat(count("SELECT count(*) FROM comments c WHERE NOT EXISTS (SELECT 1 FROM booking b " +
+                "WHERE b.item_id = c.item_id AND b.booker_id = c.author_id AND b.status = 'APPROVED' " +
+                "AND b.end_date < c.created)"), equalTo(0));
+
+        List<Integer> owners = jdbcTemplate.queryForList("SELECT owner_id FROM item WHERE item_id <= 200 " +
+                "ORDER BY item_id", Integer.class);
+        List<Integer> bookedItems = jdbcTemplate.queryForList("SELECT item_id FROM booking WHERE booking_id <= 1000 " +
+                "ORDER BY booking_id", Integer.class);
+
+        DatasetGenerator.Summary summary = generator.generate();
+
+        assertThat(summary.getUsers(), equalTo(50));
+        assertThat(summary.getBookings(), equalTo(1000));
+        assertThat(jdbcTemplate.queryForList("SELECT owner_id - 50 FROM item WHERE item_id > 200 ORDER BY item_id",
+                Integer.class), equalTo(owners));
+        assertThat(jdbcTemplate.queryForList("SELECT item_id - 200 FROM booking WHERE booking_id > 1000 " +
+                "ORDER BY booking_id", Integer.class), equalTo(bookedItems));
+
+        jdbcTemplate.update("INSERT INTO users (user_name, email) VALUES ('next', 'next@datagen.ru')");
+        assertThat(count("SELECT max(user_id) FROM users"), equalTo(101));
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+}
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repo.UserRepository;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {
+                "shareit.datasource.routing.enabled=true",
+                "shareit.datasource.routing.read-your-writes-window=1m",
+                "spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+                "shareit.datasource.replica.url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1;" +
+                        "INIT=RUNSCRIPT FROM 'classpath:db/migration/h2/V1__initial_schema.sql'",
+                "shareit.datasource.replica.username=test",
+                "shareit.datasource.replica.password=test"
+        })
+class DataSourceRoutingConfigTest {
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        RequestUserContext.clear();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplicaAndWritesToPrimary() {
+        userRepository.save(User.builder().name("user").email("user@ya.ru").build());
+
+        assertThat(count(true), equalTo(0L));
+        assertThat(count(false), equalTo(1L));
+    }
+
+    @Test
+    void userReadsOwnWritesFromPrimary() {
+        RequestUserContext.set(10L);
+        userRepository.save(User.builder().name("writer").email("writer@ya.ru").build());
+
+        assertThat(count(true), equalTo(1L));
+
+        RequestUserContext.set(11L);
+        assertThat(count(true), equalTo(0L));
+    }
+
+    private long count(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        Long count = template.execute(status -> userRepository.count());
+        return count == null ? -1 : count;
+    }
+}
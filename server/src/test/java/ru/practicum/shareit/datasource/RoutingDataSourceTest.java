@@ -0,0 +1,110 @@
+package ru.practicum.shareit.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.mockito.Mockito;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class RoutingDataSourceTest {
+    private RoutingDataSource routingDataSource;
+    private MutableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        routingDataSource = new RoutingDataSource(Mockito.mock(DataSource.class), Mockito.mock(DataSource.class),
+                new ReadYourWritesTracker(Duration.ofSeconds(5), clock));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        RequestUserContext.clear();
+    }
+
+    @Test
+    void whenNoTransactionThenPrimary() {
+        assertThat(routingDataSource.determineCurrentLookupKey(), equalTo(DataSourceType.PRIMARY));
+    }
+
+    @Test
+    void whenReadOnlyTransactionThenReplica() {
+        startTransaction(true);
+
+        assertThat(routingDataSource.determineCurrentLookupKey(), equalTo(DataSourceType.REPLICA));
+    }
+
+    @Test
+    void whenUserWroteRecentlyThenReadsStayOnPrimaryUntilWindowPasses() {
+        RequestUserContext.set(1L);
+        startTransaction(false);
+        assertThat(routingDataSource.determineCurrentLookupKey(), equalTo(DataSourceType.PRIMARY));
+
+        startTransaction(true);
+        assertThat(routingDataSource.determineCurrentLookupKey(), equalTo(DataSourceType.PRIMARY));
+
+        RequestUserContext.set(2L);
+        assertThat(routingDataSource.determineCurrentLookupKey(), equalTo(DataSourceType.REPLICA));
+
+        RequestUserContext.set(1L);
+        clock.advance(Duration.ofSeconds(6));
+        assertThat(routingDataSource.determineCurrentLookupKey(), equalTo(DataSourceType.REPLICA));
+    }
+
+    @Test
+    void whenWindowPassesThenWritersWhoNeverReadAgainAreForgotten() {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofSeconds(5), clock);
+        for (long userId = 1; userId <= 100; userId++) {
+            tracker.recordWrite(userId);
+        }
+        assertThat(tracker.trackedUsers(), equalTo(100));
+
+        clock.advance(Duration.ofSeconds(6));
+        tracker.recordWrite(101L);
+
+        assertThat(tracker.trackedUsers(), equalTo(1));
+        assertThat(tracker.isWithinWindow(101L), equalTo(true));
+        assertThat(tracker.isWithinWindow(1L), equalTo(false));
+    }
+
+    private static void startTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2022-10-01T10:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
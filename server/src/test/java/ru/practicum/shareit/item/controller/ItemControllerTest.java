@@ -12,14 +12,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import ru.practicum.shareit.async.DirectQueryExecutorConfig;
 import ru.practicum.shareit.errorHandler.ErrorHandler;
 import ru.practicum.shareit.errorHandler.exceptions.InvalidRequestException;
 import ru.practicum.shareit.errorHandler.exceptions.ItemNotFoundException;
+import ru.practicum.shareit.errorHandler.exceptions.LookupTimeoutException;
 import ru.practicum.shareit.errorHandler.exceptions.UserNotFoundException;
 import ru.practicum.shareit.item.model.dto.CommentDto;
 import ru.practicum.shareit.item.model.dto.ItemDto;
@@ -36,9 +42,11 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ItemController.class)
+@Import(DirectQueryExecutorConfig.class)
 @AutoConfigureMockMvc
 class ItemControllerTest {
     @Autowired
@@ -255,6 +263,20 @@ class ItemControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void getByItemIdLookupsTimedOutIsServiceUnavailable() throws Exception {
+        Mockito
+                .when(itemService.findItemById(1L, 1L))
+                .thenThrow(new LookupTimeoutException("the lookups did not finish within PT2S"));
+
+        mockMvc.perform(get("/items/1")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(result -> assertTrue(result.getResolvedException() instanceof LookupTimeoutException))
+                .andExpect(status().isServiceUnavailable());
+    }
+
     @Test
     void getByUserIdStatusIsOk() throws Exception {
         ItemDtoWithBookings first = ItemDtoWithBookings.builder()
@@ -273,7 +295,7 @@ class ItemControllerTest {
                 .when(itemService.getItemsByOwnerId(1L, 0, 10))
                 .thenReturn(items);
 
-        mockMvc.perform(get("/items?from=0&size=10")
+        performAsync(get("/items?from=0&size=10")
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON)
@@ -287,6 +309,20 @@ class ItemControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$[1].description").value("very good"));
     }
 
+    @Test
+    void getByIdsStatusIsOk() throws Exception {
+        Mockito
+                .when(itemService.findItemsByIds(List.of(1L, 7L)))
+                .thenReturn(List.of(itemDto));
+
+        mockMvc.perform(get("/items?ids=1,7"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value("1"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].ownerId").value("1"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].name").value("book"));
+    }
+
     @Test
     void searchStatusIsOk() throws Exception {
         ItemDto ownerItem = ItemDto.builder()
@@ -300,7 +336,7 @@ class ItemControllerTest {
                 .when(itemService.search("gOOd", 0, 10))
                 .thenReturn(List.of(ownerItem));
 
-        mockMvc.perform(get("/items/search?text=gOOd&from=0&size=10")
+        performAsync(get("/items/search?text=gOOd&from=0&size=10")
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
@@ -309,4 +345,11 @@ class ItemControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].name").value("good item"))
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].description").value("very good"));
     }
-}
\ No newline at end of file
+
+    private ResultActions performAsync(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult started = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
+}
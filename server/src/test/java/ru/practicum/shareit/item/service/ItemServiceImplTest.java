@@ -1,15 +1,19 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import ru.practicum.shareit.booking.model.dto.BookingInDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.errorHandler.exceptions.InvalidRequestException;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.model.dto.CommentDto;
@@ -17,6 +21,8 @@ import ru.practicum.shareit.item.model.dto.ItemDto;
 import ru.practicum.shareit.item.model.dto.ItemDtoFull;
 import ru.practicum.shareit.item.model.dto.ItemDtoWithBookings;
 import ru.practicum.shareit.item.model.mapper.ItemMapper;
+import ru.practicum.shareit.sql.SqlStatementCounter;
+import ru.practicum.shareit.sql.SqlStatistics;
 import ru.practicum.shareit.user.model.UserMapper;
 import ru.practicum.shareit.user.model.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
@@ -25,6 +31,7 @@ import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -41,6 +48,7 @@ class ItemServiceImplTest {
     private final ItemService itemService;
     private final UserService userService;
     private final BookingService bookingService;
+    private final JdbcTemplate jdbcTemplate;
     private static UserDto userDto;
     private static ItemDto itemDto;
     private static CommentDto commentDto;
@@ -122,6 +130,50 @@ class ItemServiceImplTest {
         assertThat(comment.getCreated(), notNullValue());
     }
 
+    @Test
+    void whenTryPostCommentIfBookingCurrentThenInvalidRequestException() {
+        UserDto booker = userService.save(UserDto.builder().name("current").email("current@ya.ru").build());
+        UserDto itemOwner = userService.save(userDto);
+        ItemDto savedItem = itemService.addNewItem(itemOwner.getId(), itemDto);
+        long bookingId = bookingService.addNewBooking(booker.getId(), BookingInDto.builder()
+                .itemId(savedItem.getId())
+                .start(LocalDateTime.now().minusHours(1L))
+                .end(LocalDateTime.now().plusDays(1L))
+                .build()).getId();
+        bookingService.updateStatus(itemOwner.getId(), bookingId, true);
+
+        InvalidRequestException exception = Assertions.assertThrows(InvalidRequestException.class,
+                () -> itemService.postComment(CommentDto.builder().text("too early").build(), booker.getId(),
+                        savedItem.getId()));
+
+        assertThat(exception.getMessage(), equalTo(String.format(
+                "The user with id=%s cannot leave a comment on the item with id=%s", booker.getId(),
+                savedItem.getId())));
+        assertThat(comments(savedItem.getId()).size(), equalTo(0));
+    }
+
+    @Test
+    void postCommentAfterArchivedBookingInTwoStatements() throws Exception {
+        UserDto booker = userService.save(UserDto.builder().name("archived").email("archived@ya.ru").build());
+        UserDto itemOwner = userService.save(userDto);
+        ItemDto savedItem = itemService.addNewItem(itemOwner.getId(), itemDto);
+        em.createNativeQuery("INSERT INTO booking_archive (booking_id, start_date, end_date, item_id, booker_id, " +
+                        "status) VALUES (100000, ?, ?, ?, ?, 1)")
+                .setParameter(1, LocalDateTime.now().minusYears(3))
+                .setParameter(2, LocalDateTime.now().minusYears(3).plusDays(1))
+                .setParameter(3, savedItem.getId())
+                .setParameter(4, booker.getId())
+                .executeUpdate();
+        em.clear();
+
+        SqlStatistics statistics = SqlStatementCounter.count(() ->
+                itemService.postComment(CommentDto.builder().text("still good").build(), booker.getId(),
+                        savedItem.getId()));
+
+        assertThat(statistics.getStatementCount(), equalTo(2L));
+        assertThat(comments(savedItem.getId()).get(0).getAuthor().getName(), equalTo("archived"));
+    }
+
     @Test
     void updateItem() {
         UserDto itemOwner = userService.save(userDto);
@@ -148,20 +200,37 @@ class ItemServiceImplTest {
     }
 
     @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)  // the lookups of findItemById read committed data only
     void findItemById() {
         UserDto itemOwner = userService.save(userDto);
-        ItemDto saved = itemService.addNewItem(itemOwner.getId(), itemDto);
+        try {
+            ItemDto saved = itemService.addNewItem(itemOwner.getId(), itemDto);
+
+            ItemDtoFull foundById = itemService.findItemById(itemOwner.getId(), saved.getId());
+
+            assertThat(foundById.getComments(), notNullValue());
+            assertThat(foundById.getName(), equalTo(saved.getName()));
+            assertThat(foundById.getDescription(), equalTo(saved.getDescription()));
+        } finally {
+            jdbcTemplate.update("DELETE FROM item WHERE owner_id = ?", itemOwner.getId());
+            userService.delete(itemOwner.getId());
+        }
+    }
 
-        ItemDtoFull foundById = itemService.findItemById(itemOwner.getId(), saved.getId());
+    @Test
+    void findItemsByIdsInOneStatement() throws Exception {
+        UserDto itemOwner = userService.save(userDto);
+        ItemDto first = itemService.addNewItem(itemOwner.getId(), itemDto);
+        ItemDto second = itemService.addNewItem(itemOwner.getId(), itemDto);
+        em.flush();
+        em.clear();
 
-        TypedQuery<Item> query = em.createQuery("Select i from Item i where i.id = :savedId", Item.class);
-        Item item = query
-                .setParameter("savedId", saved.getId())
-                .getSingleResult();
+        List<List<ItemDto>> results = new ArrayList<>();
+        SqlStatistics statistics = SqlStatementCounter.count(() ->
+                results.add(itemService.findItemsByIds(List.of(second.getId(), 0L, first.getId()))));
 
-        assertThat(foundById.getComments(), notNullValue());
-        assertThat(item.getName(), equalTo(foundById.getName()));
-        assertThat(item.getDescription(), equalTo(foundById.getDescription()));
+        assertThat(statistics.getStatementCount(), equalTo(1L));
+        assertThat(results.get(0), equalTo(List.of(second, first)));
     }
 
     @Test
@@ -225,4 +294,10 @@ class ItemServiceImplTest {
         assertThat(found.get(1).getName(), equalTo(savedTwo.getName()));
         assertThat(found.get(1).getDescription(), equalTo(savedTwo.getDescription()));
     }
-}
\ No newline at end of file
+
+    private List<Comment> comments(long itemId) {
+        return em.createQuery("select c from Comment c where c.item.id = :itemId", Comment.class)
+                .setParameter("itemId", itemId)
+                .getResultList();
+    }
+}
@@ -8,16 +8,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import org.springframework.data.domain.*;
 
+import ru.practicum.shareit.archive.service.ArchiveService;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.dto.BookingShortDto;
 import ru.practicum.shareit.booking.model.mapper.BookingMapper;
 import ru.practicum.shareit.booking.repo.BookingRepository;
 import ru.practicum.shareit.errorHandler.exceptions.*;
 import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.CommentEligibility;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.model.dto.CommentDto;
 import ru.practicum.shareit.item.model.dto.ItemDto;
@@ -27,15 +30,20 @@ import ru.practicum.shareit.item.model.mapper.CommentMapper;
 import ru.practicum.shareit.item.model.mapper.ItemMapper;
 import ru.practicum.shareit.item.repo.CommentRepository;
 import ru.practicum.shareit.item.repo.ItemRepository;
+import ru.practicum.shareit.lookup.ParallelLookups;
 import ru.practicum.shareit.request.model.Request;
 import ru.practicum.shareit.request.repo.RequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repo.UserRepository;
+import ru.practicum.shareit.utils.ByIds;
 import ru.practicum.shareit.utils.Pagination;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -52,6 +60,10 @@ class ItemServiceTest {
     private CommentRepository commentRepository;
     @Mock
     private RequestRepository requestRepository;
+    @Mock
+    private ArchiveService archiveService;
+    @Spy
+    private ParallelLookups parallelLookups = new ParallelLookups(Runnable::run, null, false, Duration.ofSeconds(1));
     @InjectMocks
     private ItemServiceImpl itemService;
     private static ItemDto itemDto;
@@ -162,8 +174,8 @@ class ItemServiceTest {
 
     @Test
     void whenTryPostByNotExistsUserThenUserNotFoundException() {
-        Mockito.when(userRepository.findById(1L))
-                .thenThrow(new UserNotFoundException("User with id=1 not found"));
+        Mockito.when(commentRepository.findEligibility(Mockito.eq(1L), Mockito.eq(1L), Mockito.any()))
+                .thenReturn(Optional.empty());
 
         final UserNotFoundException exception = Assertions.assertThrows(
                 UserNotFoundException.class,
@@ -171,22 +183,17 @@ class ItemServiceTest {
 
         Assertions.assertEquals("User with id=1 not found", exception.getMessage());
 
-        Mockito.verify(userRepository, Mockito.times(1))
-                .findById(Mockito.anyLong());
-        Mockito.verify(itemRepository, Mockito.never())
-                .findById(Mockito.anyLong());
-        Mockito.verify(bookingRepository, Mockito.never())
-                .getTopByItem_IdAndBooker_IdOrderByEndAsc(Mockito.anyLong(), Mockito.anyLong());
         Mockito.verify(commentRepository, Mockito.never())
                 .save(Mockito.any());
     }
 
     @Test
     void whenTryPostCommentOnNotExistsItemThenItemNotFoundException() {
-        Mockito.when(userRepository.findById(1L))
-                .thenReturn(Optional.of(user));
-        Mockito.when(itemRepository.findById(1L))
-                .thenThrow(new ItemNotFoundException("Item with id=1 not found"));
+        CommentEligibility eligibility = Mockito.mock(CommentEligibility.class);
+        Mockito.when(eligibility.getItemExists())
+                .thenReturn(false);
+        Mockito.when(commentRepository.findEligibility(Mockito.eq(1L), Mockito.eq(1L), Mockito.any()))
+                .thenReturn(Optional.of(eligibility));
 
         final ItemNotFoundException exception = Assertions.assertThrows(
                 ItemNotFoundException.class,
@@ -194,52 +201,19 @@ class ItemServiceTest {
 
         Assertions.assertEquals("Item with id=1 not found", exception.getMessage());
 
-        Mockito.verify(userRepository, Mockito.times(1))
-                .findById(Mockito.anyLong());
-        Mockito.verify(itemRepository, Mockito.times(1))
-                .findById(Mockito.anyLong());
-        Mockito.verify(bookingRepository, Mockito.never())
-                .getTopByItem_IdAndBooker_IdOrderByEndAsc(Mockito.anyLong(), Mockito.anyLong());
         Mockito.verify(commentRepository, Mockito.never())
                 .save(Mockito.any());
     }
 
     @Test
-    void whenTryPostCommentIfBookingDoesNotExistThenInvalidRequestException() {
-        Mockito.when(userRepository.findById(1L))
-                .thenReturn(Optional.of(user));
-        Mockito.when(itemRepository.findById(1L))
-                .thenReturn(Optional.of(item));
-        Mockito.when(bookingRepository.getTopByItem_IdAndBooker_IdOrderByEndAsc(1L, 1L))
-                .thenReturn(Optional.empty());
-
-        final InvalidRequestException exception = Assertions.assertThrows(
-                InvalidRequestException.class,
-                () -> itemService.postComment(comment, 1L, 1L));
-
-        Assertions.assertEquals("The user with id=1 cannot leave a comment on the item with id=1",
-                exception.getMessage());
-
-        Mockito.verify(userRepository, Mockito.times(1))
-                .findById(Mockito.anyLong());
-        Mockito.verify(itemRepository, Mockito.times(1))
-                .findById(Mockito.anyLong());
-        Mockito.verify(bookingRepository, Mockito.times(1))
-                .getTopByItem_IdAndBooker_IdOrderByEndAsc(Mockito.anyLong(), Mockito.anyLong());
-        Mockito.verify(commentRepository, Mockito.never())
-                .save(Mockito.any());
-    }
-
-    @Test
-    void whenTryPostCommentIfBookingCurrentThenInvalidRequestException() {
-        Booking currentBooking = Booking.builder().end(LocalDateTime.now().plusDays(1L)).build();
-
-        Mockito.when(userRepository.findById(1L))
-                .thenReturn(Optional.of(user));
-        Mockito.when(itemRepository.findById(1L))
-                .thenReturn(Optional.of(item));
-        Mockito.when(bookingRepository.getTopByItem_IdAndBooker_IdOrderByEndAsc(1L, 1L))
-                .thenReturn(Optional.of(currentBooking));
+    void whenTryPostCommentIfNoFinishedBookingThenInvalidRequestException() {
+        CommentEligibility eligibility = Mockito.mock(CommentEligibility.class);
+        Mockito.when(eligibility.getItemExists())
+                .thenReturn(true);
+        Mockito.when(eligibility.getBookingFinished())
+                .thenReturn(false);
+        Mockito.when(commentRepository.findEligibility(Mockito.eq(1L), Mockito.eq(1L), Mockito.any()))
+                .thenReturn(Optional.of(eligibility));
 
         final InvalidRequestException exception = Assertions.assertThrows(
                 InvalidRequestException.class,
@@ -248,27 +222,27 @@ class ItemServiceTest {
         Assertions.assertEquals("The user with id=1 cannot leave a comment on the item with id=1",
                 exception.getMessage());
 
-        Mockito.verify(userRepository, Mockito.times(1))
-                .findById(Mockito.anyLong());
-        Mockito.verify(itemRepository, Mockito.times(1))
-                .findById(Mockito.anyLong());
-        Mockito.verify(bookingRepository, Mockito.times(1))
-                .getTopByItem_IdAndBooker_IdOrderByEndAsc(Mockito.anyLong(), Mockito.anyLong());
         Mockito.verify(commentRepository, Mockito.never())
                 .save(Mockito.any());
     }
 
     @Test
-    void whenTryPostValidCommentThenSaveCommentRepository() {
-        Booking pastBooking = Booking.builder().end(LocalDateTime.now().minusDays(1L)).build();
+    void whenTryPostValidCommentThenSaveCommentRepositoryWithoutLoadingUserAndItem() {
         Comment validComment = CommentMapper.toComment(comment, item, user);
 
-        Mockito.when(userRepository.findById(1L))
-                .thenReturn(Optional.of(user));
-        Mockito.when(itemRepository.findById(1L))
-                .thenReturn(Optional.of(item));
-        Mockito.when(bookingRepository.getTopByItem_IdAndBooker_IdOrderByEndAsc(1L, 1L))
-                .thenReturn(Optional.of(pastBooking));
+        CommentEligibility eligibility = Mockito.mock(CommentEligibility.class);
+        Mockito.when(eligibility.getItemExists())
+                .thenReturn(true);
+        Mockito.when(eligibility.getBookingFinished())
+                .thenReturn(true);
+        Mockito.when(eligibility.getAuthorName())
+                .thenReturn(user.getName());
+        Mockito.when(commentRepository.findEligibility(Mockito.eq(1L), Mockito.eq(1L), Mockito.any()))
+                .thenReturn(Optional.of(eligibility));
+        Mockito.when(itemRepository.getReferenceById(1L))
+                .thenReturn(item);
+        Mockito.when(userRepository.getReferenceById(1L))
+                .thenReturn(user);
         Mockito.when(commentRepository.save(Mockito.any()))
                 .thenReturn(validComment);
 
@@ -276,12 +250,10 @@ class ItemServiceTest {
 
         assertThat(commentDto, equalTo(CommentMapper.toCommentDto(validComment)));
 
-        Mockito.verify(userRepository, Mockito.times(1))
+        Mockito.verify(userRepository, Mockito.never())
                 .findById(Mockito.anyLong());
-        Mockito.verify(itemRepository, Mockito.times(1))
+        Mockito.verify(itemRepository, Mockito.never())
                 .findById(Mockito.anyLong());
-        Mockito.verify(bookingRepository, Mockito.times(1))
-                .getTopByItem_IdAndBooker_IdOrderByEndAsc(Mockito.anyLong(), Mockito.anyLong());
         Mockito.verify(commentRepository, Mockito.times(1))
                 .save(Mockito.any());
     }
@@ -442,6 +414,19 @@ class ItemServiceTest {
                 .getTopByItem_IdAndStartAfterOrderByStartDesc(Mockito.anyLong(), Mockito.any(LocalDateTime.class));
     }
 
+    @Test
+    void whenFindMoreThanMaxIdsThenInvalidRequestException() {
+        List<Long> ids = LongStream.rangeClosed(1, ByIds.MAX_IDS + 1).boxed().collect(Collectors.toList());
+
+        final InvalidRequestException exception = Assertions.assertThrows(
+                InvalidRequestException.class,
+                () -> itemService.findItemsByIds(ids));
+
+        Assertions.assertEquals("no more than 100 ids can be requested at once, got 101", exception.getMessage());
+
+        Mockito.verifyNoInteractions(itemRepository);
+    }
+
     @Test
     void whenGetItemsByOwnerIdThenReturnItemWithBookingsDate() {
         Slice<Item> items = new SliceImpl<>(List.of(item));
@@ -489,4 +474,4 @@ class ItemServiceTest {
         Mockito.verify(itemRepository, Mockito.times(1))
                 .search(Mockito.anyString(), Mockito.any(Pageable.class));
     }
-}
\ No newline at end of file
+}
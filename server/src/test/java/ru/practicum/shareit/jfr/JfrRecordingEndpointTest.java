@@ -0,0 +1,81 @@
+package ru.practicum.shareit.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+import org.springframework.util.unit.DataSize;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class JfrRecordingEndpointTest {
+    private JfrRecordingEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        endpoint = new JfrRecordingEndpoint(Duration.ofMinutes(1), DataSize.ofMegabytes(10), "default");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        endpoint.stop();
+    }
+
+    @Test
+    void whenRecordingStoppedThenFileContainsCustomEvents() throws Exception {
+        assertThat(endpoint.start(3600L).getStatus(), equalTo(WebEndpointResponse.STATUS_OK));
+        assertThat(endpoint.status().get("duration"), equalTo("PT1M"));
+
+        ItemSearchEvent event = ItemSearchEvent.start("drill", 0, 10);
+        event.setRows(3);
+        event.commit();
+
+        WebEndpointResponse<Resource> response = endpoint.stop();
+        assertThat(response.getStatus(), equalTo(WebEndpointResponse.STATUS_OK));
+
+        List<RecordedEvent> searches = RecordingFile.readAllEvents(response.getBody().getFile().toPath()).stream()
+                .filter(recorded -> recorded.getEventType().getName().equals("ru.practicum.shareit.ItemSearch"))
+                .collect(Collectors.toList());
+        assertThat(searches.size(), equalTo(1));
+        assertThat(searches.get(0).getString("text"), equalTo("drill"));
+        assertThat(searches.get(0).getInt("rows"), equalTo(3));
+    }
+
+    @Test
+    void whenRecordingStreamedThenFileDeleted() throws Exception {
+        endpoint.start(null);
+
+        Resource recording = endpoint.stop().getBody();
+        assertThat(recording.exists(), equalTo(true));
+        try (InputStream in = recording.getInputStream()) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+
+        assertThat(recording.exists(), equalTo(false));
+    }
+
+    @Test
+    void whenRecordingAlreadyRunningThenConflict() throws Exception {
+        endpoint.start(null);
+
+        assertThat(endpoint.start(null).getStatus(), equalTo(JfrRecordingEndpoint.STATUS_CONFLICT));
+        assertThat(endpoint.status().get("state"), equalTo("RUNNING"));
+    }
+
+    @Test
+    void whenNoRecordingThenStopNotFound() throws Exception {
+        assertThat(endpoint.stop().getStatus(), equalTo(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+}
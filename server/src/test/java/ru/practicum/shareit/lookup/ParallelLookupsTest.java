@@ -0,0 +1,166 @@
+package ru.practicum.shareit.lookup;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import ru.practicum.shareit.booking.model.dto.BookingInDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.errorHandler.exceptions.ItemNotFoundException;
+import ru.practicum.shareit.errorHandler.exceptions.LookupTimeoutException;
+import ru.practicum.shareit.errorHandler.exceptions.UserNotFoundException;
+import ru.practicum.shareit.item.model.dto.ItemDto;
+import ru.practicum.shareit.item.model.dto.ItemDtoFull;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.model.dto.RequestDtoWithItems;
+import ru.practicum.shareit.request.model.dto.RequestInDto;
+import ru.practicum.shareit.request.service.RequestService;
+import ru.practicum.shareit.sql.SqlStatementCounter;
+import ru.practicum.shareit.user.model.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(
+        properties = {"db.name=lookup", "shareit.lookup.parallel.enabled=true"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ParallelLookupsTest {
+    private final ParallelLookups parallelLookups;
+    private final ThreadPoolTaskExecutor lookupExecutor;
+    private final PlatformTransactionManager transactionManager;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final RequestService requestService;
+    private final DataSource dataSource;
+
+    @Test
+    void whenOwnerGetsItemThenLookupsRunOnExecutorAndStatementsCountedForCaller() throws Exception {
+        UserDto owner = userService.save(UserDto.builder().name("owner").email("owner@lookup.ru").build());
+        UserDto booker = userService.save(UserDto.builder().name("booker").email("booker@lookup.ru").build());
+        ItemDto item = itemService.addNewItem(owner.getId(),
+                ItemDto.builder().name("drill").description("cordless drill").available(true).build());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        bookingService.addNewBooking(booker.getId(),
+                BookingInDto.builder().itemId(item.getId()).start(start).end(start.plusDays(1)).build());
+
+        ItemDtoFull[] found = new ItemDtoFull[1];
+        long statements = SqlStatementCounter.count(() -> found[0] = itemService.findItemById(owner.getId(),
+                item.getId())).getStatementCount();
+
+        assertThat(parallelLookups.isEnabled(), equalTo(true));
+        assertThat(found[0].getNextBooking(), notNullValue());
+        assertThat(found[0].getNextBooking().getBookerId(), equalTo(booker.getId()));
+        assertThat(statements, greaterThanOrEqualTo(4L));
+        assertThat(lookupExecutor.getThreadPoolExecutor().getCompletedTaskCount() > 0, equalTo(true));
+    }
+
+    @Test
+    void whenOtherUserGetsItemThenBookingsNotLookedUp() throws Exception {
+        UserDto owner = userService.save(UserDto.builder().name("lender").email("lender@lookup.ru").build());
+        UserDto visitor = userService.save(UserDto.builder().name("visitor").email("visitor@lookup.ru").build());
+        ItemDto item = itemService.addNewItem(owner.getId(),
+                ItemDto.builder().name("saw").description("hand saw").available(true).build());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        bookingService.addNewBooking(visitor.getId(),
+                BookingInDto.builder().itemId(item.getId()).start(start).end(start.plusDays(1)).build());
+
+        ItemDtoFull[] found = new ItemDtoFull[1];
+        long statements = SqlStatementCounter.count(() -> found[0] = itemService.findItemById(visitor.getId(),
+                item.getId())).getStatementCount();
+
+        assertThat(found[0].getNextBooking(), nullValue());
+        assertThat(statements, equalTo(2L));
+    }
+
+    @Test
+    void whenOneConnectionLeftThenForkedLookupsGetItInsteadOfTheWaitingCaller() throws Exception {
+        UserDto owner = userService.save(UserDto.builder().name("keeper").email("keeper@lookup.ru").build());
+        UserDto visitor = userService.save(UserDto.builder().name("guest").email("guest@lookup.ru").build());
+        ItemDto item = itemService.addNewItem(owner.getId(),
+                ItemDto.builder().name("ladder").description("folding ladder").available(true).build());
+        RequestInDto requestInDto = RequestInDto.builder().description("a ladder for the weekend").build();
+        long requestId = requestService.addNewRequest(visitor.getId(), requestInDto).getId();
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        List<Connection> held = new ArrayList<>();
+
+        try {
+            for (int i = 1; i < pool.getMaximumPoolSize(); i++) {
+                held.add(pool.getConnection());
+            }
+
+            assertThat(itemService.findItemById(visitor.getId(), item.getId()).getName(), equalTo("ladder"));
+            assertThat(requestService.getById(visitor.getId(), requestId).getItems(), hasSize(0));
+        } finally {
+            for (Connection connection : held) {
+                connection.close();
+            }
+        }
+    }
+
+    @Test
+    void whenLookupFailsThenItsExceptionIsThrown() {
+        UserDto user = userService.save(UserDto.builder().name("user").email("user@lookup.ru").build());
+        RequestInDto requestInDto = RequestInDto.builder().description("a drill for the weekend").build();
+        long requestId = requestService.addNewRequest(user.getId(), requestInDto).getId();
+
+        RequestDtoWithItems request = requestService.getById(user.getId(), requestId);
+
+        assertThat(request.getItems(), hasSize(0));
+        assertThrows(ItemNotFoundException.class, () -> itemService.findItemById(user.getId(), 1000L));
+        assertThrows(UserNotFoundException.class, () -> requestService.getById(1000L, requestId));
+    }
+
+    @Test
+    void whenDeadlinePassesThenLookupTimeoutAndRequestThreadFreed() throws Exception {
+        ParallelLookups lookups = new ParallelLookups(lookupExecutor, transactionManager, true,
+                Duration.ofMillis(100));
+        CountDownLatch release = new CountDownLatch(1);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        ParallelLookups.Group group = lookups.group();
+        ParallelLookups.Lookup<String> slow = group.fork(() -> {
+            threads.add(Thread.currentThread().getName());
+            await(release);
+            return "slow";
+        });
+
+        try {
+            assertThrows(LookupTimeoutException.class, slow::join);
+        } finally {
+            release.countDown();
+        }
+        assertThat(threads.iterator().next().startsWith("lookup-"), equalTo(true));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import ru.practicum.shareit.errorHandler.exceptions.UserNotFoundException;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repo.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceMetricsAspectTest {
+    @Mock
+    private UserRepository userRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new UserServiceImpl(userRepository));
+        proxyFactory.addAspect(new ServiceMetricsAspect(meterRegistry));
+        userService = proxyFactory.getProxy();
+    }
+
+    @Test
+    void whenServiceMethodSucceedsThenTimerTaggedSuccess() {
+        Mockito.when(userRepository.findById(1L))
+                .thenReturn(Optional.of(User.builder().id(1L).name("User").email("user@ya.ru").build()));
+
+        userService.findById(1L);
+
+        assertThat(timer("findById", Outcome.SUCCESS).count(), equalTo(1L));
+        assertThat(timer("findById", Outcome.NOT_FOUND), nullValue());
+    }
+
+    @Test
+    void whenServiceMethodThrowsThenTimerTaggedWithExceptionOutcome() {
+        Mockito.when(userRepository.findById(1L))
+                .thenReturn(Optional.empty());
+
+        Assertions.assertThrows(UserNotFoundException.class, () -> userService.findById(1L));
+
+        assertThat(timer("findById", Outcome.NOT_FOUND).count(), equalTo(1L));
+        assertThat(timer("findById", Outcome.SUCCESS), nullValue());
+    }
+
+    private Timer timer(String method, Outcome outcome) {
+        return meterRegistry.find(ServiceMetricsAspect.TIMER_NAME)
+                .tags("class", "UserServiceImpl", "method", method, "outcome", outcome.name())
+                .timer();
+    }
+}
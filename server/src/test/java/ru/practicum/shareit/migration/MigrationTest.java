@@ -0,0 +1,87 @@
+package ru.practicum.shareit.migration;
+
+import lombok.RequiredArgsConstructor;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import ru.practicum.shareit.booking.model.dto.BookingInDto;
+import ru.practicum.shareit.booking.model.dto.BookingOutDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItems;
+
+@SpringBootTest(
+        properties = {"spring.datasource.url=jdbc:h2:mem:migration;DB_CLOSE_DELAY=-1", "spring.flyway.enabled=true",
+                "spring.jpa.hibernate.ddl-auto=none"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class MigrationTest {
+    private final Flyway flyway;
+    private final JdbcTemplate jdbcTemplate;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+
+    @Test
+    void whenMigratedAgainThenNothingAppliedAndDataKept() {
+        UserDto owner = userService.save(UserDto.builder().name("owner").email("owner@migration.ru").build());
+        UserDto booker = userService.save(UserDto.builder().name("booker").email("booker@migration.ru").build());
+        ItemDto item = itemService.addNewItem(owner.getId(),
+                ItemDto.builder().name("drill").description("cordless drill").available(true).build());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        BookingOutDto booking = bookingService.addNewBooking(booker.getId(),
+                BookingInDto.builder().itemId(item.getId()).start(start).end(start.plusDays(1)).build());
+
+        assertThat(flyway.info().current().getVersion().getVersion(), equalTo("5"));
+        assertThat(flyway.migrate().migrationsExecuted, equalTo(0));
+        assertThat(bookingService.getById(booker.getId(), booking.getId()).getId(), equalTo(booking.getId()));
+    }
+
+    @Test
+    void whenMigratedThenRepositoryIndexesExist() {
+        List<String> indexes = jdbcTemplate.queryForList("SELECT index_name FROM information_schema.indexes " +
+                "WHERE index_name LIKE 'IX\\_%'", String.class);
+
+        assertThat(indexes, hasItems("IX_BOOKING_ITEM_START", "IX_BOOKING_BOOKER_START", "IX_ITEM_OWNER",
+                "IX_ITEM_REQUEST_USER_CREATED", "IX_COMMENTS_ITEM"));
+    }
+
+    @Test
+    void whenDatabaseCreatedBySchemaScriptThenBaselinedAndLaterMigrationsApplied() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:legacy;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/h2/V1__initial_schema.sql"))
+                .execute(dataSource);
+        JdbcTemplate legacy = new JdbcTemplate(dataSource);
+        legacy.update("INSERT INTO users (user_name, email) VALUES ('owner', 'owner@legacy.ru')");
+        legacy.update("INSERT INTO item (owner_id, item_name, is_available) VALUES (1, 'drill', true)");
+        legacy.update("INSERT INTO booking (start_date, end_date, item_id, booker_id, status) " +
+                "VALUES (TIMESTAMP '2022-01-01 10:00:00', TIMESTAMP '2022-01-02 10:00:00', 1, 1, 'APPROVED')");
+
+        Flyway legacyFlyway = Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/h2")
+                .baselineOnMigrate(true)
+                .load();
+
+        assertThat(legacyFlyway.migrate().migrationsExecuted, equalTo(3));
+        assertThat(legacy.queryForList("SELECT version FROM booking", Long.class), contains(0L));
+        assertThat(legacy.queryForObject("SELECT count(*) FROM booking_archive", Long.class), equalTo(0L));
+    }
+}
@@ -12,11 +12,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import ru.practicum.shareit.async.DirectQueryExecutorConfig;
 import ru.practicum.shareit.errorHandler.ErrorHandler;
 import ru.practicum.shareit.errorHandler.exceptions.RequestNotFoundException;
 import ru.practicum.shareit.errorHandler.exceptions.UserNotFoundException;
@@ -34,11 +39,14 @@ import java.util.Objects;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(RequestController.class)
+@Import(DirectQueryExecutorConfig.class)
 @AutoConfigureMockMvc
 class RequestControllerTest {
     @Autowired
@@ -136,7 +144,7 @@ class RequestControllerTest {
                 .when(requestService.findRequestsByUserId(1L))
                 .thenReturn(requests);
 
-        mockMvc.perform(get("/requests")
+        performAsync(get("/requests")
                         .contentType(MediaType.APPLICATION_JSON)
                         .header("X-Sharer-User-Id", 1L)
                         .content(mapper.writeValueAsString(requestInDto)))
@@ -159,7 +167,7 @@ class RequestControllerTest {
                 .when(requestService.findRequestsByUserId(3L))
                 .thenThrow(new UserNotFoundException("User with id=3 not found"));
 
-        mockMvc.perform(get("/requests")
+        performAsync(get("/requests")
                         .contentType(MediaType.APPLICATION_JSON)
                         .header("X-Sharer-User-Id", 3L)
                         .content(mapper.writeValueAsString(requestInDto)))
@@ -185,7 +193,7 @@ class RequestControllerTest {
                 .when(requestService.findAllAnotherUsersRequests(2L, 0, 5))
                 .thenReturn(requests);
 
-        mockMvc.perform(get("/requests/all?from=0&size=5")
+        performAsync(get("/requests/all?from=0&size=5")
                         .contentType(MediaType.APPLICATION_JSON)
                         .header("X-Sharer-User-Id", 2L)
                         .content(mapper.writeValueAsString(requestInDto)))
@@ -247,4 +255,11 @@ class RequestControllerTest {
                 .andExpect(result -> assertEquals("Request with id=5 not found",
                         Objects.requireNonNull(result.getResolvedException()).getMessage()));
     }
-}
\ No newline at end of file
+
+    private ResultActions performAsync(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult started = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
+}
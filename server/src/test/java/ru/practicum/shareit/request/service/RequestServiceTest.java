@@ -8,6 +8,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import org.springframework.data.domain.Pageable;
@@ -19,6 +20,7 @@ import ru.practicum.shareit.errorHandler.exceptions.UserNotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.model.mapper.ItemMapper;
 import ru.practicum.shareit.item.repo.ItemRepository;
+import ru.practicum.shareit.lookup.ParallelLookups;
 import ru.practicum.shareit.request.model.Request;
 import ru.practicum.shareit.request.model.RequestMapper;
 import ru.practicum.shareit.request.model.dto.RequestDto;
@@ -28,6 +30,7 @@ import ru.practicum.shareit.request.repo.RequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repo.UserRepository;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -43,6 +46,8 @@ class RequestServiceTest {
     private UserRepository userRepository;
     @Mock
     private RequestRepository requestRepository;
+    @Spy
+    private ParallelLookups parallelLookups = new ParallelLookups(Runnable::run, null, false, Duration.ofSeconds(1));
     @InjectMocks
     private RequestServiceImpl requestService;
     private RequestInDto requestInDto;
@@ -123,7 +128,7 @@ class RequestServiceTest {
         Mockito.verify(requestRepository, Mockito.never())
                 .findAllByUserIdOrderByCreationTimeDesc(Mockito.anyLong());
         Mockito.verify(itemRepository, Mockito.never())
-                .findItemsByRequestId(Mockito.anyLong());
+                .findItemsByRequestIdIn(Mockito.anyCollection());
     }
 
     @Test
@@ -132,7 +137,7 @@ class RequestServiceTest {
                 .thenReturn(true);
         Mockito.when(requestRepository.findAllByUserIdOrderByCreationTimeDesc(Mockito.anyLong()))
                 .thenReturn(List.of(request));
-        Mockito.when(itemRepository.findItemsByRequestId(Mockito.anyLong()))
+        Mockito.when(itemRepository.findItemsByRequestIdIn(Mockito.anyCollection()))
                 .thenReturn(List.of(item));
 
         List<RequestDtoWithItems> returned = requestService.findRequestsByUserId(1L);
@@ -144,11 +149,11 @@ class RequestServiceTest {
         Mockito.verify(requestRepository, Mockito.times(1))
                 .findAllByUserIdOrderByCreationTimeDesc(Mockito.anyLong());
         Mockito.verify(itemRepository, Mockito.times(1))
-                .findItemsByRequestId(Mockito.anyLong());
+                .findItemsByRequestIdIn(List.of(1L));
     }
 
     @Test
-    void whenFindThreeRequestsByUserIdThenCallThriceFindItemsItemRepository() {
+    void whenFindThreeRequestsByUserIdThenFindTheirItemsAtOnce() {
         Request requestFirst = Request.builder().id(1L).build();
         Request requestSecond = Request.builder().id(2L).build();
         Request requestThird = Request.builder().id(3L).build();
@@ -157,7 +162,7 @@ class RequestServiceTest {
                 .thenReturn(true);
         Mockito.when(requestRepository.findAllByUserIdOrderByCreationTimeDesc(Mockito.anyLong()))
                 .thenReturn(List.of(requestFirst, requestSecond, requestThird));
-        Mockito.when(itemRepository.findItemsByRequestId(Mockito.anyLong()))
+        Mockito.when(itemRepository.findItemsByRequestIdIn(Mockito.anyCollection()))
                 .thenReturn(List.of(item));
 
         requestService.findRequestsByUserId(1L);
@@ -166,8 +171,8 @@ class RequestServiceTest {
                 .existsById(1L);
         Mockito.verify(requestRepository, Mockito.times(1))
                 .findAllByUserIdOrderByCreationTimeDesc(Mockito.anyLong());
-        Mockito.verify(itemRepository, Mockito.times(3))
-                .findItemsByRequestId(Mockito.anyLong());
+        Mockito.verify(itemRepository, Mockito.times(1))
+                .findItemsByRequestIdIn(List.of(1L, 2L, 3L));
     }
 
     @Test
@@ -176,7 +181,7 @@ class RequestServiceTest {
 
         Mockito.when(requestRepository.findAllOtherUsersRequests(Mockito.anyLong(), Mockito.any(Pageable.class)))
                 .thenReturn(requests);
-        Mockito.when(itemRepository.findItemsByRequestId(Mockito.anyLong()))
+        Mockito.when(itemRepository.findItemsByRequestIdIn(Mockito.anyCollection()))
                 .thenReturn(List.of(item));
 
         List<RequestDtoWithItems> returned = requestService.findAllAnotherUsersRequests(1L, 0, 10);
@@ -188,26 +193,26 @@ class RequestServiceTest {
         Mockito.verify(requestRepository, Mockito.times(1))
                 .findAllOtherUsersRequests(Mockito.anyLong(), Mockito.any(Pageable.class));
         Mockito.verify(itemRepository, Mockito.times(1))
-                .findItemsByRequestId(Mockito.anyLong());
+                .findItemsByRequestIdIn(List.of(1L));
     }
 
     @Test
-    void whenFindTwoAnotherUsersRequestsThenCallTwiceFindItemsItemRepository() {
+    void whenFindTwoAnotherUsersRequestsThenFindTheirItemsAtOnce() {
         Request requestFirst = Request.builder().id(1L).build();
         Request requestSecond = Request.builder().id(2L).build();
         Slice<Request> requests = new SliceImpl<>(List.of(requestFirst, requestSecond));
 
         Mockito.when(requestRepository.findAllOtherUsersRequests(Mockito.anyLong(), Mockito.any(Pageable.class)))
                 .thenReturn(requests);
-        Mockito.when(itemRepository.findItemsByRequestId(Mockito.anyLong()))
+        Mockito.when(itemRepository.findItemsByRequestIdIn(Mockito.anyCollection()))
                 .thenReturn(List.of(item));
 
         requestService.findAllAnotherUsersRequests(1L, 0, 10);
 
         Mockito.verify(requestRepository, Mockito.times(1))
                 .findAllOtherUsersRequests(Mockito.anyLong(), Mockito.any(Pageable.class));
-        Mockito.verify(itemRepository, Mockito.times(2))
-                .findItemsByRequestId(Mockito.anyLong());
+        Mockito.verify(itemRepository, Mockito.times(1))
+                .findItemsByRequestIdIn(List.of(1L, 2L));
     }
 
     @Test
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.sql;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+/**
+ * Counts the statements an action executes through the application data source, e.g. a service call or a
+ * MockMvc request.
+ */
+public final class SqlStatementCounter {
+
+    private SqlStatementCounter() {
+    }
+
+    public static SqlStatistics count(Action action) throws Exception {
+        try (SqlStatisticsHolder.Scope scope = SqlStatisticsHolder.open()) {
+            action.run();
+            return scope.getStatistics();
+        }
+    }
+
+    public static void assertStatementCount(long expected, Action action) throws Exception {
+        SqlStatistics statistics = count(action);
+        assertThat("statements executed:\n" + statistics.getHistogram(), statistics.getStatementCount(),
+                equalTo(expected));
+    }
+
+    public static void assertStatementCountAtMost(long max, Action action) throws Exception {
+        SqlStatistics statistics = count(action);
+        assertThat("statements executed:\n" + statistics.getHistogram(), statistics.getStatementCount(),
+                lessThanOrEqualTo(max));
+    }
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+}
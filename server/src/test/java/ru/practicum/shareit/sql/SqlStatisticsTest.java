@@ -0,0 +1,61 @@
+package ru.practicum.shareit.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import ru.practicum.shareit.user.model.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.hamcrest.Matchers.notNullValue;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "db.name=sql")
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class SqlStatisticsTest {
+    private final MockMvc mockMvc;
+    private final UserService userService;
+    private final MeterRegistry meterRegistry;
+
+    @Test
+    void whenGetUserThenOneStatementReportedInServerTimingAndMetrics() throws Exception {
+        UserDto user = userService.save(UserDto.builder().name("sql").email("sql@statistics.ru").build());
+
+        SqlStatementCounter.assertStatementCount(1, () -> mockMvc.perform(get("/users/{id}", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ServerTimingAdvice.SERVER_TIMING_HEADER,
+                        matchesPattern("db;dur=\\d+\\.\\d{3};desc=\"1 statements\""))));
+
+        DistributionSummary statements = meterRegistry.find(SqlStatisticsFilter.STATEMENTS_METRIC)
+                .tags("method", "GET", "uri", "/users/{id}")
+                .summary();
+        assertThat(statements, notNullValue());
+        assertThat(statements.count(), greaterThanOrEqualTo(1L));
+        assertThat(statements.max(), equalTo(1.0));
+    }
+
+    @Test
+    void whenCountingServiceCallThenStatementsOfThatCallOnly() throws Exception {
+        UserDto user = userService.save(UserDto.builder().name("count").email("count@statistics.ru").build());
+
+        SqlStatistics statistics = SqlStatementCounter.count(() -> userService.findById(user.getId()));
+
+        assertThat(statistics.getStatementCount(), equalTo(1L));
+        assertThat(statistics.getHistogram().size(), equalTo(1));
+    }
+}
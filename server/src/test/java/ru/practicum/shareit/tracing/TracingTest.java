@@ -0,0 +1,56 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import ru.practicum.shareit.user.model.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItems;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(
+        properties = {"db.name=tracing", "spring.sleuth.propagation.type=w3c",
+                "spring.sleuth.sampler.probability=1.0"},
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class TracingTest {
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    private final MockMvc mockMvc;
+    private final UserService userService;
+    private final TracingEndpoint tracingEndpoint;
+
+    @Test
+    void whenRequestCarriesTraceparentThenServiceAndRepositorySpansJoinTheTrace() throws Exception {
+        UserDto user = userService.save(UserDto.builder().name("traced").email("traced@tracing.ru").build());
+
+        mockMvc.perform(get("/users/{id}", user.getId())
+                        .header("traceparent", "00-" + TRACE_ID + "-00f067aa0ba902b7-01"))
+                .andExpect(status().isOk());
+
+        List<SpanRecord> trace = tracingEndpoint.trace(TRACE_ID);
+        Map<String, SpanRecord> byName = trace.stream()
+                .collect(Collectors.toMap(SpanRecord::getName, span -> span, (first, second) -> first));
+
+        assertThat(byName.keySet(), hasItems("UserServiceImpl.findById", "UserRepository.findById"));
+        assertThat(byName.get("UserRepository.findById").getParentId(),
+                equalTo(byName.get("UserServiceImpl.findById").getSpanId()));
+        assertThat(byName.get("UserServiceImpl.findById").getTags().get("component"), equalTo("service"));
+        assertThat(tracingEndpoint.traces(10).containsKey(TRACE_ID), equalTo(true));
+    }
+}
@@ -178,6 +178,20 @@ class UserControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$[1].email").value("second@yandex.ru"));
     }
 
+    @Test
+    void findAllByIdStatusIsOk() throws Exception {
+        Mockito
+                .when(userService.findAllById(List.of(1L, 3L)))
+                .thenReturn(List.of(userDto));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get("/users?ids=1,3"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value("1"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].email").value("user@yandex.ru"));
+    }
+
     @Test
     void deleteValidUserByIdStatusIsOk() throws Exception {
         mockMvc.perform(delete("/users/1")
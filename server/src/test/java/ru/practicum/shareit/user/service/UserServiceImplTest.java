@@ -115,6 +115,16 @@ class UserServiceImplTest {
         assertThat(returned.get(2).getName(), equalTo(users.get(2).getName()));
     }
 
+    @Test
+    void findAllById() {
+        UserDto first = userService.save(userDto);
+        UserDto second = userService.save(UserDto.builder().name("Second").email("second@ya.ru").build());
+
+        List<UserDto> returned = userService.findAllById(List.of(second.getId(), 0L, first.getId(), second.getId()));
+
+        assertThat(returned, equalTo(List.of(second, first)));
+    }
+
     @Test
     void delete() {
         UserDto saved = userService.save(userDto);
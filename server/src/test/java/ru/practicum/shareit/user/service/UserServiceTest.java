@@ -11,14 +11,18 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import ru.practicum.shareit.errorHandler.exceptions.DuplicateUserException;
+import ru.practicum.shareit.errorHandler.exceptions.InvalidRequestException;
 import ru.practicum.shareit.errorHandler.exceptions.UserNotFoundException;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.model.UserMapper;
 import ru.practicum.shareit.user.model.dto.UserDto;
 import ru.practicum.shareit.user.repo.UserRepository;
+import ru.practicum.shareit.utils.ByIds;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -161,6 +165,19 @@ class UserServiceTest {
                 .findById(5L);
     }
 
+    @Test
+    void whenFindMoreThanMaxIdsThenInvalidRequestException() {
+        List<Long> ids = LongStream.rangeClosed(1, ByIds.MAX_IDS + 1).boxed().collect(Collectors.toList());
+
+        final InvalidRequestException exception = Assertions.assertThrows(
+                InvalidRequestException.class,
+                () -> userService.findAllById(ids));
+
+        Assertions.assertEquals("no more than 100 ids can be requested at once, got 101", exception.getMessage());
+
+        Mockito.verifyNoInteractions(userRepository);
+    }
+
     @Test
     void whenFindAllThenCallFindAllRepository() {
         Mockito.when(userRepository.findAll())